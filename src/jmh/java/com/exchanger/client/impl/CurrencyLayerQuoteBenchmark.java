@@ -0,0 +1,43 @@
+package com.exchanger.client.impl;
+
+import com.exchanger.dto.responses.CurrencyLayerApiResponse;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a CurrencyLayer payload into an {@link ExchangeRateResponse}, reformatting every
+ * {@code USDEUR} quote key to {@code USD_EUR}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyLayerQuoteBenchmark {
+
+    @Param({"1", "170"})
+    public int currencies;
+
+    private CurrencyLayerApiResponse payload;
+
+    @Setup
+    public void setUp() {
+        Map<String, BigDecimal> quotes = new HashMap<>();
+        for (int i = 0; i < currencies; i++) {
+            String code = "" + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26) + 'X';
+            quotes.put("USD" + code, BigDecimal.valueOf(1 + i, 4));
+        }
+        payload = new CurrencyLayerApiResponse(true, "USD", 1_747_562_400L, quotes, null);
+    }
+
+    @Benchmark
+    public ExchangeRateResponse toExchangeRateResponse() {
+        return CurrencyLayerClient.toExchangeRateResponse("USD", payload);
+    }
+}
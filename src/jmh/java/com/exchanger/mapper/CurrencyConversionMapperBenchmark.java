@@ -0,0 +1,28 @@
+package com.exchanger.mapper;
+
+import com.exchanger.dto.requests.CurrencyConversionRequest;
+import com.exchanger.entity.CurrencyConversion;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps one bulk conversion row to its entity, including the amount multiplication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyConversionMapperBenchmark {
+
+    private final CurrencyConversionRequest request = new CurrencyConversionRequest(new BigDecimal("1234.56"), "USD", "EUR");
+    private final BigDecimal rate = new BigDecimal("0.9187654321");
+
+    @Benchmark
+    public CurrencyConversion toEntity() {
+        return CurrencyConversionMapper.INSTANCE.toEntity(request, rate);
+    }
+}
@@ -0,0 +1,57 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a whole bulk upload as one chunk through
+ * {@link CurrencyConversionServiceImpl#processCsvStream}, with a provider that answers immediately
+ * and an in-memory repository. The score per file should grow linearly with the row count,
+ * including the back-fill of transaction ids by position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkConversionBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private CurrencyConversionServiceImpl service;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        ExchangeRateResponse rates = new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")),
+                Instant.parse("2025-05-18T10:00:00Z"));
+        ExchangeRateClient client = rateRequest -> rates;
+        service = new CurrencyConversionServiceImpl(client, null, RepositoryStubs.conversions(List.of()),
+                new ConversionStatisticsServiceImpl(RepositoryStubs.rollups()), new SimpleMeterRegistry(), ObservationRegistry.NOOP, 4, rows);
+
+        StringBuilder builder = new StringBuilder("amount,sourceCurrency,targetCurrency\n");
+        for (int i = 0; i < rows; i++) {
+            builder.append(i % 1000).append(".50,USD,EUR\n");
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void convert(Blackhole blackhole) {
+        service.processCsvStream(new ByteArrayInputStream(csv), blackhole::consume);
+    }
+}
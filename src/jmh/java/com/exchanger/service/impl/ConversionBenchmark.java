@@ -0,0 +1,53 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.CurrencyConversionRequest;
+import com.exchanger.dto.responses.CurrencyConversionResponse;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single conversions through {@link CurrencyConversionServiceImpl#convert} with a provider that
+ * answers immediately and an in-memory repository, so only the service's own work is measured:
+ * building the rate request, the multiplication, the entity and the statistics update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    private CurrencyConversionServiceImpl service;
+    private final CurrencyConversionRequest request = new CurrencyConversionRequest(new BigDecimal("100.00"), "USD", "EUR");
+
+    @Setup
+    public void setUp() {
+        ExchangeRateResponse rates = new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")),
+                Instant.parse("2025-05-18T10:00:00Z"));
+        ExchangeRateClient client = rateRequest -> rates;
+        service = new CurrencyConversionServiceImpl(client, null, RepositoryStubs.conversions(List.of()),
+                new ConversionStatisticsServiceImpl(RepositoryStubs.rollups()), new SimpleMeterRegistry(), ObservationRegistry.NOOP, 4, 1000);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CurrencyConversionResponse convert() {
+        return service.convert(request);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CurrencyConversionResponse convertContended() {
+        return service.convert(request);
+    }
+}
@@ -0,0 +1,49 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.CurrencyConversionRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a whole bulk upload with {@link ConversionCsvReader}; the score per file should grow
+ * linearly with the row count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("amount,sourceCurrency,targetCurrency\n");
+        for (int i = 0; i < rows; i++) {
+            builder.append(i % 1000).append('.').append(i % 100).append(i % 2 == 0 ? ",USD,EUR\n" : ",eur,try\n");
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int parse(Blackhole blackhole) {
+        int parsed = 0;
+        try (ConversionCsvReader reader = new ConversionCsvReader(new ByteArrayInputStream(csv))) {
+            while (reader.hasNext()) {
+                CurrencyConversionRequest request = reader.next();
+                blackhole.consume(request);
+                parsed++;
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,54 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.HistoryExportRequest;
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes history rows as the export endpoint does, from projected rows to CSV or NDJSON bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryExportBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 18);
+
+    @Param({"csv", "ndjson"})
+    public String format;
+
+    private HistoryExportServiceImpl service;
+    private HistoryExportRequest request;
+
+    @Setup
+    public void setUp() {
+        List<CurrencyConversionHistoryResponse> rows = new ArrayList<>(ROWS);
+        LocalDateTime start = DAY.atStartOfDay();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new CurrencyConversionHistoryResponse(UUID.randomUUID(), "USD", "EUR",
+                    new BigDecimal("100.00"), new BigDecimal("92.00"), new BigDecimal("0.92"), start.plusSeconds(i)));
+        }
+        service = new HistoryExportServiceImpl(RepositoryStubs.conversions(rows), new ObjectMapper().findAndRegisterModules());
+        request = new HistoryExportRequest(DAY, DAY, null, null, format);
+    }
+
+    @Benchmark
+    public void export() throws IOException {
+        service.export(request, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,47 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+import com.exchanger.repository.ConversionRollupRepository;
+import com.exchanger.repository.CurrencyConversionRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * In-memory repositories for benchmarks: writes return their argument and reads return fixed rows,
+ * so the numbers measure the service code rather than a database or a mocking framework.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static CurrencyConversionRepository conversions(List<CurrencyConversionHistoryResponse> history) {
+        return stub(CurrencyConversionRepository.class, (name, args) -> switch (name) {
+            case "save", "insertAll" -> args[0];
+            case "streamRange" -> history.stream();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static ConversionRollupRepository rollups() {
+        return stub(ConversionRollupRepository.class, (name, args) -> switch (name) {
+            case "mergeAll" -> null;
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> type.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> handler.invoke(method.getName(), args);
+                }));
+    }
+}
@@ -0,0 +1,121 @@
+package com.exchanger.loadtest;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.HttpUrl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stands in for the CurrencyLayer {@code /live} endpoint. Rates are fixed per currency, so every
+ * run sees the same quotes. Latency follows a log-normal distribution given by its median and
+ * 99th percentile, and {@code errorRate} of the calls fail, half with a 500 and half with a
+ * CurrencyLayer error payload.
+ */
+class FakeExchangeRateProvider extends Dispatcher {
+
+    static final Map<String, Double> USD_RATES = usdRates();
+
+    private static final double Z_99 = 2.3263;
+
+    private final double medianMillis;
+    private final double sigma;
+    private final double errorRate;
+    private final Random random;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    FakeExchangeRateProvider(Duration medianLatency, Duration p99Latency, double errorRate, long seed) {
+        if (p99Latency.compareTo(medianLatency) < 0) {
+            throw new IllegalArgumentException("p99 latency must not be below the median latency");
+        }
+        this.medianMillis = medianLatency.toNanos() / 1e6;
+        this.sigma = medianLatency.isZero() ? 0 : Math.log((double) p99Latency.toNanos() / medianLatency.toNanos()) / Z_99;
+        this.errorRate = errorRate;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        calls.increment();
+        HttpUrl url = request.getRequestUrl();
+        if (url == null || !url.encodedPath().equals("/live")) {
+            return new MockResponse().setResponseCode(404);
+        }
+
+        long delayMicros = Math.round(medianMillis * 1000 * Math.exp(sigma * random.nextGaussian()));
+        MockResponse response = new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setHeadersDelay(delayMicros, TimeUnit.MICROSECONDS);
+
+        if (random.nextDouble() < errorRate) {
+            failures.increment();
+            return random.nextBoolean()
+                    ? response.setResponseCode(500)
+                    : response.setBody("{\"success\":false,\"error\":{\"code\":106,\"type\":\"rate_limit_reached\",\"info\":\"Fake provider error\"}}");
+        }
+        return response.setBody(quotes(url.queryParameter("source"), url.queryParameter("currencies")));
+    }
+
+    long calls() {
+        return calls.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    private static String quotes(String source, String currencies) {
+        String base = source == null ? "USD" : source.toUpperCase(Locale.ROOT);
+        Double baseRate = USD_RATES.get(base);
+        if (baseRate == null) {
+            return "{\"success\":false,\"error\":{\"code\":201,\"type\":\"invalid_source_currency\",\"info\":\"Unknown source " + base + "\"}}";
+        }
+        List<String> targets = currencies == null || currencies.isBlank()
+                ? new ArrayList<>(USD_RATES.keySet())
+                : List.of(currencies.toUpperCase(Locale.ROOT).split(","));
+
+        StringBuilder body = new StringBuilder("{\"success\":true,\"source\":\"").append(base)
+                .append("\",\"timestamp\":").append(System.currentTimeMillis() / 1000).append(",\"quotes\":{");
+        boolean first = true;
+        for (String target : targets) {
+            Double targetRate = USD_RATES.get(target);
+            if (targetRate == null) {
+                continue;
+            }
+            if (!first) {
+                body.append(',');
+            }
+            body.append('"').append(base).append(target).append("\":")
+                    .append(String.format(Locale.ROOT, "%.6f", targetRate / baseRate));
+            first = false;
+        }
+        return body.append("}}").toString();
+    }
+
+    private static Map<String, Double> usdRates() {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        rates.put("USD", 1.0);
+        rates.put("EUR", 0.92);
+        rates.put("GBP", 0.79);
+        rates.put("JPY", 155.3);
+        rates.put("CHF", 0.90);
+        rates.put("CAD", 1.37);
+        rates.put("AUD", 1.51);
+        rates.put("TRY", 32.2);
+        rates.put("SEK", 10.7);
+        rates.put("NOK", 10.8);
+        rates.put("PLN", 3.95);
+        rates.put("CNY", 7.23);
+        return rates;
+    }
+}
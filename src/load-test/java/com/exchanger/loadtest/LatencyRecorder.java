@@ -0,0 +1,72 @@
+package com.exchanger.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects the latency of every request of one scenario. Each virtual user appends to its own
+ * {@link Samples}, so recording never contends; they are merged once the run is over.
+ */
+class LatencyRecorder {
+
+    private final String scenario;
+    private final List<Samples> samples = new CopyOnWriteArrayList<>();
+
+    LatencyRecorder(String scenario) {
+        this.scenario = scenario;
+    }
+
+    Samples newSamples() {
+        Samples user = new Samples();
+        samples.add(user);
+        return user;
+    }
+
+    Summary summarize(double seconds) {
+        int count = samples.stream().mapToInt(s -> s.size).sum();
+        long[] merged = new long[count];
+        int offset = 0;
+        long errors = 0;
+        for (Samples user : samples) {
+            System.arraycopy(user.nanos, 0, merged, offset, user.size);
+            offset += user.size;
+            errors += user.errors;
+        }
+        Arrays.sort(merged);
+        return new Summary(scenario, count, errors, count / seconds,
+                percentile(merged, 0.50), percentile(merged, 0.90), percentile(merged, 0.99),
+                percentile(merged, 0.999), count == 0 ? 0 : merged[count - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)] / 1e6;
+    }
+
+    static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long elapsedNanos, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = elapsedNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+    }
+
+    /**
+     * Latencies are in milliseconds; errors are included in the latencies.
+     */
+    record Summary(String scenario, long requests, long errors, double throughputPerSecond,
+                   double p50, double p90, double p99, double p999, double max) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.exchanger.loadtest;
+
+import com.exchanger.ExchangerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import okhttp3.mockwebserver.MockWebServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application against a fake exchange rate provider and a PostgreSQL database, drives
+ * the scripted {@link Scenario}s concurrently for a fixed time, and reports throughput and latency
+ * percentiles per scenario.
+ * <p>
+ * Harness options are passed as {@code --load.<name>=<value>}; every other argument goes to the
+ * application, so any {@code exchange.*} or {@code spring.*} property can be overridden. Without
+ * {@code --spring.datasource.url}, an embedded PostgreSQL is started for the run.
+ */
+public final class LoadTestHarness {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("scenarios", "convert,rates,history,bulk"),
+            Map.entry("users", "16"),
+            Map.entry("bulk-users", "1"),
+            Map.entry("warmup", "PT15S"),
+            Map.entry("duration", "PT60S"),
+            Map.entry("seed-rows", "10000"),
+            Map.entry("bulk-rows", "1000"),
+            Map.entry("history-page-size", "100"),
+            Map.entry("history-pages", "20"),
+            Map.entry("provider.median-latency", "PT0.05S"),
+            Map.entry("provider.p99-latency", "PT0.4S"),
+            Map.entry("provider.error-rate", "0.01"),
+            Map.entry("random-seed", "42"),
+            Map.entry("report", "target/load-test-report.json"));
+
+    private final Map<String, String> options;
+
+    private LoadTestHarness(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--load.") && arg.contains("=")) {
+                options.put(arg.substring("--load.".length(), arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        new LoadTestHarness(options).run(applicationArgs.toArray(String[]::new));
+        System.exit(0);
+    }
+
+    private void run(String[] applicationArgs) throws Exception {
+        long randomSeed = Long.parseLong(option("random-seed"));
+        FakeExchangeRateProvider provider = new FakeExchangeRateProvider(duration("provider.median-latency"),
+                duration("provider.p99-latency"), Double.parseDouble(option("provider.error-rate")), randomSeed);
+        boolean externalDatabase = Arrays.stream(applicationArgs).anyMatch(arg -> arg.startsWith("--spring.datasource.url="));
+
+        try (MockWebServer providerServer = new MockWebServer();
+             EmbeddedPostgres postgres = externalDatabase ? null : EmbeddedPostgres.builder().start()) {
+            providerServer.setDispatcher(provider);
+            providerServer.start();
+
+            // System properties rank above application.yml but below the command line arguments
+            System.setProperty("server.port", "0");
+            System.setProperty("exchange.provider", "currencyLayerClient");
+            System.setProperty("exchange.api.url", providerServer.url("/").toString());
+            System.setProperty("exchange.api.key", "load-test");
+            System.setProperty("spring.jpa.show-sql", "false");
+            if (postgres != null) {
+                System.setProperty("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+                System.setProperty("spring.datasource.username", "postgres");
+                System.setProperty("spring.datasource.password", "postgres");
+            }
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ExchangerApplication.class)
+                    .run(applicationArgs)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+                LoadTestClient client = new LoadTestClient(URI.create("http://localhost:" + port), objectMapper);
+
+                seed(client, randomSeed);
+                log("Warming up for %s", duration("warmup"));
+                drive(client, duration("warmup"), randomSeed);
+                log("Measuring for %s", duration("duration"));
+                List<LatencyRecorder.Summary> summaries = drive(client, duration("duration"), randomSeed + 1);
+
+                report(summaries, provider, objectMapper);
+            }
+        }
+    }
+
+    private void seed(LoadTestClient client, long randomSeed) throws IOException, InterruptedException {
+        int rows = Integer.parseInt(option("seed-rows"));
+        if (rows > 0) {
+            log("Seeding %d conversions", rows);
+            client.postCsv("/api/v1/conversion/bulk-conversion", Scenario.csv(new SplittableRandom(randomSeed), rows));
+        }
+    }
+
+    private List<LatencyRecorder.Summary> drive(LoadTestClient client, Duration duration, long randomSeed)
+            throws InterruptedException {
+        Scenario.Settings settings = new Scenario.Settings(Integer.parseInt(option("bulk-rows")),
+                Integer.parseInt(option("history-page-size")), Integer.parseInt(option("history-pages")));
+        SplittableRandom seeds = new SplittableRandom(randomSeed);
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String name : option("scenarios").split(",")) {
+                Scenario scenario = Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT));
+                LatencyRecorder recorder = new LatencyRecorder(scenario.name().toLowerCase(Locale.ROOT));
+                recorders.add(recorder);
+                int count = Integer.parseInt(option(scenario == Scenario.BULK ? "bulk-users" : "users"));
+                for (int i = 0; i < count; i++) {
+                    Scenario.VirtualUser user = scenario.newUser(client, seeds.split(), settings);
+                    LatencyRecorder.Samples samples = recorder.newSamples();
+                    users.submit(() -> loop(user, samples, deadline));
+                }
+            }
+            users.shutdown();
+            users.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        return recorders.stream().map(recorder -> recorder.summarize(seconds)).toList();
+    }
+
+    private static void loop(Scenario.VirtualUser user, LatencyRecorder.Samples samples, long deadline) {
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = user.step();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                success = false;
+            }
+            samples.record(System.nanoTime() - start, success);
+        }
+    }
+
+    private void report(List<LatencyRecorder.Summary> summaries, FakeExchangeRateProvider provider,
+                        ObjectMapper objectMapper) throws IOException {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (LatencyRecorder.Summary s : summaries) {
+            table.append(String.format(Locale.ROOT, "%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.scenario(), s.requests(), s.errors(), s.throughputPerSecond(), s.p50(), s.p90(), s.p99(), s.p999(), s.max()));
+        }
+        table.append(String.format(Locale.ROOT, "provider calls: %d, injected failures: %d%n", provider.calls(), provider.failures()));
+        System.out.println(table);
+
+        Path report = Path.of(option("report"));
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("options", new TreeMap<>(options));
+        document.put("scenarios", summaries);
+        document.put("providerCalls", provider.calls());
+        document.put("providerFailures", provider.failures());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), document);
+        log("Report written to %s", report.toAbsolutePath());
+    }
+
+    private String option(String name) {
+        return options.get(name);
+    }
+
+    private Duration duration(String name) {
+        return Duration.parse(option(name));
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf(Locale.ROOT, "[load-test] " + format + "%n", args);
+    }
+}
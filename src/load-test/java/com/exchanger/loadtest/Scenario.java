@@ -0,0 +1,131 @@
+package com.exchanger.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Scripted traffic against one endpoint. Each virtual user runs its own instance of a scenario in
+ * a closed loop: it sends the next request as soon as the previous one has been answered.
+ */
+enum Scenario {
+
+    /**
+     * {@code POST /api/v1/conversion} for random pairs.
+     */
+    CONVERT {
+        @Override
+        VirtualUser newUser(LoadTestClient client, SplittableRandom random, Settings settings) {
+            return () -> {
+                String[] pair = pair(random);
+                return ok(client.postJson("/api/v1/conversion",
+                        Map.of("amount", amount(random, pair[0]), "sourceCurrency", pair[0], "targetCurrency", pair[1])));
+            };
+        }
+    },
+
+    /**
+     * {@code GET /api/v1/conversion/exchange-rate} for random pairs.
+     */
+    RATES {
+        @Override
+        VirtualUser newUser(LoadTestClient client, SplittableRandom random, Settings settings) {
+            return () -> {
+                String[] pair = pair(random);
+                return ok(client.get("/api/v1/conversion/exchange-rate?source=" + pair[0] + "&target=" + pair[1]));
+            };
+        }
+    },
+
+    /**
+     * Walks today's history with {@code GET /api/v1/conversion/history/scroll}, following
+     * {@code nextCursor} for up to {@code history-pages} pages before starting over.
+     */
+    HISTORY {
+        @Override
+        VirtualUser newUser(LoadTestClient client, SplittableRandom random, Settings settings) {
+            return new VirtualUser() {
+                private String cursor;
+                private int page;
+
+                @Override
+                public boolean step() throws IOException, InterruptedException {
+                    String query = "/api/v1/conversion/history/scroll?date=" + LocalDate.now() + "&size=" + settings.historyPageSize()
+                            + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+                    HttpResponse<String> response = client.get(query);
+                    if (!ok(response)) {
+                        cursor = null;
+                        return false;
+                    }
+                    JsonNode next = client.json(response).get("nextCursor");
+                    boolean restart = next == null || next.isNull() || ++page >= settings.historyPages();
+                    cursor = restart ? null : next.asText();
+                    page = restart ? 0 : page;
+                    return true;
+                }
+            };
+        }
+    },
+
+    /**
+     * {@code POST /api/v1/conversion/bulk-conversion} with a CSV of {@code bulk-rows} rows.
+     */
+    BULK {
+        @Override
+        VirtualUser newUser(LoadTestClient client, SplittableRandom random, Settings settings) {
+            String csv = csv(random, settings.bulkRows());
+            return () -> ok(client.postCsv("/api/v1/conversion/bulk-conversion", csv));
+        }
+    };
+
+    private static final List<String> CURRENCIES = List.copyOf(FakeExchangeRateProvider.USD_RATES.keySet());
+
+    abstract VirtualUser newUser(LoadTestClient client, SplittableRandom random, Settings settings);
+
+    static String csv(SplittableRandom random, int rows) {
+        StringBuilder csv = new StringBuilder("amount,sourceCurrency,targetCurrency\n");
+        for (int i = 0; i < rows; i++) {
+            String[] pair = pair(random);
+            csv.append(amount(random, pair[0])).append(',')
+                    .append(pair[0]).append(',').append(pair[1]).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * A random amount in the minor unit of {@code currency}, which the service accepts unrounded.
+     */
+    private static BigDecimal amount(SplittableRandom random, String currency) {
+        return BigDecimal.valueOf(random.nextLong(1, 1_000_000), Currency.getInstance(currency).getDefaultFractionDigits());
+    }
+
+    private static String[] pair(SplittableRandom random) {
+        int source = random.nextInt(CURRENCIES.size());
+        int target = (source + 1 + random.nextInt(CURRENCIES.size() - 1)) % CURRENCIES.size();
+        return new String[]{CURRENCIES.get(source), CURRENCIES.get(target)};
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    @FunctionalInterface
+    interface VirtualUser {
+        /**
+         * Sends one request and returns whether it succeeded.
+         */
+        boolean step() throws IOException, InterruptedException;
+    }
+
+    record Settings(int bulkRows, int historyPageSize, int historyPages) {
+    }
+}
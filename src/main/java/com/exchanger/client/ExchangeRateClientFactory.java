@@ -2,7 +2,11 @@ package com.exchanger.client;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -12,7 +16,7 @@ public class ExchangeRateClientFactory {
     private final String provider;
 
     public ExchangeRateClientFactory(
-            Map<String, ExchangeRateClient> clients,
+            @ExchangeRateProvider Map<String, ExchangeRateClient> clients,
             @Value("${exchange.provider:currencyLayerClient}") String provider
     ) {
         this.clients = clients;
@@ -22,4 +26,38 @@ public class ExchangeRateClientFactory {
     public ExchangeRateClient getClient() {
         return clients.getOrDefault(provider, clients.get("currencyLayerClient"));
     }
+
+    public String getProviderName() {
+        return clients.containsKey(provider) ? provider : "currencyLayerClient";
+    }
+
+    /**
+     * Returns the named providers in the given order.
+     *
+     * @throws IllegalArgumentException if a name does not match any provider
+     */
+    public Map<String, ExchangeRateClient> getClients(List<String> names) {
+        Map<String, ExchangeRateClient> selected = new LinkedHashMap<>();
+        for (String name : names) {
+            ExchangeRateClient client = clients.get(name);
+            if (client == null) {
+                throw new IllegalArgumentException("Unknown exchange rate provider: " + name);
+            }
+            selected.put(name, client);
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the selected provider as a {@link ReactiveExchangeRateClient}. Providers without a
+     * non-blocking implementation are called on the bounded elastic scheduler instead.
+     */
+    public ReactiveExchangeRateClient getReactiveClient() {
+        ExchangeRateClient client = getClient();
+        if (client instanceof ReactiveExchangeRateClient reactiveClient) {
+            return reactiveClient;
+        }
+        return request -> Mono.fromCallable(() -> client.getExchangeRates(request))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 }
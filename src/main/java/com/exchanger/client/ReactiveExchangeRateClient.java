@@ -0,0 +1,17 @@
+package com.exchanger.client;
+
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ExchangeRateClient}: the returned {@link Mono} completes when
+ * the provider answers, without holding a thread while the call is in flight.
+ */
+public interface ReactiveExchangeRateClient {
+    /**
+     * Returns a map of currency pairs (e.g., USD_EUR) to exchange rates
+     */
+    Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request);
+
+}
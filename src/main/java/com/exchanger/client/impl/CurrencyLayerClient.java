@@ -1,53 +1,92 @@
 package com.exchanger.client.impl;
 
 import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.ExchangeRateProvider;
+import com.exchanger.client.ReactiveExchangeRateClient;
 import com.exchanger.dto.requests.ExchangeRateRequest;
 import com.exchanger.dto.responses.CurrencyLayerApiResponse;
 import com.exchanger.dto.responses.ExchangeRateResponse;
 import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.UnsupportedCurrencyException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Component("currencyLayerClient")
-public class CurrencyLayerClient implements ExchangeRateClient {
+@ExchangeRateProvider
+public class CurrencyLayerClient implements ExchangeRateClient, ReactiveExchangeRateClient {
+
+    /**
+     * CurrencyLayer error codes for an invalid source currency and invalid target currencies.
+     */
+    private static final Set<Integer> INVALID_CURRENCY_CODES = Set.of(201, 202);
 
     private final WebClient webClient;
     private final String accessKey;
+    private final Duration timeout;
 
     public CurrencyLayerClient(
             WebClient.Builder builder,
             @Value("${exchange.api.url}") String baseUrl,
-            @Value("${exchange.api.key}") String accessKey
+            @Value("${exchange.api.key}") String accessKey,
+            @Value("${exchange.api.timeout:PT10S}") Duration timeout
     ) {
         this.webClient = builder.baseUrl(baseUrl).build();
         this.accessKey = accessKey;
+        this.timeout = timeout;
     }
 
+    /**
+     * Blocks the calling thread until the provider answers or {@code exchange.api.timeout} passes.
+     * The wait parks on a latch rather than a monitor, so on a virtual thread it unmounts instead of
+     * pinning its carrier.
+     */
     @Override
     public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        return fetchExchangeRates(request).block();
+    }
+
+    @Override
+    public Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request) {
         String source = request.sourceCurrency();
-        String currencies = String.join(",", request.targetCurrencies());
+        // Without a currency list the provider quotes the source against every supported currency
+        Optional<String> currencies = request.targetCurrencies().isEmpty()
+                ? Optional.empty()
+                : Optional.of(String.join(",", request.targetCurrencies()));
 
-        CurrencyLayerApiResponse rawResponse = webClient.get()
+        return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/live")
                         .queryParam("access_key", accessKey)
                         .queryParam("source", source)
-                        .queryParam("currencies", currencies)
+                        .queryParamIfPresent("currencies", currencies)
                         .build())
                 .retrieve()
                 .bodyToMono(CurrencyLayerApiResponse.class)
-                .block();
+                // HTTP errors and failed connections are provider failures like any other
+                .onErrorMap(WebClientException.class, e -> new ExternalApiException(
+                        "Failed to fetch exchange rates: " + e.getMessage(), e))
+                .timeout(timeout, Mono.error(() -> new ExternalApiException(
+                        "Exchange rate provider did not respond within " + timeout)))
+                .switchIfEmpty(Mono.error(() -> new ExternalApiException("Failed to fetch exchange rates")))
+                .map(rawResponse -> toExchangeRateResponse(source, rawResponse));
+    }
 
-        if (rawResponse == null || !rawResponse.success() || rawResponse.quotes() == null) {
+    static ExchangeRateResponse toExchangeRateResponse(String source, CurrencyLayerApiResponse rawResponse) {
+        if (!rawResponse.success() || rawResponse.quotes() == null) {
             String reason = "Failed to fetch exchange rates";
 
-            if (rawResponse != null && rawResponse.error() != null) {
+            if (rawResponse.error() != null) {
                 var err = rawResponse.error();
 
                 reason = err.info() != null && !err.info().isBlank()
@@ -55,6 +94,9 @@ public class CurrencyLayerClient implements ExchangeRateClient {
                         : "CurrencyLayer error - " + err.type() + " (code " + err.code() + ")";
             }
 
+            if (rawResponse.error() != null && INVALID_CURRENCY_CODES.contains(rawResponse.error().code())) {
+                throw new UnsupportedCurrencyException(reason);
+            }
             throw new ExternalApiException(reason);
         }
 
@@ -64,7 +106,7 @@ public class CurrencyLayerClient implements ExchangeRateClient {
             rates.put(formattedKey, value);
         });
 
-        return new ExchangeRateResponse(source, rates);
+        return new ExchangeRateResponse(source, rates, Instant.ofEpochSecond(rawResponse.timestamp()));
     }
 
 }
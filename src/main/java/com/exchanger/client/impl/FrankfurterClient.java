@@ -0,0 +1,99 @@
+package com.exchanger.client.impl;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.ExchangeRateProvider;
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.dto.responses.FrankfurterApiResponse;
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.UnsupportedCurrencyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Client for the Frankfurter API, which publishes the European Central Bank reference rates once
+ * per working day and needs no access key.
+ */
+@Component("frankfurterClient")
+@ExchangeRateProvider
+public class FrankfurterClient implements ExchangeRateClient, ReactiveExchangeRateClient {
+
+    /**
+     * Statuses Frankfurter answers with for a currency it does not quote.
+     */
+    private static final Set<Integer> INVALID_CURRENCY_STATUSES = Set.of(400, 404, 422);
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public FrankfurterClient(
+            WebClient.Builder builder,
+            @Value("${exchange.frankfurter.url:https://api.frankfurter.app}") String baseUrl,
+            @Value("${exchange.api.timeout:PT10S}") Duration timeout
+    ) {
+        this.webClient = builder.baseUrl(baseUrl).build();
+        this.timeout = timeout;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        return fetchExchangeRates(request).block();
+    }
+
+    @Override
+    public Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request) {
+        String source = request.sourceCurrency();
+        // Without a currency list the provider quotes the source against every supported currency
+        Optional<String> currencies = request.targetCurrencies().isEmpty()
+                ? Optional.empty()
+                : Optional.of(String.join(",", request.targetCurrencies()));
+
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/latest")
+                        .queryParam("from", source)
+                        .queryParamIfPresent("to", currencies)
+                        .build())
+                .retrieve()
+                .bodyToMono(FrankfurterApiResponse.class)
+                .onErrorMap(e -> e instanceof WebClientResponseException response
+                                && INVALID_CURRENCY_STATUSES.contains(response.getStatusCode().value()),
+                        e -> new UnsupportedCurrencyException("Unsupported currency in " + source + " to "
+                                + currencies.orElse("all currencies") + ": " + e.getMessage(), e))
+                // Other HTTP errors and failed connections are provider failures like any other
+                .onErrorMap(WebClientException.class, e -> new ExternalApiException(
+                        "Failed to fetch exchange rates: " + e.getMessage(), e))
+                .timeout(timeout, Mono.error(() -> new ExternalApiException(
+                        "Exchange rate provider did not respond within " + timeout)))
+                .switchIfEmpty(Mono.error(() -> new ExternalApiException("Failed to fetch exchange rates")))
+                .map(rawResponse -> toExchangeRateResponse(source, rawResponse));
+    }
+
+    private ExchangeRateResponse toExchangeRateResponse(String source, FrankfurterApiResponse rawResponse) {
+        if (rawResponse.rates() == null) {
+            throw new ExternalApiException("Failed to fetch exchange rates");
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>();
+        rawResponse.rates().forEach((target, value) -> rates.put(source + "_" + target, value));
+
+        return new ExchangeRateResponse(
+                source,
+                rates,
+                rawResponse.date() != null ? rawResponse.date().atStartOfDay().toInstant(ZoneOffset.UTC) : null
+        );
+    }
+}
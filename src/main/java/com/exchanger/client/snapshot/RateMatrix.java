@@ -0,0 +1,132 @@
+package com.exchanger.client.snapshot;
+
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.money.CurrencyCodes;
+import com.exchanger.money.MoneyMath;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one base currency quoted against every other currency.
+ * <p>
+ * Three-letter codes are mapped to a slot in a fixed lookup table, so resolving a rate is two
+ * array reads and a division. Any {@code A_B} rate is triangulated through the base currency as
+ * {@code base_B / base_A}.
+ */
+public final class RateMatrix {
+
+    private final String baseCurrency;
+    private final Instant timestamp;
+    private final Instant fetchedAt;
+    private final short[] indexBySlot;
+    private final double[] rates;
+
+    private RateMatrix(String baseCurrency, Instant timestamp, Instant fetchedAt, short[] indexBySlot, double[] rates) {
+        this.baseCurrency = baseCurrency;
+        this.timestamp = timestamp;
+        this.fetchedAt = fetchedAt;
+        this.indexBySlot = indexBySlot;
+        this.rates = rates;
+    }
+
+    /**
+     * Builds a matrix from a provider response quoting the base currency against all currencies.
+     * Quotes with malformed keys or non-positive rates are skipped.
+     */
+    public static RateMatrix from(ExchangeRateResponse response, Instant fetchedAt) {
+        String base = response.sourceCurrency();
+        if (CurrencyCodes.slot(base) < 0) {
+            throw new IllegalArgumentException("Invalid base currency: " + base);
+        }
+        short[] indexBySlot = new short[CurrencyCodes.SLOTS];
+        Arrays.fill(indexBySlot, (short) -1);
+        double[] rates = new double[response.rates().size() + 1];
+
+        int size = 0;
+        indexBySlot[CurrencyCodes.slot(base)] = (short) size;
+        rates[size++] = 1.0d;
+
+        for (Map.Entry<String, BigDecimal> quote : response.rates().entrySet()) {
+            String key = quote.getKey();
+            if (key.length() != 7 || !key.startsWith(base + "_") || quote.getValue() == null) {
+                continue;
+            }
+            String target = key.substring(4);
+            int slot = CurrencyCodes.slot(target);
+            double rate = quote.getValue().doubleValue();
+            if (slot < 0 || indexBySlot[slot] >= 0 || !(rate > 0d)) {
+                continue;
+            }
+            indexBySlot[slot] = (short) size;
+            rates[size++] = rate;
+        }
+
+        Instant timestamp = response.timestamp() != null ? response.timestamp() : fetchedAt;
+        return new RateMatrix(base, timestamp, fetchedAt, indexBySlot, Arrays.copyOf(rates, size));
+    }
+
+    public String baseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * Returns when the provider quoted these rates, falling back to the fetch time.
+     */
+    public Instant timestamp() {
+        return timestamp;
+    }
+
+    public Instant fetchedAt() {
+        return fetchedAt;
+    }
+
+    public int size() {
+        return rates.length;
+    }
+
+    public boolean contains(String currency) {
+        return indexOf(currency) >= 0;
+    }
+
+    /**
+     * Returns the {@code source -> target} rate, or {@code null} if either currency is not quoted.
+     */
+    public BigDecimal rate(String source, String target) {
+        int from = indexOf(source);
+        int to = indexOf(target);
+        if (from < 0 || to < 0) {
+            return null;
+        }
+        if (from == to) {
+            return BigDecimal.ONE;
+        }
+        BigDecimal rate = new BigDecimal(rates[to] / rates[from], MoneyMath.RATE_CONTEXT).stripTrailingZeros();
+        return rate.scale() < 0 ? rate.setScale(0) : rate;
+    }
+
+    /**
+     * Quotes {@code source} against every currency in {@code targets}, or returns {@code null} if
+     * any of them is not in the matrix.
+     */
+    public ExchangeRateResponse quote(String source, List<String> targets) {
+        Map<String, BigDecimal> quotes = new HashMap<>();
+        for (String target : targets) {
+            BigDecimal rate = rate(source, target);
+            if (rate == null) {
+                return null;
+            }
+            quotes.put(source + "_" + target, rate);
+        }
+        return new ExchangeRateResponse(source, quotes, timestamp);
+    }
+
+    private int indexOf(String currency) {
+        int slot = CurrencyCodes.slot(currency);
+        return slot < 0 ? -1 : indexBySlot[slot];
+    }
+}
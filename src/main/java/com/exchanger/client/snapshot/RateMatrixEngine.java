@@ -0,0 +1,72 @@
+package com.exchanger.client.snapshot;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Periodically fetches the base currency against all currencies and publishes it as a
+ * {@link RateMatrix}. Readers always see a complete matrix; a failed refresh keeps the previous one.
+ */
+public class RateMatrixEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RateMatrixEngine.class);
+
+    private final ExchangeRateClient upstream;
+    private final String baseCurrency;
+    private final Duration maxAge;
+    private final Clock clock;
+    private volatile RateMatrix current;
+
+    public RateMatrixEngine(ExchangeRateClient upstream, String baseCurrency, Duration maxAge, Clock clock) {
+        this.upstream = upstream;
+        this.baseCurrency = baseCurrency;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${exchange.snapshot.refresh-interval:PT10M}")
+    public void refresh() {
+        try {
+            ExchangeRateResponse response = upstream.getExchangeRates(new ExchangeRateRequest(baseCurrency, List.of()));
+            RateMatrix matrix = RateMatrix.from(response, clock.instant());
+            current = matrix;
+            log.debug("Refreshed {} rate matrix with {} currencies", baseCurrency, matrix.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh {} rate matrix", baseCurrency, e);
+        }
+    }
+
+    /**
+     * Returns the latest matrix if it was fetched within the configured maximum age.
+     */
+    public Optional<RateMatrix> currentMatrix() {
+        RateMatrix matrix = current;
+        if (matrix == null || matrix.fetchedAt().plus(maxAge).isBefore(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(matrix);
+    }
+
+    /**
+     * Answers the request from the current matrix, or returns {@code null} if there is no fresh
+     * matrix, the request asks for all currencies, or a requested currency is not quoted.
+     */
+    public ExchangeRateResponse quote(ExchangeRateRequest request) {
+        if (request.targetCurrencies().isEmpty()) {
+            return null;
+        }
+        return currentMatrix()
+                .map(matrix -> matrix.quote(request.sourceCurrency(), request.targetCurrencies()))
+                .orElse(null);
+    }
+}
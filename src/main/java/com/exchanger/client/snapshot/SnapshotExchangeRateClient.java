@@ -0,0 +1,26 @@
+package com.exchanger.client.snapshot;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+
+/**
+ * Resolves rates from the current {@link RateMatrix} and only falls back to the delegate when
+ * there is no fresh matrix or it does not quote one of the requested currencies.
+ */
+public class SnapshotExchangeRateClient implements ExchangeRateClient {
+
+    private final RateMatrixEngine engine;
+    private final ExchangeRateClient delegate;
+
+    public SnapshotExchangeRateClient(RateMatrixEngine engine, ExchangeRateClient delegate) {
+        this.engine = engine;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        ExchangeRateResponse response = engine.quote(request);
+        return response != null ? response : delegate.getExchangeRates(request);
+    }
+}
@@ -0,0 +1,29 @@
+package com.exchanger.client.snapshot;
+
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link SnapshotExchangeRateClient}: matrix hits complete immediately,
+ * everything else is fetched through the delegate.
+ */
+public class SnapshotReactiveExchangeRateClient implements ReactiveExchangeRateClient {
+
+    private final RateMatrixEngine engine;
+    private final ReactiveExchangeRateClient delegate;
+
+    public SnapshotReactiveExchangeRateClient(RateMatrixEngine engine, ReactiveExchangeRateClient delegate) {
+        this.engine = engine;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request) {
+        return Mono.defer(() -> {
+            ExchangeRateResponse response = engine.quote(request);
+            return response != null ? Mono.just(response) : delegate.fetchExchangeRates(request);
+        });
+    }
+}
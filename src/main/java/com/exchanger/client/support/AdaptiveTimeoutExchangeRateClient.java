@@ -0,0 +1,92 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.config.ContextPropagation;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.ProviderCallCancelledException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounds every provider call by a timeout derived from the provider's recent latency: the
+ * {@code percentile} latency times {@code multiplier}, clamped to {@code [minTimeout, maxTimeout]}.
+ * Until enough calls have been measured the timeout is {@code maxTimeout}. A call that times out is
+ * recorded at the timeout it had, so a provider that slows down raises its timeout instead of being
+ * judged by the fast calls that came before.
+ * <p>
+ * The call runs on a virtual thread so the caller can stop waiting; on timeout that thread is
+ * interrupted and the caller gets an {@link ExternalApiException}. The caller's tracing context is
+ * carried over to that thread, so the provider call stays in the caller's trace.
+ */
+public class AdaptiveTimeoutExchangeRateClient implements ExchangeRateClient {
+
+    static final int WINDOW_SIZE = 256;
+    static final int MIN_SAMPLES = 20;
+
+    private final ExchangeRateClient delegate;
+    private final double percentile;
+    private final double multiplier;
+    private final long minTimeoutNanos;
+    private final long maxTimeoutNanos;
+    private final LatencyWindow latencies = new LatencyWindow(WINDOW_SIZE);
+    private final ExecutorService executor =
+            ContextPropagation.wrap(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("provider-timeout-", 0).factory()));
+
+    public AdaptiveTimeoutExchangeRateClient(ExchangeRateClient delegate, double percentile, double multiplier,
+                                             Duration minTimeout, Duration maxTimeout) {
+        if (minTimeout.compareTo(maxTimeout) > 0) {
+            throw new IllegalArgumentException("Minimum timeout must not exceed maximum timeout");
+        }
+        this.delegate = delegate;
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.minTimeoutNanos = minTimeout.toNanos();
+        this.maxTimeoutNanos = maxTimeout.toNanos();
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        long timeoutNanos = currentTimeout().toNanos();
+        long start = System.nanoTime();
+        Future<ExchangeRateResponse> call = executor.submit(() -> delegate.getExchangeRates(request));
+        try {
+            ExchangeRateResponse response = call.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            latencies.record(System.nanoTime() - start);
+            return response;
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            latencies.record(timeoutNanos);
+            throw new ExternalApiException("Exchange rate provider did not respond within " + Duration.ofNanos(timeoutNanos));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ExternalApiException("Failed to fetch exchange rates", e.getCause());
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProviderCallCancelledException("Interrupted while waiting for exchange rates", e);
+        }
+    }
+
+    /**
+     * Returns the timeout the next call will get.
+     */
+    public Duration currentTimeout() {
+        long observed = latencies.percentile(percentile, MIN_SAMPLES);
+        if (observed < 0) {
+            return Duration.ofNanos(maxTimeoutNanos);
+        }
+        long scaled = (long) Math.min(Long.MAX_VALUE, observed * multiplier);
+        return Duration.ofNanos(Math.clamp(scaled, minTimeoutNanos, maxTimeoutNanos));
+    }
+}
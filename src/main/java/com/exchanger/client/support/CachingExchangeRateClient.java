@@ -0,0 +1,234 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache in front of an {@link ExchangeRateClient}.
+ * <p>
+ * Entries are keyed by source currency and remember the target currencies they were fetched for.
+ * A request for targets that are not covered yet reloads the entry with the union of old and new
+ * targets, so a hot source converges on a single upstream call per TTL. Entries read within the
+ * refresh-ahead window before expiry are reloaded in the background while the cached rates keep
+ * being served. If a reload fails, rates no older than the stale-if-error window are served instead
+ * of the error, so a provider outage shorter than that window goes unnoticed by callers.
+ */
+public class CachingExchangeRateClient implements ExchangeRateClient {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingExchangeRateClient.class);
+
+    private final ExchangeRateClient delegate;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration staleIfError;
+    private final int maximumSize;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+
+    public CachingExchangeRateClient(ExchangeRateClient delegate, Duration ttl, Duration refreshAhead,
+                                     Duration staleIfError, int maximumSize, Executor refreshExecutor, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache maximum size must be at least 1");
+        }
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.staleIfError = staleIfError;
+        this.maximumSize = maximumSize;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        String source = request.sourceCurrency();
+        Instant now = clock.instant();
+        CacheEntry entry = entries.get(source);
+
+        if (entry != null && !entry.isExpired(now) && entry.covers(request.targetCurrencies())) {
+            entry.lastAccess = now;
+            hits.increment();
+            if (entry.isDueForRefresh(now)) {
+                scheduleRefresh(source, entry);
+            }
+            return entry.toResponse(request.targetCurrencies());
+        }
+
+        misses.increment();
+        Set<String> targets = new TreeSet<>(request.targetCurrencies());
+        if (entry != null) {
+            targets.addAll(entry.targets);
+        }
+        try {
+            return load(source, targets).toResponse(request.targetCurrencies());
+        } catch (ExternalApiException e) {
+            if (entry == null || !entry.covers(request.targetCurrencies()) || !entry.isUsableWhenStale(now)) {
+                throw e;
+            }
+            log.warn("Serving exchange rates for {} fetched at {} because the provider failed: {}",
+                    source, entry.fetchedAt, e.getMessage());
+            staleServed.increment();
+            return entry.toResponse(request.targetCurrencies());
+        }
+    }
+
+    /**
+     * Seeds the cache with rates fetched earlier, for example from the local rate history on
+     * startup. Sources that already have an entry are left alone; the preloaded entry expires
+     * relative to {@code fetchedAt}, not to now.
+     */
+    public void preload(ExchangeRateResponse response, Instant fetchedAt) {
+        String source = response.sourceCurrency();
+        String prefix = source + "_";
+        Set<String> targets = new TreeSet<>();
+        response.rates().keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .forEach(key -> targets.add(key.substring(prefix.length())));
+        if (targets.isEmpty()) {
+            return;
+        }
+        CacheEntry entry = new CacheEntry(source, Set.copyOf(targets), Map.copyOf(response.rates()),
+                response.timestamp(), fetchedAt);
+        if (entries.putIfAbsent(source, entry) == null) {
+            evictIfNecessary();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns how many requests were answered from a fresh entry.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many requests had to go to the provider, including those then answered from a
+     * stale entry.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how many requests were answered from a stale entry because the provider failed.
+     */
+    public long staleServedCount() {
+        return staleServed.sum();
+    }
+
+    private CacheEntry load(String source, Set<String> targets) {
+        ExchangeRateResponse response = delegate.getExchangeRates(new ExchangeRateRequest(source, List.copyOf(targets)));
+        Instant now = clock.instant();
+        CacheEntry loaded = new CacheEntry(source, Set.copyOf(targets), Map.copyOf(response.rates()),
+                response.timestamp(), now);
+
+        entries.put(source, loaded);
+        evictIfNecessary();
+        return loaded;
+    }
+
+    private void scheduleRefresh(String source, CacheEntry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(source, entry.targets);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of exchange rates for {} failed", source, e);
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not schedule background refresh of exchange rates for {}", source, e);
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Evicts least recently read entries until the cache is back within its bound. The number of
+     * entries is bounded by the number of source currencies, so a linear scan is cheap here.
+     */
+    private void evictIfNecessary() {
+        while (entries.size() > maximumSize) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparing(e -> e.getValue().lastAccess))
+                    .ifPresent(e -> entries.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private final class CacheEntry {
+        private final String source;
+        private final Set<String> targets;
+        private final Map<String, BigDecimal> rates;
+        private final Instant timestamp;
+        private final Instant fetchedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile Instant lastAccess;
+
+        private CacheEntry(String source, Set<String> targets, Map<String, BigDecimal> rates,
+                           Instant timestamp, Instant fetchedAt) {
+            this.source = source;
+            this.targets = targets;
+            this.rates = rates;
+            this.timestamp = timestamp;
+            this.fetchedAt = fetchedAt;
+            this.lastAccess = fetchedAt;
+        }
+
+        private boolean covers(Collection<String> requested) {
+            return targets.containsAll(requested);
+        }
+
+        private boolean isExpired(Instant now) {
+            return !now.isBefore(fetchedAt.plus(ttl));
+        }
+
+        private boolean isUsableWhenStale(Instant now) {
+            return now.isBefore(fetchedAt.plus(ttl).plus(staleIfError));
+        }
+
+        private boolean isDueForRefresh(Instant now) {
+            return !now.isBefore(fetchedAt.plus(ttl).minus(refreshAhead));
+        }
+
+        private ExchangeRateResponse toResponse(Collection<String> requested) {
+            Map<String, BigDecimal> selected = new HashMap<>();
+            for (String target : requested) {
+                String key = source + "_" + target;
+                BigDecimal rate = rates.get(key);
+                if (rate != null) {
+                    selected.put(key, rate);
+                }
+            }
+            return new ExchangeRateResponse(source, selected, timestamp);
+        }
+    }
+}
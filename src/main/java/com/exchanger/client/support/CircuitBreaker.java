@@ -0,0 +1,144 @@
+package com.exchanger.client.support;
+
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.ProviderCallCancelledException;
+import com.exchanger.exception.RateLimitExceededException;
+import com.exchanger.exception.UnsupportedCurrencyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Health of one provider, shared by its blocking and reactive clients so both stop calling it
+ * together.
+ * <p>
+ * The breaker opens after {@code failureThreshold} consecutive failures and then rejects calls
+ * immediately for {@code openDuration}. After that a single trial call is let through (half-open):
+ * success closes the breaker, failure opens it again. Rejections by our own rate limiter, currency
+ * codes the provider does not quote and cancelled calls, such as a losing hedge, are not provider
+ * failures; they leave the breaker untouched and give back the trial permit.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoTime;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this(name, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration, LongSupplier nanoTime) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Circuit breaker failure threshold must be at least 1");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether a call may go to the provider. Every permitted call must end in
+     * {@link #onSuccess()}, {@link #onError(Throwable)} or {@link #release()}.
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && nanoTime.getAsLong() - openedAtNanos >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (trialInFlight) {
+                        yield false;
+                    }
+                    trialInFlight = true;
+                    yield true;
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ExternalApiException rejection() {
+        return new ExternalApiException("Exchange rate provider " + name + " is unavailable, try again later");
+    }
+
+    /**
+     * Ends a permitted call without judging the provider.
+     */
+    void release() {
+        lock.lock();
+        try {
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess() {
+        lock.lock();
+        try {
+            if (state != State.CLOSED) {
+                log.info("Circuit breaker for {} closed", name);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onError(Throwable error) {
+        if (error instanceof RateLimitExceededException || error instanceof UnsupportedCurrencyException
+                || error instanceof ProviderCallCancelledException) {
+            release();
+        } else {
+            onFailure();
+        }
+    }
+
+    private void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                log.warn("Circuit breaker for {} opened after {} consecutive failures", name, consecutiveFailures);
+                state = State.OPEN;
+                openedAtNanos = nanoTime.getAsLong();
+                trialInFlight = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
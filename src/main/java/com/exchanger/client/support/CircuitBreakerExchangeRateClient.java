@@ -0,0 +1,56 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a provider that keeps failing, as decided by its {@link CircuitBreaker}. A call that
+ * fails because the calling thread was interrupted is treated as cancelled.
+ */
+public class CircuitBreakerExchangeRateClient implements ExchangeRateClient {
+
+    private final ExchangeRateClient delegate;
+    private final CircuitBreaker breaker;
+
+    public CircuitBreakerExchangeRateClient(String name, ExchangeRateClient delegate, int failureThreshold, Duration openDuration) {
+        this(delegate, new CircuitBreaker(name, failureThreshold, openDuration));
+    }
+
+    CircuitBreakerExchangeRateClient(String name, ExchangeRateClient delegate, int failureThreshold, Duration openDuration,
+                                     LongSupplier nanoTime) {
+        this(delegate, new CircuitBreaker(name, failureThreshold, openDuration, nanoTime));
+    }
+
+    public CircuitBreakerExchangeRateClient(ExchangeRateClient delegate, CircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        if (!breaker.tryAcquire()) {
+            throw breaker.rejection();
+        }
+        ExchangeRateResponse response;
+        try {
+            response = delegate.getExchangeRates(request);
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                breaker.release();
+            } else {
+                breaker.onError(e);
+            }
+            throw e;
+        }
+        breaker.onSuccess();
+        return response;
+    }
+
+    public CircuitBreaker.State state() {
+        return breaker.state();
+    }
+}
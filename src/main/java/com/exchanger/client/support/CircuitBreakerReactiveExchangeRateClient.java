@@ -0,0 +1,35 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link CircuitBreakerExchangeRateClient}, usually sharing its
+ * {@link CircuitBreaker}. The permit is taken on subscription, and a cancelled subscription gives it
+ * back without judging the provider.
+ */
+public class CircuitBreakerReactiveExchangeRateClient implements ReactiveExchangeRateClient {
+
+    private final ReactiveExchangeRateClient delegate;
+    private final CircuitBreaker breaker;
+
+    public CircuitBreakerReactiveExchangeRateClient(ReactiveExchangeRateClient delegate, CircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request) {
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquire()) {
+                return Mono.error(breaker.rejection());
+            }
+            return delegate.fetchExchangeRates(request)
+                    .doOnSuccess(response -> breaker.onSuccess())
+                    .doOnError(breaker::onError)
+                    .doOnCancel(breaker::release);
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-flight wrapper around an {@link ExchangeRateClient}.
+ * <p>
+ * Concurrent lookups for the same source currency share one upstream call. A lookup whose targets
+ * are already covered by the call in flight simply waits for it. Otherwise it joins the next call
+ * for that source, which collects the union of all waiting targets and starts as soon as the
+ * current one finishes. Every waiter completes from the response of the call it joined.
+ */
+public class CoalescingExchangeRateClient implements ExchangeRateClient {
+
+    private final ExchangeRateClient delegate;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Call> inFlight = new HashMap<>();
+    private final Map<String, Call> pending = new HashMap<>();
+
+    public CoalescingExchangeRateClient(ExchangeRateClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        String source = request.sourceCurrency();
+        Call call;
+        Call predecessor = null;
+        boolean leader = false;
+
+        lock.lock();
+        try {
+            Call current = inFlight.get(source);
+            if (current == null) {
+                call = new Call(request.targetCurrencies());
+                inFlight.put(source, call);
+                leader = true;
+            } else if (current.covers(request.targetCurrencies())) {
+                call = current;
+            } else {
+                call = pending.get(source);
+                if (call == null) {
+                    call = new Call(request.targetCurrencies());
+                    pending.put(source, call);
+                    predecessor = current;
+                    leader = true;
+                } else {
+                    call.include(request.targetCurrencies());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            if (predecessor != null) {
+                // The predecessor promotes this call to in-flight before it completes
+                predecessor.result.handle((response, failure) -> null).join();
+            }
+            execute(source, call);
+        }
+        return await(call);
+    }
+
+    private void execute(String source, Call call) {
+        ExchangeRateResponse response = null;
+        RuntimeException failure = null;
+        try {
+            response = delegate.getExchangeRates(new ExchangeRateRequest(source, List.copyOf(call.targets)));
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        lock.lock();
+        try {
+            inFlight.remove(source, call);
+            Call next = pending.remove(source);
+            if (next != null) {
+                inFlight.put(source, next);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (failure != null) {
+            call.result.completeExceptionally(failure);
+        } else {
+            call.result.complete(response);
+        }
+    }
+
+    private ExchangeRateResponse await(Call call) {
+        try {
+            return call.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Call {
+        private final Set<String> targets;
+        private final CompletableFuture<ExchangeRateResponse> result = new CompletableFuture<>();
+
+        private Call(Collection<String> targets) {
+            this.targets = new LinkedHashSet<>(targets);
+        }
+
+        // An empty target list asks the provider for every currency
+        private boolean covers(Collection<String> requested) {
+            return targets.isEmpty() || (!requested.isEmpty() && targets.containsAll(requested));
+        }
+
+        private void include(Collection<String> requested) {
+            if (requested.isEmpty()) {
+                targets.clear();
+            } else if (!targets.isEmpty()) {
+                targets.addAll(requested);
+            }
+        }
+    }
+}
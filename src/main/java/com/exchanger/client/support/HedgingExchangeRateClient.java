@@ -0,0 +1,214 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.config.ContextPropagation;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.ProviderCallCancelledException;
+import com.exchanger.exception.UnsupportedCurrencyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Spreads calls over several providers to cut tail latency.
+ * <p>
+ * Each call starts on the preferred provider: one that has not failed recently, with the lowest
+ * median latency, ties broken by configuration order. If it has not answered within its
+ * {@code percentile} latency, a hedged request goes to the next provider and the first successful
+ * answer wins. A provider that fails is replaced by the next one straight away and is ranked last
+ * for {@code failoverCooldown}, unless it only rejected a currency code. Losing calls are cancelled, and the time they ran is recorded as a
+ * lower bound of their latency, so a provider that keeps losing does not keep the latency of its
+ * rare wins. Every call runs on its own virtual thread, within the caller's trace, and reports back
+ * even if it ends with an {@link Error}.
+ */
+public class HedgingExchangeRateClient implements ExchangeRateClient {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgingExchangeRateClient.class);
+
+    static final int WINDOW_SIZE = 128;
+    static final int MIN_SAMPLES = 10;
+
+    private final List<Provider> providers;
+    private final double percentile;
+    private final long defaultDelayNanos;
+    private final long minDelayNanos;
+    private final long failoverCooldownNanos;
+    private final LongSupplier nanoTime;
+    private final ExecutorService executor =
+            ContextPropagation.wrap(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("provider-call-", 0).factory()));
+
+    /**
+     * @param providers providers by name, in order of preference while no latencies are known
+     */
+    public HedgingExchangeRateClient(Map<String, ExchangeRateClient> providers, double percentile,
+                                     Duration defaultDelay, Duration minDelay, Duration failoverCooldown) {
+        this(providers, percentile, defaultDelay, minDelay, failoverCooldown, System::nanoTime);
+    }
+
+    HedgingExchangeRateClient(Map<String, ExchangeRateClient> providers, double percentile,
+                              Duration defaultDelay, Duration minDelay, Duration failoverCooldown,
+                              LongSupplier nanoTime) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("At least one provider is required");
+        }
+        if (!(percentile > 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("Hedging percentile must be in (0, 1]");
+        }
+        List<Provider> list = new ArrayList<>();
+        providers.forEach((name, client) -> list.add(new Provider(list.size(), name, client)));
+        this.providers = List.copyOf(list);
+        this.percentile = percentile;
+        this.defaultDelayNanos = defaultDelay.toNanos();
+        this.minDelayNanos = minDelay.toNanos();
+        this.failoverCooldownNanos = failoverCooldown.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        List<Provider> ranked = ranked();
+        BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+        List<Future<?>> started = new ArrayList<>(ranked.size());
+        int next = 0;
+        int running = 0;
+        RuntimeException lastError = null;
+
+        try {
+            started.add(start(ranked.get(next++), request, completed));
+            running++;
+
+            while (running > 0) {
+                Attempt attempt;
+                if (next < ranked.size()) {
+                    attempt = completed.poll(hedgeDelayNanos(ranked.get(next - 1)), TimeUnit.NANOSECONDS);
+                    if (attempt == null) {
+                        log.debug("Hedging {} request on {}", request.sourceCurrency(), ranked.get(next).name);
+                        started.add(start(ranked.get(next++), request, completed));
+                        running++;
+                        continue;
+                    }
+                } else {
+                    attempt = completed.take();
+                }
+                running--;
+
+                if (attempt.error == null) {
+                    return attempt.response;
+                }
+                lastError = attempt.error;
+                log.warn("Exchange rate provider {} failed: {}", attempt.provider.name, attempt.error.getMessage());
+                if (next < ranked.size()) {
+                    started.add(start(ranked.get(next++), request, completed));
+                    running++;
+                }
+            }
+            throw lastError;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderCallCancelledException("Interrupted while waiting for exchange rates", e);
+        } finally {
+            started.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Providers in the order they are tried: not recently failed first, then fastest median latency.
+     */
+    List<String> ranking() {
+        return ranked().stream().map(provider -> provider.name).toList();
+    }
+
+    private List<Provider> ranked() {
+        long now = nanoTime.getAsLong();
+        return providers.stream()
+                .sorted(Comparator
+                        .comparing((Provider provider) -> provider.isDemoted(now))
+                        .thenComparingLong(provider -> {
+                            long median = provider.latencies.percentile(0.5, MIN_SAMPLES);
+                            return median < 0 ? Long.MAX_VALUE : median;
+                        })
+                        .thenComparingInt(provider -> provider.order))
+                .toList();
+    }
+
+    private long hedgeDelayNanos(Provider provider) {
+        long delay = provider.latencies.percentile(percentile, MIN_SAMPLES);
+        return delay < 0 ? defaultDelayNanos : Math.max(minDelayNanos, delay);
+    }
+
+    private Future<?> start(Provider provider, ExchangeRateRequest request, BlockingQueue<Attempt> completed) {
+        return executor.submit(() -> {
+            long start = nanoTime.getAsLong();
+            try {
+                ExchangeRateResponse response = provider.client.getExchangeRates(request);
+                provider.succeeded(nanoTime.getAsLong() - start);
+                completed.add(new Attempt(provider, response, null));
+            } catch (Throwable e) {
+                if (Thread.currentThread().isInterrupted() || e instanceof ProviderCallCancelledException) {
+                    // Cancelled after another provider answered: it would have taken at least this long
+                    provider.cancelled(nanoTime.getAsLong() - start);
+                    return;
+                }
+                if (!(e instanceof UnsupportedCurrencyException)) {
+                    // A provider that does not quote a currency is still healthy for every other one
+                    provider.failed(nanoTime.getAsLong() + failoverCooldownNanos);
+                }
+                completed.add(new Attempt(provider, null, e instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : new ExternalApiException("Exchange rate provider " + provider.name + " failed: " + e, e)));
+            }
+        });
+    }
+
+    private record Attempt(Provider provider, ExchangeRateResponse response, RuntimeException error) {
+    }
+
+    private static final class Provider {
+
+        private final int order;
+        private final String name;
+        private final ExchangeRateClient client;
+        private final LatencyWindow latencies = new LatencyWindow(WINDOW_SIZE);
+        private volatile long demotedUntilNanos;
+        private volatile boolean demoted;
+
+        private Provider(int order, String name, ExchangeRateClient client) {
+            this.order = order;
+            this.name = name;
+            this.client = client;
+        }
+
+        private boolean isDemoted(long now) {
+            return demoted && now - demotedUntilNanos < 0;
+        }
+
+        private void succeeded(long latencyNanos) {
+            latencies.record(latencyNanos);
+            demoted = false;
+        }
+
+        private void cancelled(long elapsedNanos) {
+            latencies.record(elapsedNanos);
+        }
+
+        private void failed(long demotedUntilNanos) {
+            this.demotedUntilNanos = demotedUntilNanos;
+            this.demoted = true;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.exchanger.client.support;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ring buffer of the most recent call latencies, used to estimate latency percentiles.
+ */
+class LatencyWindow {
+
+    private final long[] samples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int size;
+
+    LatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    void record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the given percentile (0 to 1) of the recorded latencies, or {@code -1} if fewer than
+     * {@code minSamples} have been recorded.
+     */
+    long percentile(double percentile, int minSamples) {
+        long[] copy;
+        lock.lock();
+        try {
+            if (size < minSamples || size == 0) {
+                return -1;
+            }
+            copy = Arrays.copyOf(samples, size);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile * copy.length) - 1;
+        return copy[Math.clamp(index, 0, copy.length - 1)];
+    }
+}
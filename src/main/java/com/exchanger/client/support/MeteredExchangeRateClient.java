@@ -0,0 +1,69 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Currency;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Times every call to one provider as {@code exchange.provider.requests}, tagged with the provider,
+ * the source currency and the outcome, and counts failures as {@code exchange.provider.errors} by
+ * exception type. Source currencies that are not ISO 4217 codes known to the JDK are tagged
+ * {@code other}, so user input cannot create new time series.
+ */
+public class MeteredExchangeRateClient implements ExchangeRateClient {
+
+    static final String REQUESTS = "exchange.provider.requests";
+    static final String ERRORS = "exchange.provider.errors";
+    static final String OTHER_CURRENCY = "other";
+
+    private static final Set<String> KNOWN_CURRENCIES = Currency.getAvailableCurrencies().stream()
+            .map(Currency::getCurrencyCode)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final String provider;
+    private final ExchangeRateClient delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredExchangeRateClient(String provider, ExchangeRateClient delegate, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ExchangeRateResponse response = delegate.getExchangeRates(request);
+            sample.stop(timer(meterRegistry, provider, request, "success"));
+            return response;
+        } catch (RuntimeException e) {
+            sample.stop(timer(meterRegistry, provider, request, "error"));
+            countError(meterRegistry, provider, e);
+            throw e;
+        }
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String provider, ExchangeRateRequest request, String outcome) {
+        return Timer.builder(REQUESTS)
+                .description("Exchange rate provider calls")
+                .tag("provider", provider)
+                .tag("source", currencyTag(request.sourceCurrency()))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    static String currencyTag(String currency) {
+        return currency != null && KNOWN_CURRENCIES.contains(currency) ? currency : OTHER_CURRENCY;
+    }
+
+    static void countError(MeterRegistry meterRegistry, String provider, Throwable error) {
+        meterRegistry.counter(ERRORS, "provider", provider, "exception", error.getClass().getSimpleName()).increment();
+    }
+}
@@ -0,0 +1,38 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link MeteredExchangeRateClient}, recording into the same meters. The
+ * timer starts on subscription.
+ */
+public class MeteredReactiveExchangeRateClient implements ReactiveExchangeRateClient {
+
+    private final String provider;
+    private final ReactiveExchangeRateClient delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredReactiveExchangeRateClient(String provider, ReactiveExchangeRateClient delegate, MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return delegate.fetchExchangeRates(request)
+                    .doOnSuccess(response -> sample.stop(MeteredExchangeRateClient.timer(meterRegistry, provider, request, "success")))
+                    .doOnError(e -> {
+                        sample.stop(MeteredExchangeRateClient.timer(meterRegistry, provider, request, "error"));
+                        MeteredExchangeRateClient.countError(meterRegistry, provider, e);
+                    });
+        });
+    }
+}
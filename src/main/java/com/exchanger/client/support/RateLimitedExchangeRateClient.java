@@ -0,0 +1,33 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.RateLimitExceededException;
+
+import java.time.Duration;
+
+/**
+ * Keeps calls to a provider within its quota. Every caller, interactive or bulk, draws from the
+ * same {@link TokenBucketRateLimiter} and fails fast when no permit frees up within {@code maxWait}.
+ */
+public class RateLimitedExchangeRateClient implements ExchangeRateClient {
+
+    private final ExchangeRateClient delegate;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Duration maxWait;
+
+    public RateLimitedExchangeRateClient(ExchangeRateClient delegate, TokenBucketRateLimiter rateLimiter, Duration maxWait) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        if (!rateLimiter.tryAcquire(maxWait)) {
+            throw new RateLimitExceededException("Exchange rate provider rate limit exceeded");
+        }
+        return delegate.getExchangeRates(request);
+    }
+}
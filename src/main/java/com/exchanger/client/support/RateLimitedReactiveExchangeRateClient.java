@@ -0,0 +1,50 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.RateLimitExceededException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Reactive counterpart of {@link RateLimitedExchangeRateClient} drawing from the same
+ * {@link TokenBucketRateLimiter}. The permit is reserved on subscription and waited for with a
+ * timer instead of a sleeping thread; cancelling during that wait gives the permit back.
+ */
+public class RateLimitedReactiveExchangeRateClient implements ReactiveExchangeRateClient {
+
+    private final ReactiveExchangeRateClient delegate;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Duration maxWait;
+    private final Scheduler timer;
+
+    public RateLimitedReactiveExchangeRateClient(ReactiveExchangeRateClient delegate, TokenBucketRateLimiter rateLimiter, Duration maxWait) {
+        this(delegate, rateLimiter, maxWait, Schedulers.parallel());
+    }
+
+    RateLimitedReactiveExchangeRateClient(ReactiveExchangeRateClient delegate, TokenBucketRateLimiter rateLimiter, Duration maxWait,
+                                          Scheduler timer) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.maxWait = maxWait;
+        this.timer = timer;
+    }
+
+    @Override
+    public Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request) {
+        return Mono.defer(() -> {
+            long waitNanos = rateLimiter.reserve(maxWait.toNanos());
+            if (waitNanos < 0) {
+                return Mono.error(new RateLimitExceededException("Exchange rate provider rate limit exceeded"));
+            }
+            Mono<ExchangeRateResponse> call = delegate.fetchExchangeRates(request);
+            return waitNanos == 0
+                    ? call
+                    : Mono.delay(Duration.ofNanos(waitNanos), timer).doOnCancel(rateLimiter::cancel).then(call);
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+/**
+ * Hands every successful provider response to a recorder. Recording is best effort: a failing
+ * recorder is logged and never fails the lookup.
+ */
+public class RecordingExchangeRateClient implements ExchangeRateClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingExchangeRateClient.class);
+
+    private final ExchangeRateClient delegate;
+    private final Consumer<ExchangeRateResponse> recorder;
+
+    public RecordingExchangeRateClient(ExchangeRateClient delegate, Consumer<ExchangeRateResponse> recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+        ExchangeRateResponse response = delegate.getExchangeRates(request);
+        try {
+            recorder.accept(response);
+        } catch (RuntimeException e) {
+            log.warn("Could not record exchange rates for {}", request.sourceCurrency(), e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * Reactive counterpart of {@link RecordingExchangeRateClient}. The recorder runs on the thread that
+ * emits the response, so it must not block.
+ */
+public class RecordingReactiveExchangeRateClient implements ReactiveExchangeRateClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingReactiveExchangeRateClient.class);
+
+    private final ReactiveExchangeRateClient delegate;
+    private final Consumer<ExchangeRateResponse> recorder;
+
+    public RecordingReactiveExchangeRateClient(ReactiveExchangeRateClient delegate, Consumer<ExchangeRateResponse> recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Mono<ExchangeRateResponse> fetchExchangeRates(ExchangeRateRequest request) {
+        return delegate.fetchExchangeRates(request).doOnNext(response -> {
+            try {
+                recorder.accept(response);
+            } catch (RuntimeException e) {
+                log.warn("Could not record exchange rates for {}", request.sourceCurrency(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package com.exchanger.client.support;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that refills at a steady rate and holds up to {@code burst} unused permits.
+ * <p>
+ * Callers reserve permits in arrival order: each reservation moves the time at which the next
+ * permit becomes free, so waiting callers are served first come, first served. Only the
+ * bookkeeping happens under the lock; waiting for a reserved permit happens outside it.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double intervalNanos;
+    private final double burst;
+    private final LongSupplier nanoTime;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burst = burst;
+        this.nanoTime = nanoTime;
+        this.storedPermits = burst;
+        this.nextFreeNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Acquires one permit, waiting up to {@code timeout} for it.
+     *
+     * @return {@code false} if the permit would not be available within the timeout, or the thread was
+     *         interrupted while waiting for it; nothing is reserved then
+     */
+    public boolean tryAcquire(Duration timeout) {
+        long waitNanos = reserve(timeout.toNanos());
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reserves one permit and returns how long the caller has to wait for it, or {@code -1} if
+     * that would exceed {@code timeoutNanos}.
+     */
+    long reserve(long timeoutNanos) {
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            if (now > nextFreeNanos) {
+                storedPermits = Math.min(burst, storedPermits + (now - nextFreeNanos) / intervalNanos);
+                nextFreeNanos = now;
+            }
+
+            double fromStored = Math.min(1d, storedPermits);
+            long permitAt = nextFreeNanos + (long) ((1d - fromStored) * intervalNanos);
+            long waitNanos = permitAt - now;
+            if (waitNanos > timeoutNanos) {
+                rejected.increment();
+                return -1;
+            }
+
+            storedPermits -= fromStored;
+            nextFreeNanos = permitAt;
+            granted.increment();
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a permit reserved by {@link #reserve} that will not be used. Permits reserved after
+     * it move up by one interval, or, if none are pending, the bucket gets the permit back.
+     */
+    void cancel() {
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            if (nextFreeNanos - now >= intervalNanos) {
+                nextFreeNanos -= (long) intervalNanos;
+            } else {
+                storedPermits = Math.min(burst, storedPermits + 1d + (now - nextFreeNanos) / intervalNanos);
+                nextFreeNanos = now;
+            }
+            granted.decrement();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permits that could be taken right now without waiting.
+     */
+    public double availablePermits() {
+        lock.lock();
+        try {
+            long now = nanoTime.getAsLong();
+            return now > nextFreeNanos
+                    ? Math.min(burst, storedPermits + (now - nextFreeNanos) / intervalNanos)
+                    : storedPermits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many permits have been reserved since startup, not counting those given back.
+     */
+    public long grantedPermits() {
+        return granted.sum();
+    }
+
+    /**
+     * Returns how many reservations failed because the permit was not available in time.
+     */
+    public long rejectedPermits() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,25 @@
+package com.exchanger.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Carries the caller's thread-local context, such as the current trace, onto the threads of an
+ * executor.
+ */
+public final class ContextPropagation {
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private ContextPropagation() {
+    }
+
+    /**
+     * Wraps {@code executor} so every task it runs sees the context of the thread that submitted it.
+     */
+    public static ExecutorService wrap(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, SNAPSHOTS);
+    }
+}
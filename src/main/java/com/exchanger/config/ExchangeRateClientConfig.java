@@ -0,0 +1,225 @@
+package com.exchanger.config;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.ExchangeRateClientFactory;
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.client.snapshot.RateMatrixEngine;
+import com.exchanger.client.snapshot.SnapshotExchangeRateClient;
+import com.exchanger.client.snapshot.SnapshotReactiveExchangeRateClient;
+import com.exchanger.client.support.AdaptiveTimeoutExchangeRateClient;
+import com.exchanger.client.support.CachingExchangeRateClient;
+import com.exchanger.client.support.CircuitBreaker;
+import com.exchanger.client.support.CircuitBreakerExchangeRateClient;
+import com.exchanger.client.support.CircuitBreakerReactiveExchangeRateClient;
+import com.exchanger.client.support.CoalescingExchangeRateClient;
+import com.exchanger.client.support.HedgingExchangeRateClient;
+import com.exchanger.client.support.MeteredExchangeRateClient;
+import com.exchanger.client.support.MeteredReactiveExchangeRateClient;
+import com.exchanger.client.support.RateLimitedExchangeRateClient;
+import com.exchanger.client.support.RateLimitedReactiveExchangeRateClient;
+import com.exchanger.client.support.RecordingExchangeRateClient;
+import com.exchanger.client.support.RecordingReactiveExchangeRateClient;
+import com.exchanger.client.support.TokenBucketRateLimiter;
+import com.exchanger.metrics.ExchangeRateCacheMetrics;
+import com.exchanger.metrics.RateLimiterMetrics;
+import com.exchanger.service.RateHistoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Assembles the {@link ExchangeRateClient} used by the service layer: the provider selected by
+ * {@link ExchangeRateClientFactory}, wrapped in the decorators configured under {@code exchange.*}.
+ */
+@Configuration
+public class ExchangeRateClientConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRateClientConfig.class);
+
+    /**
+     * Provider quota shared by the blocking and the reactive clients.
+     */
+    @Bean
+    public TokenBucketRateLimiter exchangeRateLimiter(
+            @Value("${exchange.rate-limit.permits-per-second:10}") double permitsPerSecond,
+            @Value("${exchange.rate-limit.burst:20}") int burst
+    ) {
+        return new TokenBucketRateLimiter(permitsPerSecond, burst);
+    }
+
+    /**
+     * Circuit breaker of {@code exchange.provider}, shared by the blocking and the reactive clients.
+     */
+    @Bean
+    public CircuitBreaker exchangeRateCircuitBreaker(
+            ExchangeRateClientFactory clientFactory,
+            @Value("${exchange.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${exchange.circuit-breaker.open-duration:PT30S}") Duration openDuration
+    ) {
+        return new CircuitBreaker(clientFactory.getProviderName(), failureThreshold, openDuration);
+    }
+
+    /**
+     * Provider access shared by every component that needs fresh rates, bypassing the cache.
+     * <p>
+     * Every provider is wrapped, from the outside in, in a circuit breaker, its token bucket and an
+     * adaptive timeout. With more than one name in {@code exchange.providers}, calls are hedged and
+     * failed over across those providers, each with its own token bucket; otherwise only
+     * {@code exchange.provider} is used. Every response is recorded in the local rate history.
+     * Calls, errors and the quota of each provider are reported to {@code meterRegistry}.
+     */
+    @Bean
+    public ExchangeRateClient upstreamExchangeRateClient(
+            ExchangeRateClientFactory clientFactory,
+            TokenBucketRateLimiter exchangeRateLimiter,
+            CircuitBreaker exchangeRateCircuitBreaker,
+            RateHistoryService rateHistoryService,
+            MeterRegistry meterRegistry,
+            @Value("${exchange.providers:}") List<String> providerNames,
+            @Value("${exchange.rate-limit.permits-per-second:10}") double permitsPerSecond,
+            @Value("${exchange.rate-limit.burst:20}") int burst,
+            @Value("${exchange.rate-limit.max-wait:PT5S}") Duration maxWait,
+            @Value("${exchange.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${exchange.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+            @Value("${exchange.timeout.percentile:0.99}") double timeoutPercentile,
+            @Value("${exchange.timeout.multiplier:2.0}") double timeoutMultiplier,
+            @Value("${exchange.timeout.min:PT0.5S}") Duration minTimeout,
+            @Value("${exchange.api.timeout:PT10S}") Duration maxTimeout,
+            @Value("${exchange.hedging.percentile:0.95}") double hedgingPercentile,
+            @Value("${exchange.hedging.default-delay:PT0.5S}") Duration hedgingDefaultDelay,
+            @Value("${exchange.hedging.min-delay:PT0.05S}") Duration hedgingMinDelay,
+            @Value("${exchange.hedging.failover-cooldown:PT30S}") Duration failoverCooldown
+    ) {
+        BiFunction<String, ExchangeRateClient, ExchangeRateClient> resilient = (name, client) -> {
+            boolean primary = name.equals(clientFactory.getProviderName());
+            TokenBucketRateLimiter rateLimiter = primary ? exchangeRateLimiter : new TokenBucketRateLimiter(permitsPerSecond, burst);
+            CircuitBreaker breaker = primary ? exchangeRateCircuitBreaker : new CircuitBreaker(name, failureThreshold, openDuration);
+            new RateLimiterMetrics(name, rateLimiter).bindTo(meterRegistry);
+            ExchangeRateClient timed = new AdaptiveTimeoutExchangeRateClient(new MeteredExchangeRateClient(name, client, meterRegistry),
+                    timeoutPercentile, timeoutMultiplier, minTimeout, maxTimeout);
+            return new CircuitBreakerExchangeRateClient(new RateLimitedExchangeRateClient(timed, rateLimiter, maxWait), breaker);
+        };
+
+        ExchangeRateClient client;
+        if (providerNames.size() < 2) {
+            client = resilient.apply(clientFactory.getProviderName(), clientFactory.getClient());
+        } else {
+            Map<String, ExchangeRateClient> providers = new LinkedHashMap<>();
+            clientFactory.getClients(providerNames).forEach((name, provider) -> providers.put(name, resilient.apply(name, provider)));
+            client = new HedgingExchangeRateClient(
+                    providers, hedgingPercentile, hedgingDefaultDelay, hedgingMinDelay, failoverCooldown);
+        }
+        return new CoalescingExchangeRateClient(new RecordingExchangeRateClient(client, rateHistoryService::record));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "exchange.snapshot.enabled", havingValue = "true")
+    public RateMatrixEngine rateMatrixEngine(
+            @Qualifier("upstreamExchangeRateClient") ExchangeRateClient upstream,
+            @Value("${exchange.snapshot.base-currency:USD}") String baseCurrency,
+            @Value("${exchange.snapshot.max-age:PT30M}") Duration maxAge
+    ) {
+        return new RateMatrixEngine(upstream, baseCurrency, maxAge, Clock.systemUTC());
+    }
+
+    @Bean
+    public CachingExchangeRateClient cachingExchangeRateClient(
+            @Qualifier("upstreamExchangeRateClient") ExchangeRateClient upstream,
+            @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+            @Value("${exchange.cache.ttl:PT5M}") Duration ttl,
+            @Value("${exchange.cache.refresh-ahead:PT1M}") Duration refreshAhead,
+            @Value("${exchange.cache.stale-if-error:PT1H}") Duration staleIfError,
+            @Value("${exchange.cache.maximum-size:256}") int maximumSize
+    ) {
+        return new CachingExchangeRateClient(
+                upstream, ttl, refreshAhead, staleIfError, maximumSize, taskExecutor, Clock.systemUTC());
+    }
+
+    @Bean
+    public MeterBinder exchangeRateCacheMetrics(CachingExchangeRateClient cachingExchangeRateClient) {
+        return new ExchangeRateCacheMetrics(cachingExchangeRateClient);
+    }
+
+    /**
+     * Fills the cache from the local rate history on startup, so a restart does not send a burst
+     * of cache misses to the provider. Snapshots older than {@code exchange.history.warm-up-max-age}
+     * are ignored.
+     */
+    @Bean
+    public ApplicationRunner exchangeRateCacheWarmer(
+            CachingExchangeRateClient cache,
+            RateHistoryService rateHistoryService,
+            @Value("${exchange.history.warm-up-max-age:PT5M}") Duration maxAge
+    ) {
+        return args -> {
+            try {
+                var snapshots = rateHistoryService.latestSnapshots(Clock.systemUTC().instant().minus(maxAge));
+                snapshots.forEach(snapshot -> cache.preload(snapshot.rates(), snapshot.fetchedAt()));
+                log.info("Warmed the exchange rate cache with {} snapshots", snapshots.size());
+            } catch (RuntimeException e) {
+                log.warn("Could not warm the exchange rate cache from the rate history", e);
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    public ExchangeRateClient exchangeRateClient(
+            CachingExchangeRateClient cachingExchangeRateClient,
+            ObjectProvider<RateMatrixEngine> rateMatrixEngine
+    ) {
+        ExchangeRateClient client = cachingExchangeRateClient;
+
+        RateMatrixEngine engine = rateMatrixEngine.getIfAvailable();
+        if (engine != null) {
+            client = new SnapshotExchangeRateClient(engine, client);
+        }
+        return client;
+    }
+
+    /**
+     * Non-blocking client for the reactive conversion path: snapshot hits, then the provider behind
+     * the circuit breaker and token bucket it shares with the blocking client. It does not go through the in-process cache, whose misses block. Provider responses
+     * are recorded to the rate history like those of the blocking client.
+     */
+    @Bean
+    @Primary
+    public ReactiveExchangeRateClient reactiveExchangeRateClient(
+            ExchangeRateClientFactory clientFactory,
+            TokenBucketRateLimiter exchangeRateLimiter,
+            CircuitBreaker exchangeRateCircuitBreaker,
+            ObjectProvider<RateMatrixEngine> rateMatrixEngine,
+            RateHistoryService rateHistoryService,
+            MeterRegistry meterRegistry,
+            @Value("${exchange.rate-limit.max-wait:PT5S}") Duration maxWait
+    ) {
+        ReactiveExchangeRateClient client = new RecordingReactiveExchangeRateClient(new CircuitBreakerReactiveExchangeRateClient(
+                new RateLimitedReactiveExchangeRateClient(
+                        new MeteredReactiveExchangeRateClient(clientFactory.getProviderName(), clientFactory.getReactiveClient(), meterRegistry),
+                        exchangeRateLimiter, maxWait),
+                exchangeRateCircuitBreaker), rateHistoryService::record);
+
+        RateMatrixEngine engine = rateMatrixEngine.getIfAvailable();
+        if (engine != null) {
+            client = new SnapshotReactiveExchangeRateClient(engine, client);
+        }
+        return client;
+    }
+}
@@ -0,0 +1,99 @@
+package com.exchanger.controller;
+
+import com.exchanger.dto.responses.BulkConversionJobResponse;
+import com.exchanger.dto.responses.BulkConversionResponse;
+import com.exchanger.service.BulkConversionJobService;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+@RestController
+@Observed(name = "exchange.controller")
+@RequestMapping("/api/v1/conversion/bulk-conversion/jobs")
+public class BulkConversionJobController {
+
+    private final BulkConversionJobService bulkConversionJobService;
+
+    public BulkConversionJobController(BulkConversionJobService bulkConversionJobService) {
+        this.bulkConversionJobService = bulkConversionJobService;
+    }
+
+    @Operation(
+            summary = "Submit a bulk conversion job",
+            description = "Uploads a CSV file and returns a job id immediately. The file is converted in the background; "
+                    + "poll the job for progress and page through its results."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted",
+                    content = @Content(schema = @Schema(implementation = BulkConversionJobResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Too many jobs queued", content = @Content)
+    })
+    @PostMapping(consumes = "multipart/form-data")
+    public ResponseEntity<BulkConversionJobResponse> submitJob(
+            @Parameter(description = "CSV file containing conversion requests", required = true)
+            @RequestPart("file") MultipartFile file
+    ) {
+        BulkConversionJobResponse response = bulkConversionJobService.submit(file);
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}")
+                        .buildAndExpand(response.jobId())
+                        .toUri())
+                .body(response);
+    }
+
+    @Operation(
+            summary = "Get bulk conversion job progress",
+            description = "Returns the job status and the number of rows parsed, converted and failed so far."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job", content = @Content)
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkConversionJobResponse> getJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(bulkConversionJobService.getStatus(jobId));
+    }
+
+    @Operation(
+            summary = "Cancel a bulk conversion job",
+            description = "Cancels a queued job, or stops a running one after its current chunk. Rows already persisted are kept."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cancellation requested"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job", content = @Content)
+    })
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<BulkConversionJobResponse> cancelJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(bulkConversionJobService.cancel(jobId));
+    }
+
+    @Operation(
+            summary = "Get bulk conversion job results",
+            description = "Returns a page of the results produced so far, in CSV row order."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Results retrieved"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job", content = @Content)
+    })
+    @GetMapping("/{jobId}/results")
+    public Page<BulkConversionResponse> getJobResults(
+            @PathVariable UUID jobId,
+            @Parameter(hidden = true) Pageable pageable
+    ) {
+        return bulkConversionJobService.getResults(jobId, pageable);
+    }
+}
@@ -0,0 +1,43 @@
+package com.exchanger.controller;
+
+import com.exchanger.dto.requests.ConversionStatisticsRequest;
+import com.exchanger.dto.responses.ConversionStatisticsResponse;
+import com.exchanger.service.ConversionStatisticsService;
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Observed(name = "exchange.controller")
+@RequestMapping("/api/v1/conversion/statistics")
+public class ConversionStatisticsController {
+
+    private final ConversionStatisticsService conversionStatisticsService;
+
+    public ConversionStatisticsController(ConversionStatisticsService conversionStatisticsService) {
+        this.conversionStatisticsService = conversionStatisticsService;
+    }
+
+    @Operation(
+            summary = "Get conversion statistics",
+            description = "Returns the number of conversions, source and converted volume and min/max/average rate of one "
+                    + "currency pair per hour or day between from and to (inclusive). Answered from hourly rollups, so the "
+                    + "cost depends on the range, not on the number of conversions. Conversions appear once the rollups are "
+                    + "next flushed, after at most exchange.statistics.flush-interval."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Validation failed for request")
+    })
+    @GetMapping
+    public List<ConversionStatisticsResponse> getStatistics(@Valid ConversionStatisticsRequest request) {
+        return conversionStatisticsService.getStatistics(request);
+    }
+}
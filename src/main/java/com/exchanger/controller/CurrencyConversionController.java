@@ -4,11 +4,20 @@ package com.exchanger.controller;
 import com.exchanger.dto.requests.CurrencyConversionHistoryRequest;
 import com.exchanger.dto.requests.CurrencyConversionRequest;
 import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.requests.HistoricalConversionRequest;
+import com.exchanger.dto.requests.HistoryExportFormat;
+import com.exchanger.dto.requests.HistoryExportRequest;
 import com.exchanger.dto.responses.BulkConversionResponse;
 import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+import com.exchanger.dto.responses.CurrencyConversionHistoryWindow;
 import com.exchanger.dto.responses.CurrencyConversionResponse;
+import com.exchanger.dto.responses.HistoricalConversionResponse;
 import com.exchanger.dto.responses.SingleExchangeRateResponse;
 import com.exchanger.service.CurrencyConversionService;
+import com.exchanger.service.HistoryExportService;
+import com.exchanger.service.RateHistoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -18,22 +27,44 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
+@Observed(name = "exchange.controller")
 @RequestMapping("/api/v1/conversion")
 public class CurrencyConversionController {
 
     private final CurrencyConversionService currencyConversionService;
+    private final RateHistoryService rateHistoryService;
+    private final HistoryExportService historyExportService;
+    private final ObjectMapper objectMapper;
 
-    public CurrencyConversionController(CurrencyConversionService currencyConversionService) {
+    public CurrencyConversionController(CurrencyConversionService currencyConversionService,
+                                        RateHistoryService rateHistoryService,
+                                        HistoryExportService historyExportService,
+                                        ObjectMapper objectMapper) {
         this.currencyConversionService = currencyConversionService;
+        this.rateHistoryService = rateHistoryService;
+        this.historyExportService = historyExportService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(
@@ -48,10 +79,10 @@ public class CurrencyConversionController {
     @GetMapping("/exchange-rate")
     public ResponseEntity<SingleExchangeRateResponse> getExchangeRate(
             @Parameter(description = "Source currency code (e.g. USD)", example = "USD")
-            @RequestParam @NotBlank String source,
+            @RequestParam @NotBlank @Pattern(regexp = "[A-Za-z]{3}") String source,
 
             @Parameter(description = "Target currency code (e.g. EUR)", example = "EUR")
-            @RequestParam @NotBlank String target
+            @RequestParam @NotBlank @Pattern(regexp = "[A-Za-z]{3}") String target
     ) {
 
         ExchangeRateRequest request = new ExchangeRateRequest(source.toUpperCase(), List.of(target.toUpperCase()) );
@@ -60,6 +91,30 @@ public class CurrencyConversionController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Get a historical exchange rate",
+            description = "Returns the exchange rate in effect at the given instant, served from the locally recorded "
+                    + "provider responses without calling the provider."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful exchange rate retrieval"),
+            @ApiResponse(responseCode = "400", description = "Invalid input parameters"),
+            @ApiResponse(responseCode = "404", description = "No rate was recorded for the pair around that instant")
+    })
+    @GetMapping("/exchange-rate/history")
+    public ResponseEntity<SingleExchangeRateResponse> getHistoricalExchangeRate(
+            @Parameter(description = "Source currency code (e.g. USD)", example = "USD")
+            @RequestParam @NotBlank @Pattern(regexp = "[A-Za-z]{3}") String source,
+
+            @Parameter(description = "Target currency code (e.g. EUR)", example = "EUR")
+            @RequestParam @NotBlank @Pattern(regexp = "[A-Za-z]{3}") String target,
+
+            @Parameter(description = "Instant to look up (ISO-8601)", example = "2025-05-01T12:00:00Z")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at
+    ) {
+        return ResponseEntity.ok(rateHistoryService.findRate(source.toUpperCase(), target.toUpperCase(), at));
+    }
+
     @Operation(
             summary = "Convert currency amount",
             description = "Converts a given amount from source currency to target currency and returns the converted amount and transaction ID."
@@ -78,9 +133,46 @@ public class CurrencyConversionController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Convert currency amount without blocking",
+            description = "Same as the conversion endpoint, but the request thread is released while the exchange rate is fetched "
+                    + "and the conversion is saved, so many conversions can be in flight at once."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conversion successful",
+                    content = @Content(schema = @Schema(implementation = CurrencyConversionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+            @ApiResponse(responseCode = "502", description = "Failed to fetch exchange rate from external API", content = @Content)
+    })
+    @PostMapping("/reactive")
+    public Mono<ResponseEntity<CurrencyConversionResponse>> convertCurrencyReactive(
+            @RequestBody @Valid CurrencyConversionRequest request
+    ) {
+        return currencyConversionService.convertReactive(request).map(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Convert currency amount at a past instant",
+            description = "Converts at the exchange rate that was in effect at the given instant, resolved from the locally "
+                    + "recorded rates. The provider is not called and the conversion is not saved."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conversion successful",
+                    content = @Content(schema = @Schema(implementation = HistoricalConversionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+            @ApiResponse(responseCode = "404", description = "No rate was recorded for the pair around that instant", content = @Content)
+    })
+    @PostMapping("/historical")
+    public ResponseEntity<HistoricalConversionResponse> convertCurrencyAt(
+            @RequestBody @Valid HistoricalConversionRequest request
+    ) {
+        return ResponseEntity.ok(rateHistoryService.convertAt(request));
+    }
+
     @Operation(
             summary = "Get currency conversion history",
-            description = "Returns paginated conversion history filtered by transactionId or date. At least one must be provided."
+            description = "Returns paginated conversion history filtered by transactionId or date, and optionally by currency pair. "
+                    + "At least one of transactionId or date must be provided."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
@@ -94,6 +186,51 @@ public class CurrencyConversionController {
         return currencyConversionService.getHistory(request, pageable);
     }
 
+    @Operation(
+            summary = "Scroll through currency conversion history",
+            description = "Returns conversion history filtered by transactionId or date, and optionally by currency pair, "
+                    + "in transaction date order. Pass the returned nextCursor to get the following page; every page costs "
+                    + "the same no matter how deep it is. The total is only counted when includeTotal is set."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Validation failed for request or invalid cursor"),
+    })
+    @GetMapping("/history/scroll")
+    public CurrencyConversionHistoryWindow scrollConversionHistory(
+            @Valid CurrencyConversionHistoryRequest request,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 1000", example = "50")
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Whether to count all matching conversions")
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return currencyConversionService.scrollHistory(request, cursor, size, includeTotal);
+    }
+
+    @Operation(
+            summary = "Export currency conversion history",
+            description = "Streams every conversion between from and to (inclusive), optionally for one currency pair, as CSV "
+                    + "or NDJSON in transaction date order. The response is written while rows are read from the database, "
+                    + "so any range can be exported in one request; it is gzip-compressed when the client accepts it."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export is streamed",
+                    content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}),
+            @ApiResponse(responseCode = "400", description = "Validation failed for request")
+    })
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportConversionHistory(@Valid HistoryExportRequest request) {
+        HistoryExportFormat format = request.exportFormat();
+        String filename = "conversions-" + request.from() + "-" + request.to() + "." + format.fileExtension();
+        StreamingResponseBody body = outputStream -> historyExportService.export(request, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @Operation(
             summary = "Process bulk currency conversions from CSV",
             description = "Uploads a CSV file containing multiple currency conversion requests and returns the results."
@@ -112,4 +249,39 @@ public class CurrencyConversionController {
         List<BulkConversionResponse> responses = currencyConversionService.processCsvFile(file);
         return ResponseEntity.ok(responses);
     }
+
+    @Operation(
+            summary = "Stream bulk currency conversions from CSV",
+            description = "Uploads a CSV file and streams one JSON result per row (NDJSON) as the file is processed. "
+                    + "Rows are converted and persisted in chunks, so memory use does not grow with the file size."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Results are streamed in row order",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = BulkConversionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid file or format")
+    })
+    @PostMapping(value = "/bulk-conversion/stream", consumes = "multipart/form-data", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamBulkFile(
+            @Parameter(description = "CSV file containing conversion requests", required = true)
+            @RequestPart("file") MultipartFile file
+    ) {
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream csv = file.getInputStream()) {
+                currencyConversionService.processCsvStream(csv, response -> writeLine(outputStream, response));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.exchanger.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public record ConversionStatisticsRequest(
+        @Schema(example = "USD", description = "Source currency code")
+        @NotBlank(message = "Source currency must not be blank")
+        String sourceCurrency,
+
+        @Schema(example = "EUR", description = "Target currency code")
+        @NotBlank(message = "Target currency must not be blank")
+        String targetCurrency,
+
+        @Schema(example = "2025-05-01", description = "First day to aggregate")
+        @NotNull(message = "from must be provided")
+        LocalDate from,
+
+        @Schema(example = "2025-05-31", description = "Last day to aggregate, inclusive")
+        @NotNull(message = "to must be provided")
+        LocalDate to,
+
+        @Schema(example = "day", allowableValues = {"hour", "day"}, defaultValue = "day")
+        @Pattern(regexp = "(?i)hour|day", message = "granularity must be hour or day")
+        String granularity
+) {
+    private static final int MAX_DAYS = 366;
+
+    @AssertTrue(message = "from must not be after to, and the range must not exceed 366 days.")
+    public boolean isRangeValid() {
+        return from == null || to == null || (!from.isAfter(to) && ChronoUnit.DAYS.between(from, to) < MAX_DAYS);
+    }
+
+    public ChronoUnit granularityUnit() {
+        return granularity != null && granularity.equalsIgnoreCase("hour") ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+    }
+}
@@ -11,10 +11,25 @@ public record CurrencyConversionHistoryRequest(
         UUID transactionId,
 
         @Schema(example = "2025-05-18")
-        LocalDate date
+        LocalDate date,
+
+        @Schema(example = "USD", description = "Only conversions from this currency; requires targetCurrency")
+        String sourceCurrency,
+
+        @Schema(example = "EUR", description = "Only conversions to this currency; requires sourceCurrency")
+        String targetCurrency
 ) {
+    public CurrencyConversionHistoryRequest(UUID transactionId, LocalDate date) {
+        this(transactionId, date, null, null);
+    }
+
     @AssertTrue(message = "At least one of transactionId or date must be provided.")
     public boolean isAtLeastOneProvided() {
         return transactionId != null || date != null;
     }
+
+    @AssertTrue(message = "sourceCurrency and targetCurrency must be provided together.")
+    public boolean isPairComplete() {
+        return (sourceCurrency == null) == (targetCurrency == null);
+    }
 }
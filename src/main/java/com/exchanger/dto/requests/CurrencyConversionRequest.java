@@ -3,6 +3,7 @@ package com.exchanger.dto.requests;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import java.math.BigDecimal;
 
 public record CurrencyConversionRequest(
@@ -13,10 +14,12 @@ public record CurrencyConversionRequest(
 
         @Schema(example = "USD", description = "Source currency code")
         @NotBlank(message = "Source currency must not be blank")
+        @Pattern(regexp = "[A-Za-z]{3}", message = "Source currency must be a three-letter ISO 4217 code")
         String sourceCurrency,
 
         @Schema(example = "TRY", description = "Target currency code")
         @NotBlank(message = "Target currency must not be blank")
+        @Pattern(regexp = "[A-Za-z]{3}", message = "Target currency must be a three-letter ISO 4217 code")
         String targetCurrency
 
 ) {}
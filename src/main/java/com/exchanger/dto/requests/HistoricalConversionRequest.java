@@ -0,0 +1,32 @@
+package com.exchanger.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record HistoricalConversionRequest(
+
+        @Schema(example = "100.00", description = "Amount to convert")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than zero")
+        BigDecimal amount,
+
+        @Schema(example = "USD", description = "Source currency code")
+        @NotBlank(message = "Source currency must not be blank")
+        @Pattern(regexp = "[A-Za-z]{3}", message = "Source currency must be a three-letter ISO 4217 code")
+        String sourceCurrency,
+
+        @Schema(example = "TRY", description = "Target currency code")
+        @NotBlank(message = "Target currency must not be blank")
+        @Pattern(regexp = "[A-Za-z]{3}", message = "Target currency must be a three-letter ISO 4217 code")
+        String targetCurrency,
+
+        @Schema(example = "2025-05-01T12:00:00Z", description = "Instant whose exchange rate is applied")
+        @NotNull(message = "Conversion instant must not be null")
+        Instant at
+
+) {}
@@ -0,0 +1,42 @@
+package com.exchanger.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDate;
+
+public record HistoryExportRequest(
+        @Schema(example = "2025-05-01", description = "First day to export")
+        @NotNull(message = "from must be provided")
+        LocalDate from,
+
+        @Schema(example = "2025-05-31", description = "Last day to export, inclusive")
+        @NotNull(message = "to must be provided")
+        LocalDate to,
+
+        @Schema(example = "USD", description = "Only conversions from this currency; requires targetCurrency")
+        String sourceCurrency,
+
+        @Schema(example = "EUR", description = "Only conversions to this currency; requires sourceCurrency")
+        String targetCurrency,
+
+        @Schema(example = "csv", allowableValues = {"csv", "ndjson"}, defaultValue = "csv")
+        @Pattern(regexp = "(?i)csv|ndjson", message = "format must be csv or ndjson")
+        String format
+) {
+    @AssertTrue(message = "from must not be after to.")
+    public boolean isRangeOrdered() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+
+    @AssertTrue(message = "sourceCurrency and targetCurrency must be provided together.")
+    public boolean isPairComplete() {
+        return (sourceCurrency == null) == (targetCurrency == null);
+    }
+
+    public HistoryExportFormat exportFormat() {
+        return format == null ? HistoryExportFormat.CSV : HistoryExportFormat.valueOf(format.toUpperCase());
+    }
+}
@@ -0,0 +1,19 @@
+package com.exchanger.dto.responses;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BulkConversionJobResponse(
+        UUID jobId,
+        BulkConversionJobStatus status,
+        String fileName,
+        long rowsParsed,
+        long rowsConverted,
+        long rowsFailed,
+        long bytesRead,
+        long totalBytes,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String errorMessage
+) {}
@@ -0,0 +1,13 @@
+package com.exchanger.dto.responses;
+
+public enum BulkConversionJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
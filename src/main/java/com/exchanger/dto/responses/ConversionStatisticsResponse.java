@@ -0,0 +1,16 @@
+package com.exchanger.dto.responses;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ConversionStatisticsResponse(
+        String sourceCurrency,
+        String targetCurrency,
+        LocalDateTime periodStart,
+        long conversionCount,
+        BigDecimal sourceVolume,
+        BigDecimal convertedVolume,
+        BigDecimal minRate,
+        BigDecimal maxRate,
+        BigDecimal averageRate
+) {}
@@ -0,0 +1,13 @@
+package com.exchanger.dto.responses;
+
+import java.util.List;
+
+/**
+ * One keyset page of the conversion history. {@code nextCursor} is {@code null} on the last page and
+ * {@code totalElements} is only computed when requested.
+ */
+public record CurrencyConversionHistoryWindow(
+        List<CurrencyConversionHistoryResponse> content,
+        String nextCursor,
+        Long totalElements
+) {}
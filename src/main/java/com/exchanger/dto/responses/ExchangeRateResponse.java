@@ -1,9 +1,15 @@
 package com.exchanger.dto.responses;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Map;
 
 public record ExchangeRateResponse(
         String sourceCurrency,
-        Map<String, BigDecimal> rates
-) {}
+        Map<String, BigDecimal> rates,
+        Instant timestamp
+) {
+    public ExchangeRateResponse(String sourceCurrency, Map<String, BigDecimal> rates) {
+        this(sourceCurrency, rates, null);
+    }
+}
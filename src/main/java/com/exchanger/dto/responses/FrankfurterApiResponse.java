@@ -0,0 +1,12 @@
+package com.exchanger.dto.responses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public record FrankfurterApiResponse(
+        BigDecimal amount,
+        String base,
+        LocalDate date,
+        Map<String, BigDecimal> rates
+) {}
@@ -0,0 +1,13 @@
+package com.exchanger.dto.responses;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record HistoricalConversionResponse(
+        String sourceCurrency,
+        String targetCurrency,
+        BigDecimal sourceAmount,
+        BigDecimal convertedAmount,
+        BigDecimal exchangeRate,
+        Instant rateTimestamp
+) {}
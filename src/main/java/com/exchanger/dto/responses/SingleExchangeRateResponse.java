@@ -1,9 +1,11 @@
 package com.exchanger.dto.responses;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public record SingleExchangeRateResponse(
         String sourceCurrency,
         String targetCurrency,
-        BigDecimal exchangeRate
+        BigDecimal exchangeRate,
+        Instant timestamp
 ) {}
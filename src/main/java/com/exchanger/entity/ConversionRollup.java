@@ -0,0 +1,120 @@
+package com.exchanger.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated conversions of one currency pair within one hour. Rows are only ever merged with
+ * newer deltas, never recomputed from {@link CurrencyConversion}.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_conversion_rollup_pair_hour",
+        columnNames = {"sourceCurrency", "targetCurrency", "bucketStart"}))
+public class ConversionRollup {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Version
+    private long version;
+
+    @Column(nullable = false)
+    private String sourceCurrency;
+
+    @Column(nullable = false)
+    private String targetCurrency;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    private long conversionCount;
+
+    @Column(precision = 38, scale = 4)
+    private BigDecimal sourceVolume;
+
+    @Column(precision = 38, scale = 4)
+    private BigDecimal convertedVolume;
+
+    @Column(precision = 38, scale = 18)
+    private BigDecimal rateSum;
+
+    @Column(precision = 38, scale = 18)
+    private BigDecimal minRate;
+
+    @Column(precision = 38, scale = 18)
+    private BigDecimal maxRate;
+
+    public ConversionRollup() {
+    }
+
+    public ConversionRollup(String sourceCurrency, String targetCurrency, LocalDateTime bucketStart, long conversionCount,
+                            BigDecimal sourceVolume, BigDecimal convertedVolume, BigDecimal rateSum,
+                            BigDecimal minRate, BigDecimal maxRate) {
+        this.sourceCurrency = sourceCurrency;
+        this.targetCurrency = targetCurrency;
+        this.bucketStart = bucketStart;
+        this.conversionCount = conversionCount;
+        this.sourceVolume = sourceVolume;
+        this.convertedVolume = convertedVolume;
+        this.rateSum = rateSum;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+    }
+
+    /**
+     * Adds the conversions counted in {@code delta}, which must be for the same pair and hour.
+     */
+    public void merge(ConversionRollup delta) {
+        conversionCount += delta.conversionCount;
+        sourceVolume = sourceVolume.add(delta.sourceVolume);
+        convertedVolume = convertedVolume.add(delta.convertedVolume);
+        rateSum = rateSum.add(delta.rateSum);
+        minRate = minRate == null || (delta.minRate != null && delta.minRate.compareTo(minRate) < 0) ? delta.minRate : minRate;
+        maxRate = maxRate == null || (delta.maxRate != null && delta.maxRate.compareTo(maxRate) > 0) ? delta.maxRate : maxRate;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getSourceCurrency() {
+        return sourceCurrency;
+    }
+
+    public String getTargetCurrency() {
+        return targetCurrency;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getConversionCount() {
+        return conversionCount;
+    }
+
+    public BigDecimal getSourceVolume() {
+        return sourceVolume;
+    }
+
+    public BigDecimal getConvertedVolume() {
+        return convertedVolume;
+    }
+
+    public BigDecimal getRateSum() {
+        return rateSum;
+    }
+
+    public BigDecimal getMinRate() {
+        return minRate;
+    }
+
+    public BigDecimal getMaxRate() {
+        return maxRate;
+    }
+}
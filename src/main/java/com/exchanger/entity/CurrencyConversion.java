@@ -1,25 +1,35 @@
 package com.exchanger.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_currency_conversion_date_id", columnList = "transactionDate, id"),
+        @Index(name = "idx_currency_conversion_pair_date_id", columnList = "sourceCurrency, targetCurrency, transactionDate, id")
+})
 public class CurrencyConversion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     private String sourceCurrency;
     private String targetCurrency;
 
+    @Column(precision = 38, scale = 4)
     private BigDecimal sourceAmount;
+    @Column(precision = 38, scale = 4)
     private BigDecimal convertedAmount;
+    @Column(precision = 38, scale = 18)
     private BigDecimal exchangeRate;
 
+    @Column(nullable = false)
     private LocalDateTime transactionDate;
 
     public CurrencyConversion() {
@@ -0,0 +1,69 @@
+package com.exchanger.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Rates of one base currency as returned by one provider fetch. The quotes are stored as a single
+ * compact binary column rather than one row per pair; see {@code RateSnapshotCodec}.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_rate_snapshot_base_quoted_at", columnList = "baseCurrency, quotedAt"))
+public class RateSnapshot {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(length = 3, nullable = false)
+    private String baseCurrency;
+
+    @Column(nullable = false)
+    private Instant quotedAt;
+
+    @Column(nullable = false)
+    private Instant fetchedAt;
+
+    private int quoteCount;
+
+    @Column(length = 65535, nullable = false)
+    private byte[] rates;
+
+    public RateSnapshot() {
+    }
+
+    public RateSnapshot(String baseCurrency, Instant quotedAt, Instant fetchedAt, int quoteCount, byte[] rates) {
+        this.baseCurrency = baseCurrency;
+        this.quotedAt = quotedAt;
+        this.fetchedAt = fetchedAt;
+        this.quoteCount = quoteCount;
+        this.rates = rates;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public Instant getQuotedAt() {
+        return quotedAt;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public int getQuoteCount() {
+        return quoteCount;
+    }
+
+    public byte[] getRates() {
+        return rates;
+    }
+}
@@ -0,0 +1,9 @@
+package com.exchanger.exception;
+
+import java.util.UUID;
+
+public class BulkJobNotFoundException extends RuntimeException {
+    public BulkJobNotFoundException(UUID jobId) {
+        super("Bulk conversion job not found: " + jobId);
+    }
+}
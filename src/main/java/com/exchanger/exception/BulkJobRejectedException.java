@@ -0,0 +1,11 @@
+package com.exchanger.exception;
+
+public class BulkJobRejectedException extends RuntimeException {
+    public BulkJobRejectedException(String message) {
+        super(message);
+    }
+
+    public BulkJobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -28,6 +28,42 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity
+                .badRequest()
+                .body(new ApiErrorResponse(
+                        400,
+                        ex.getMessage(),
+                        "INVALID_CURSOR",
+                        LocalDateTime.now()
+                ));
+    }
+
+    @ExceptionHandler(InvalidAmountException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidAmountException(InvalidAmountException ex) {
+        return ResponseEntity
+                .badRequest()
+                .body(new ApiErrorResponse(
+                        400,
+                        ex.getMessage(),
+                        "INVALID_AMOUNT",
+                        LocalDateTime.now()
+                ));
+    }
+
+    @ExceptionHandler(UnsupportedCurrencyException.class)
+    public ResponseEntity<ApiErrorResponse> handleUnsupportedCurrencyException(UnsupportedCurrencyException ex) {
+        return ResponseEntity
+                .badRequest()
+                .body(new ApiErrorResponse(
+                        400,
+                        ex.getMessage(),
+                        "UNSUPPORTED_CURRENCY",
+                        LocalDateTime.now()
+                ));
+    }
+
     @ExceptionHandler(ExternalApiException.class)
     public ResponseEntity<ApiErrorResponse> handleExternalApiException(ExternalApiException ex) {
         return ResponseEntity
@@ -40,6 +76,42 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(BulkJobNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleBulkJobNotFoundException(BulkJobNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ApiErrorResponse(
+                        404,
+                        ex.getMessage(),
+                        "BULK_JOB_NOT_FOUND",
+                        LocalDateTime.now()
+                ));
+    }
+
+    @ExceptionHandler(RateHistoryNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleRateHistoryNotFoundException(RateHistoryNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ApiErrorResponse(
+                        404,
+                        ex.getMessage(),
+                        "RATE_NOT_FOUND",
+                        LocalDateTime.now()
+                ));
+    }
+
+    @ExceptionHandler(BulkJobRejectedException.class)
+    public ResponseEntity<ApiErrorResponse> handleBulkJobRejectedException(BulkJobRejectedException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiErrorResponse(
+                        503,
+                        ex.getMessage(),
+                        "BULK_JOB_REJECTED",
+                        LocalDateTime.now()
+                ));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiErrorResponse> handleRuntimeException(RuntimeException ex) {
         return ResponseEntity
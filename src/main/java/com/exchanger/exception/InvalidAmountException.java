@@ -0,0 +1,9 @@
+package com.exchanger.exception;
+
+import java.math.BigDecimal;
+
+public class InvalidAmountException extends RuntimeException {
+    public InvalidAmountException(BigDecimal amount, String currency, int scale) {
+        super("Amount " + amount.toPlainString() + " has more than " + scale + " decimals, the minor unit of " + currency);
+    }
+}
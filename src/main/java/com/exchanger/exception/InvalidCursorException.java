@@ -0,0 +1,7 @@
+package com.exchanger.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid history cursor: " + cursor);
+    }
+}
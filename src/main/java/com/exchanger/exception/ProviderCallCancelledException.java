@@ -0,0 +1,12 @@
+package com.exchanger.exception;
+
+/**
+ * Thrown when a provider call is abandoned because its thread was interrupted, for example when a
+ * hedged call lost to another provider. It says nothing about the provider's health, so it does
+ * not count as a provider failure.
+ */
+public class ProviderCallCancelledException extends ExternalApiException {
+    public ProviderCallCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
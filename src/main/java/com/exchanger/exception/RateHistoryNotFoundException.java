@@ -0,0 +1,9 @@
+package com.exchanger.exception;
+
+import java.time.Instant;
+
+public class RateHistoryNotFoundException extends RuntimeException {
+    public RateHistoryNotFoundException(String source, String target, Instant at) {
+        super("No recorded exchange rate for " + source + "_" + target + " at " + at);
+    }
+}
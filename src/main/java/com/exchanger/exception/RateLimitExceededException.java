@@ -0,0 +1,11 @@
+package com.exchanger.exception;
+
+/**
+ * Thrown when a provider call is refused by our own rate limiter. It says nothing about the
+ * provider's health, so it does not count as a provider failure.
+ */
+public class RateLimitExceededException extends ExternalApiException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.exchanger.exception;
+
+/**
+ * Thrown when a provider rejects a currency code of the request. The provider answered, so it does
+ * not count as a provider failure.
+ */
+public class UnsupportedCurrencyException extends ExternalApiException {
+    public UnsupportedCurrencyException(String message) {
+        super(message);
+    }
+
+    public UnsupportedCurrencyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,19 +2,21 @@ package com.exchanger.mapper;
 
 import com.exchanger.dto.requests.CurrencyConversionRequest;
 import com.exchanger.entity.CurrencyConversion;
+import com.exchanger.money.MoneyMath;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.math.BigDecimal;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = MoneyMath.class)
 public interface CurrencyConversionMapper {
 
     CurrencyConversionMapper INSTANCE = Mappers.getMapper(CurrencyConversionMapper.class);
 
-    @Mapping(target = "convertedAmount", expression = "java(request.amount().multiply(rate))")
-    @Mapping(target = "exchangeRate", source = "rate")
-    @Mapping(target = "sourceAmount", source = "request.amount")
+    @Mapping(target = "convertedAmount", expression =
+            "java(MoneyMath.convert(request.amount(), request.sourceCurrency(), rate, request.targetCurrency()))")
+    @Mapping(target = "exchangeRate", expression = "java(MoneyMath.roundRate(rate))")
+    @Mapping(target = "sourceAmount", expression = "java(MoneyMath.roundAmount(request.amount(), request.sourceCurrency()))")
     CurrencyConversion toEntity(CurrencyConversionRequest request, BigDecimal rate);
 }
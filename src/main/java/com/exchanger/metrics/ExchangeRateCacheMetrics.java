@@ -0,0 +1,43 @@
+package com.exchanger.metrics;
+
+import com.exchanger.client.support.CachingExchangeRateClient;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the exchange rate cache with Micrometer's cache meter names ({@code cache.gets},
+ * {@code cache.size}), so the usual hit ratio dashboards work, plus the responses served stale
+ * during provider failures.
+ */
+public class ExchangeRateCacheMetrics implements MeterBinder {
+
+    private static final String CACHE = "exchangeRates";
+
+    private final CachingExchangeRateClient cache;
+
+    public ExchangeRateCacheMetrics(CachingExchangeRateClient cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, CachingExchangeRateClient::hitCount)
+                .description("Exchange rate lookups answered from the cache")
+                .tags("cache", CACHE, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, CachingExchangeRateClient::missCount)
+                .description("Exchange rate lookups that went to the provider")
+                .tags("cache", CACHE, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("exchange.cache.stale-served", cache, CachingExchangeRateClient::staleServedCount)
+                .description("Lookups answered with stale rates because the provider failed")
+                .tag("cache", CACHE)
+                .register(registry);
+        Gauge.builder("cache.size", cache, CachingExchangeRateClient::size)
+                .description("Source currencies in the exchange rate cache")
+                .tag("cache", CACHE)
+                .register(registry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.exchanger.metrics;
+
+import com.exchanger.client.support.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the provider quota held by a {@link TokenBucketRateLimiter}: permits granted and rejected
+ * since startup, and the permits available right now.
+ */
+public class RateLimiterMetrics implements MeterBinder {
+
+    private final String provider;
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public RateLimiterMetrics(String provider, TokenBucketRateLimiter rateLimiter) {
+        this.provider = provider;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("exchange.rate-limit.permits", rateLimiter, TokenBucketRateLimiter::grantedPermits)
+                .description("Provider permits requested from the rate limiter")
+                .tags("provider", provider, "result", "granted")
+                .register(registry);
+        FunctionCounter.builder("exchange.rate-limit.permits", rateLimiter, TokenBucketRateLimiter::rejectedPermits)
+                .description("Provider permits requested from the rate limiter")
+                .tags("provider", provider, "result", "rejected")
+                .register(registry);
+        Gauge.builder("exchange.rate-limit.available-permits", rateLimiter, TokenBucketRateLimiter::availablePermits)
+                .description("Provider permits that can be taken without waiting")
+                .tag("provider", provider)
+                .register(registry);
+    }
+}
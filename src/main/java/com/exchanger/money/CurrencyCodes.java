@@ -0,0 +1,46 @@
+package com.exchanger.money;
+
+/**
+ * Packs three-letter currency codes into dense integers, so lookups by code can index an array
+ * instead of hashing a string. Slots are the letters read in base 26, {@code AAA} = 0 and
+ * {@code ZZZ} = {@link #SLOTS} - 1.
+ */
+public final class CurrencyCodes {
+
+    private static final int ALPHABET = 26;
+
+    public static final int SLOTS = ALPHABET * ALPHABET * ALPHABET;
+
+    private CurrencyCodes() {
+    }
+
+    /**
+     * Returns the slot of a code of three letters {@code A-Z}, or -1 for anything else.
+     */
+    public static int slot(String currency) {
+        if (currency == null || currency.length() != 3) {
+            return -1;
+        }
+        int slot = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = currency.charAt(i) - 'A';
+            if (letter < 0 || letter >= ALPHABET) {
+                return -1;
+            }
+            slot = slot * ALPHABET + letter;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the code packed into {@code slot}.
+     */
+    public static String code(int slot) {
+        char[] letters = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            letters[i] = (char) ('A' + slot % ALPHABET);
+            slot /= ALPHABET;
+        }
+        return new String(letters);
+    }
+}
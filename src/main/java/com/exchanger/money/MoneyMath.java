@@ -0,0 +1,87 @@
+package com.exchanger.money;
+
+import com.exchanger.exception.InvalidAmountException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Currency;
+
+/**
+ * Fixed-point arithmetic for conversions.
+ * <p>
+ * Amounts are rounded to the minor unit of their currency (2 decimals for USD, 0 for JPY, 3 for
+ * KWD) and rates to 10 significant digits, both half-even. A converted amount is the rounded source
+ * amount times the rounded rate, rounded to the target currency, so it can be reproduced from the
+ * stored columns. With bounded scales the operands stay within 18 digits, where {@link BigDecimal}
+ * computes on its unscaled {@code long} and a conversion allocates little more than its result.
+ */
+public final class MoneyMath {
+
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+    public static final MathContext RATE_CONTEXT = new MathContext(10, ROUNDING);
+
+    /**
+     * Scale of codes the JDK does not know, and of those without a minor unit such as XAU.
+     */
+    static final int DEFAULT_SCALE = 2;
+
+    private static final byte[] SCALE_BY_SLOT = scaleBySlot();
+
+    private MoneyMath() {
+    }
+
+    /**
+     * Returns the number of decimals of {@code currency}'s minor unit.
+     */
+    public static int scale(String currency) {
+        int slot = CurrencyCodes.slot(currency);
+        return slot < 0 ? DEFAULT_SCALE : SCALE_BY_SLOT[slot];
+    }
+
+    /**
+     * Returns {@code amount} if it is a whole number of {@code currency}'s minor units, so rounding
+     * it loses nothing. Trailing zeros do not count: 1.500 USD is accepted, 0.001 USD and 0.4 JPY
+     * are not.
+     *
+     * @throws InvalidAmountException if the amount has more decimals than the minor unit
+     */
+    public static BigDecimal requireMinorUnits(BigDecimal amount, String currency) {
+        int scale = scale(currency);
+        if (amount.scale() > scale && amount.stripTrailingZeros().scale() > scale) {
+            throw new InvalidAmountException(amount, currency, scale);
+        }
+        return amount;
+    }
+
+    public static BigDecimal roundAmount(BigDecimal amount, String currency) {
+        return amount.setScale(scale(currency), ROUNDING);
+    }
+
+    public static BigDecimal roundRate(BigDecimal rate) {
+        return rate.round(RATE_CONTEXT);
+    }
+
+    /**
+     * Converts {@code amount} of {@code sourceCurrency} into {@code targetCurrency} at {@code rate}.
+     */
+    public static BigDecimal convert(BigDecimal amount, String sourceCurrency, BigDecimal rate, String targetCurrency) {
+        return roundAmount(amount, sourceCurrency)
+                .multiply(roundRate(rate))
+                .setScale(scale(targetCurrency), ROUNDING);
+    }
+
+    private static byte[] scaleBySlot() {
+        byte[] scales = new byte[CurrencyCodes.SLOTS];
+        Arrays.fill(scales, (byte) DEFAULT_SCALE);
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int slot = CurrencyCodes.slot(currency.getCurrencyCode());
+            int digits = currency.getDefaultFractionDigits();
+            if (slot >= 0 && digits >= 0) {
+                scales[slot] = (byte) digits;
+            }
+        }
+        return scales;
+    }
+}
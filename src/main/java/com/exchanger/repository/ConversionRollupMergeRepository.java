@@ -0,0 +1,15 @@
+package com.exchanger.repository;
+
+import com.exchanger.entity.ConversionRollup;
+
+import java.util.Collection;
+
+public interface ConversionRollupMergeRepository {
+
+    /**
+     * Merges each delta into the stored rollup of its pair and hour, creating missing rollups, in one
+     * transaction. Concurrent merges of the same rollup from another instance fail the whole call
+     * with an optimistic locking exception rather than losing counts.
+     */
+    void mergeAll(Collection<ConversionRollup> deltas);
+}
@@ -0,0 +1,35 @@
+package com.exchanger.repository;
+
+import com.exchanger.entity.ConversionRollup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public class ConversionRollupMergeRepositoryImpl implements ConversionRollupMergeRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void mergeAll(Collection<ConversionRollup> deltas) {
+        for (ConversionRollup delta : deltas) {
+            List<ConversionRollup> existing = entityManager.createQuery("""
+                            select r from ConversionRollup r
+                            where r.sourceCurrency = :sourceCurrency and r.targetCurrency = :targetCurrency
+                              and r.bucketStart = :bucketStart""", ConversionRollup.class)
+                    .setParameter("sourceCurrency", delta.getSourceCurrency())
+                    .setParameter("targetCurrency", delta.getTargetCurrency())
+                    .setParameter("bucketStart", delta.getBucketStart())
+                    .getResultList();
+            if (existing.isEmpty()) {
+                entityManager.persist(delta);
+            } else {
+                existing.getFirst().merge(delta);
+            }
+        }
+    }
+}
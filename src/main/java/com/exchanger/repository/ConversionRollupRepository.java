@@ -0,0 +1,22 @@
+package com.exchanger.repository;
+
+import com.exchanger.entity.ConversionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ConversionRollupRepository extends JpaRepository<ConversionRollup, UUID>, ConversionRollupMergeRepository {
+
+    /**
+     * Returns the hourly rollups of one pair whose hour starts in {@code [from, to)}, oldest first.
+     */
+    @Query("""
+            select r from ConversionRollup r
+            where r.sourceCurrency = :sourceCurrency and r.targetCurrency = :targetCurrency
+              and r.bucketStart >= :from and r.bucketStart < :to
+            order by r.bucketStart""")
+    List<ConversionRollup> findRollups(String sourceCurrency, String targetCurrency, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,17 @@
+package com.exchanger.repository;
+
+import com.exchanger.entity.CurrencyConversion;
+
+import java.util.List;
+
+/**
+ * Insert path for bulk conversions, which only ever writes new rows.
+ */
+public interface CurrencyConversionBulkRepository {
+
+    /**
+     * Inserts the given new conversions in one transaction and returns them with their ids assigned,
+     * in the same order. Returned entities are detached.
+     */
+    List<CurrencyConversion> insertAll(List<CurrencyConversion> conversions);
+}
@@ -0,0 +1,111 @@
+package com.exchanger.repository;
+
+import com.exchanger.entity.CurrencyConversion;
+import com.exchanger.entity.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes bulk conversions either through JPA or, with {@code exchange.bulk.writer=copy}, with a
+ * PostgreSQL {@code COPY ... FROM STDIN}.
+ * <p>
+ * The JPA writer persists rows in groups of {@code hibernate.jdbc.batch_size}, flushing and clearing
+ * the persistence context after each group, so Hibernate sends batched inserts and the session does
+ * not grow with the job. The COPY writer assigns the ids itself and streams the rows as CSV, which
+ * skips per-statement overhead entirely for very large jobs.
+ */
+public class CurrencyConversionBulkRepositoryImpl implements CurrencyConversionBulkRepository {
+
+    private static final String COPY_SQL = "COPY currency_conversion "
+            + "(id, source_currency, target_currency, source_amount, converted_amount, exchange_rate, transaction_date) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final boolean useCopy;
+    private final int batchSize;
+
+    public CurrencyConversionBulkRepositoryImpl(
+            @Value("${exchange.bulk.writer:jpa}") String writer,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize
+    ) {
+        if (!writer.equalsIgnoreCase("jpa") && !writer.equalsIgnoreCase("copy")) {
+            throw new IllegalArgumentException("Unknown bulk writer: " + writer);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("JDBC batch size must be at least 1");
+        }
+        this.useCopy = writer.equalsIgnoreCase("copy");
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public List<CurrencyConversion> insertAll(List<CurrencyConversion> conversions) {
+        if (useCopy) {
+            copy(conversions);
+        } else {
+            persist(conversions);
+        }
+        return conversions;
+    }
+
+    private void persist(List<CurrencyConversion> conversions) {
+        for (int i = 0; i < conversions.size(); i++) {
+            entityManager.persist(conversions.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void copy(List<CurrencyConversion> conversions) {
+        StringBuilder csv = new StringBuilder(conversions.size() * 96);
+        for (CurrencyConversion conversion : conversions) {
+            conversion.setId(UuidV7Generator.next());
+            csv.append(conversion.getId()).append(',');
+            appendText(csv, conversion.getSourceCurrency()).append(',');
+            appendText(csv, conversion.getTargetCurrency()).append(',');
+            appendNumber(csv, conversion.getSourceAmount()).append(',');
+            appendNumber(csv, conversion.getConvertedAmount()).append(',');
+            appendNumber(csv, conversion.getExchangeRate()).append(',');
+            csv.append(conversion.getTransactionDate()).append('\n');
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new SQLException("The COPY bulk writer requires a PostgreSQL database");
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Failed to stream rows to COPY", e);
+            }
+        });
+    }
+
+    private static StringBuilder appendText(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendNumber(StringBuilder csv, BigDecimal value) {
+        return value == null ? csv : csv.append(value.toPlainString());
+    }
+}
@@ -0,0 +1,38 @@
+package com.exchanger.repository;
+
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keyset-paginated reads of the conversion history within a time range, optionally for one
+ * currency pair. Both currencies are {@code null} for all pairs.
+ * <p>
+ * History reads select straight into {@link CurrencyConversionHistoryResponse} with a constructor
+ * expression, so no entity is hydrated, put into the persistence context or dirty-checked.
+ */
+public interface CurrencyConversionHistoryRepository {
+
+    String HISTORY_SELECT = "select new com.exchanger.dto.responses.CurrencyConversionHistoryResponse("
+            + "c.id, c.sourceCurrency, c.targetCurrency, c.sourceAmount, c.convertedAmount, c.exchangeRate, c.transactionDate)"
+            + " from CurrencyConversion c";
+
+    /**
+     * Returns up to {@code limit} conversions in {@code [start, end)} ordered by
+     * {@code (transactionDate, id)}, starting right after {@code after}, or at the beginning of the
+     * range if it is {@code null}. The cost depends on {@code limit}, not on how deep the page is.
+     */
+    List<CurrencyConversionHistoryResponse> findSlice(LocalDateTime start, LocalDateTime end, String sourceCurrency,
+                                                      String targetCurrency, HistoryCursor after, int limit);
+
+    /**
+     * Streams every conversion in {@code [start, end)} in {@code (transactionDate, id)} order over a
+     * server-side cursor. Must be consumed and closed inside a transaction.
+     */
+    Stream<CurrencyConversionHistoryResponse> streamRange(LocalDateTime start, LocalDateTime end,
+                                                         String sourceCurrency, String targetCurrency);
+
+    long countInRange(LocalDateTime start, LocalDateTime end, String sourceCurrency, String targetCurrency);
+}
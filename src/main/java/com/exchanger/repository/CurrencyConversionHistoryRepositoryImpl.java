@@ -0,0 +1,93 @@
+package com.exchanger.repository;
+
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Builds the history queries so that each one matches an index exactly: {@code (transactionDate, id)}
+ * for all pairs and {@code (sourceCurrency, targetCurrency, transactionDate, id)} for one pair. The
+ * seek predicate is spelled out as {@code date > d or (date = d and id > i)}, which every database
+ * can turn into an index range scan.
+ * <p>
+ * Exports stream the rows with a fetch size of {@code exchange.history.export.fetch-size}, so the
+ * driver keeps only that many rows in memory however long the range is.
+ */
+public class CurrencyConversionHistoryRepositoryImpl implements CurrencyConversionHistoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int exportFetchSize;
+
+    public CurrencyConversionHistoryRepositoryImpl(@Value("${exchange.history.export.fetch-size:1000}") int exportFetchSize) {
+        if (exportFetchSize < 1) {
+            throw new IllegalArgumentException("Export fetch size must be at least 1");
+        }
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    @Override
+    public List<CurrencyConversionHistoryResponse> findSlice(LocalDateTime start, LocalDateTime end, String sourceCurrency,
+                                                             String targetCurrency, HistoryCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(HISTORY_SELECT)
+                .append(where(sourceCurrency));
+        if (after != null) {
+            jpql.append(" and (c.transactionDate > :afterDate or (c.transactionDate = :afterDate and c.id > :afterId))");
+        }
+        jpql.append(" order by c.transactionDate, c.id");
+
+        TypedQuery<CurrencyConversionHistoryResponse> query =
+                entityManager.createQuery(jpql.toString(), CurrencyConversionHistoryResponse.class);
+        bind(query, start, end, sourceCurrency, targetCurrency);
+        if (after != null) {
+            query.setParameter("afterDate", after.transactionDate());
+            query.setParameter("afterId", after.id());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<CurrencyConversionHistoryResponse> streamRange(LocalDateTime start, LocalDateTime end,
+                                                                String sourceCurrency, String targetCurrency) {
+        TypedQuery<CurrencyConversionHistoryResponse> query = entityManager.createQuery(
+                HISTORY_SELECT + where(sourceCurrency) + " order by c.transactionDate, c.id",
+                CurrencyConversionHistoryResponse.class);
+        bind(query, start, end, sourceCurrency, targetCurrency);
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public long countInRange(LocalDateTime start, LocalDateTime end, String sourceCurrency, String targetCurrency) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                "select count(c) from CurrencyConversion c" + where(sourceCurrency), Long.class);
+        bind(query, start, end, sourceCurrency, targetCurrency);
+        return query.getSingleResult();
+    }
+
+    private static String where(String sourceCurrency) {
+        String range = " where c.transactionDate >= :start and c.transactionDate < :end";
+        return sourceCurrency == null
+                ? range
+                : range + " and c.sourceCurrency = :sourceCurrency and c.targetCurrency = :targetCurrency";
+    }
+
+    private static void bind(TypedQuery<?> query, LocalDateTime start, LocalDateTime end,
+                             String sourceCurrency, String targetCurrency) {
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        if (sourceCurrency != null) {
+            query.setParameter("sourceCurrency", sourceCurrency);
+            query.setParameter("targetCurrency", targetCurrency);
+        }
+    }
+}
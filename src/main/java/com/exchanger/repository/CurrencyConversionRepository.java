@@ -1,13 +1,31 @@
 package com.exchanger.repository;
 
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
 import com.exchanger.entity.CurrencyConversion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface CurrencyConversionRepository extends JpaRepository<CurrencyConversion, UUID> {
-    Page<CurrencyConversion> findAllByTransactionDateBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
-}
\ No newline at end of file
+public interface CurrencyConversionRepository extends JpaRepository<CurrencyConversion, UUID>,
+        CurrencyConversionBulkRepository, CurrencyConversionHistoryRepository {
+
+    @Query(HISTORY_SELECT + " where c.id = :id")
+    Optional<CurrencyConversionHistoryResponse> findHistoryById(UUID id);
+
+    @Query(value = HISTORY_SELECT + " where c.transactionDate between :start and :end",
+            countQuery = "select count(c) from CurrencyConversion c where c.transactionDate between :start and :end")
+    Page<CurrencyConversionHistoryResponse> findHistoryByTransactionDateBetween(
+            LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    @Query(value = HISTORY_SELECT + " where c.sourceCurrency = :sourceCurrency and c.targetCurrency = :targetCurrency"
+            + " and c.transactionDate between :start and :end",
+            countQuery = "select count(c) from CurrencyConversion c where c.sourceCurrency = :sourceCurrency"
+                    + " and c.targetCurrency = :targetCurrency and c.transactionDate between :start and :end")
+    Page<CurrencyConversionHistoryResponse> findHistoryByPairAndTransactionDateBetween(
+            String sourceCurrency, String targetCurrency, LocalDateTime start, LocalDateTime end, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.exchanger.repository;
+
+import com.exchanger.entity.RateSnapshot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface RateSnapshotRepository extends JpaRepository<RateSnapshot, UUID> {
+
+    Slice<RateSnapshot> findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc(String baseCurrency, Instant from, Instant to, Pageable pageable);
+
+    List<RateSnapshot> findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(String baseCurrency, Instant since, Limit limit);
+
+    List<RateSnapshot> findByFetchedAtGreaterThanEqualOrderByQuotedAtDesc(Instant since);
+}
@@ -0,0 +1,34 @@
+package com.exchanger.service;
+
+import com.exchanger.dto.responses.BulkConversionJobResponse;
+import com.exchanger.dto.responses.BulkConversionResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+/**
+ * Runs bulk CSV conversions as background jobs. Jobs are kept in memory, so their status and
+ * results are only available on the instance that accepted them.
+ */
+public interface BulkConversionJobService {
+
+    /**
+     * Stores the upload and queues it for conversion, returning without waiting for any row.
+     */
+    BulkConversionJobResponse submit(MultipartFile file);
+
+    BulkConversionJobResponse getStatus(UUID jobId);
+
+    /**
+     * Cancels a queued job or asks a running one to stop after its current chunk. Rows persisted
+     * before the cancellation are kept. Cancelling a finished job has no effect.
+     */
+    BulkConversionJobResponse cancel(UUID jobId);
+
+    /**
+     * Returns the results produced so far, in CSV row order.
+     */
+    Page<BulkConversionResponse> getResults(UUID jobId, Pageable pageable);
+}
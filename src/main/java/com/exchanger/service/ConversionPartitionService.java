@@ -0,0 +1,23 @@
+package com.exchanger.service;
+
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of the PostgreSQL {@code currency_conversion} table.
+ */
+public interface ConversionPartitionService {
+
+    /**
+     * Creates the partitions of the current month and of the configured number of months ahead.
+     *
+     * @return the names of all these partitions, whether they were created now or already existed
+     */
+    List<String> createUpcomingPartitions();
+
+    /**
+     * Detaches, and optionally drops, the partitions older than the configured retention.
+     *
+     * @return the names of the detached partitions; empty if retention is disabled
+     */
+    List<String> applyRetention();
+}
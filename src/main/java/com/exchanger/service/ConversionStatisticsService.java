@@ -0,0 +1,32 @@
+package com.exchanger.service;
+
+import com.exchanger.dto.requests.ConversionStatisticsRequest;
+import com.exchanger.dto.responses.ConversionStatisticsResponse;
+import com.exchanger.entity.CurrencyConversion;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per pair and hour rollups of the persisted conversions, maintained incrementally so that
+ * aggregates never scan the conversion table.
+ */
+public interface ConversionStatisticsService {
+
+    /**
+     * Counts persisted conversions. Only touches in-memory counters; they reach the summary table
+     * with the next flush.
+     */
+    void record(Collection<CurrencyConversion> conversions);
+
+    /**
+     * Merges the counters accumulated since the last flush into the summary table.
+     */
+    void flush();
+
+    /**
+     * Returns one aggregate per hour or day with conversions, oldest first, read from the summary
+     * table only. Conversions recorded since the last flush are not included yet.
+     */
+    List<ConversionStatisticsResponse> getStatistics(ConversionStatisticsRequest request);
+}
@@ -7,14 +7,46 @@ import com.exchanger.dto.responses.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 
 public interface  CurrencyConversionService {
     SingleExchangeRateResponse getSingleExchangeRate(ExchangeRateRequest request);
     ExchangeRateResponse getExchangeRates(ExchangeRateRequest request);
     CurrencyConversionResponse convert(CurrencyConversionRequest request);
+
+    /**
+     * Non-blocking variant of {@link #convert}: the rate is fetched without holding a thread and
+     * the conversion is saved on the bounded elastic scheduler.
+     */
+    Mono<CurrencyConversionResponse> convertReactive(CurrencyConversionRequest request);
     Page<CurrencyConversionHistoryResponse> getHistory(CurrencyConversionHistoryRequest request, Pageable pageable);
+
+    /**
+     * Keyset-paginated variant of {@link #getHistory}: returns up to {@code size} conversions after
+     * {@code cursor} in {@code (transactionDate, id)} order, so every page costs the same however
+     * deep it is. The total is only counted if {@code includeTotal} is set.
+     */
+    CurrencyConversionHistoryWindow scrollHistory(CurrencyConversionHistoryRequest request, String cursor,
+                                                  int size, boolean includeTotal);
     List<BulkConversionResponse> processCsvFile(MultipartFile file);
+
+    /**
+     * Converts the rows of a bulk CSV in chunks, persisting each chunk before handing its results
+     * to {@code sink} in row order. Memory use is bounded by the chunk size, not the file size.
+     */
+    void processCsvStream(InputStream csv, Consumer<BulkConversionResponse> sink);
+
+    /**
+     * Like {@link #processCsvStream(InputStream, Consumer)}, but consults {@code cancelled} before
+     * each chunk is converted and stops with a {@link java.util.concurrent.CancellationException}
+     * once it returns {@code true}. Every chunk that was persisted has been handed to {@code sink}
+     * in full by then.
+     */
+    void processCsvStream(InputStream csv, Consumer<BulkConversionResponse> sink, BooleanSupplier cancelled);
 }
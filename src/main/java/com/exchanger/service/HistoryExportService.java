@@ -0,0 +1,15 @@
+package com.exchanger.service;
+
+import com.exchanger.dto.requests.HistoryExportRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface HistoryExportService {
+
+    /**
+     * Writes every conversion of the requested days to {@code output} in the requested format,
+     * oldest first. Rows are streamed from the database, so memory use does not depend on the range.
+     */
+    void export(HistoryExportRequest request, OutputStream output) throws IOException;
+}
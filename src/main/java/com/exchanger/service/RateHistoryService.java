@@ -0,0 +1,40 @@
+package com.exchanger.service;
+
+import com.exchanger.dto.requests.HistoricalConversionRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.dto.responses.HistoricalConversionResponse;
+import com.exchanger.dto.responses.SingleExchangeRateResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Local history of the rates fetched from the providers, one snapshot per provider response.
+ */
+public interface RateHistoryService {
+
+    /**
+     * Stores a provider response in the background; the caller never waits for the database.
+     */
+    void record(ExchangeRateResponse response);
+
+    /**
+     * Returns the most recent snapshot of every base currency fetched at or after {@code since}.
+     */
+    List<RecordedRates> latestSnapshots(Instant since);
+
+    /**
+     * Returns the rate in effect at {@code at}: the latest recorded quote no later than that instant,
+     * either quoted directly for {@code source} or triangulated through another base currency.
+     */
+    SingleExchangeRateResponse findRate(String source, String target, Instant at);
+
+    /**
+     * Converts at the rate {@link #findRate} resolves for {@code request.at()}. Nothing is persisted
+     * and the provider is never called, so re-pricing runs are bound only by memory and CPU.
+     */
+    HistoricalConversionResponse convertAt(HistoricalConversionRequest request);
+
+    record RecordedRates(ExchangeRateResponse rates, Instant fetchedAt) {
+    }
+}
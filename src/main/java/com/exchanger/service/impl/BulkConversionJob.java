@@ -0,0 +1,157 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.responses.BulkConversionJobResponse;
+import com.exchanger.dto.responses.BulkConversionJobStatus;
+import com.exchanger.dto.responses.BulkConversionResponse;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of one bulk job. Status changes are compare-and-set transitions, so a cancel racing with
+ * the worker picking the job up resolves to exactly one outcome.
+ */
+final class BulkConversionJob {
+
+    private final UUID id;
+    private final String fileName;
+    private final Path upload;
+    private final long totalBytes;
+    private final Instant submittedAt;
+    private final AtomicReference<BulkConversionJobStatus> status =
+            new AtomicReference<>(BulkConversionJobStatus.QUEUED);
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsConverted = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+    private volatile BulkResultFile results;
+    private volatile Future<?> future;
+
+    BulkConversionJob(UUID id, String fileName, Path upload, long totalBytes, Instant submittedAt) {
+        this.id = id;
+        this.fileName = fileName;
+        this.upload = upload;
+        this.totalBytes = totalBytes;
+        this.submittedAt = submittedAt;
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    Path upload() {
+        return upload;
+    }
+
+    BulkConversionJobStatus status() {
+        return status.get();
+    }
+
+    Instant finishedAt() {
+        return finishedAt;
+    }
+
+    BulkResultFile results() {
+        return results;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Moves a queued job to running; returns {@code false} if it was cancelled in the meantime.
+     */
+    boolean start(BulkResultFile results, Instant now) {
+        if (!status.compareAndSet(BulkConversionJobStatus.QUEUED, BulkConversionJobStatus.RUNNING)) {
+            return false;
+        }
+        this.results = results;
+        startedAt = now;
+        return true;
+    }
+
+    void record(BulkConversionResponse result) {
+        if (result.errorMessage() == null) {
+            rowsConverted.incrementAndGet();
+        } else {
+            rowsFailed.incrementAndGet();
+        }
+    }
+
+    void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    /**
+     * Cancels the job if it is still queued, or flags a running job to stop.
+     *
+     * @return {@code true} if the job was still queued and will never run
+     */
+    boolean cancel(Instant now) {
+        if (finish(BulkConversionJobStatus.QUEUED, BulkConversionJobStatus.CANCELLED, null, now)) {
+            Future<?> queued = future;
+            if (queued != null) {
+                queued.cancel(false);
+            }
+            return true;
+        }
+        if (status.get() == BulkConversionJobStatus.RUNNING) {
+            cancelRequested = true;
+        }
+        return false;
+    }
+
+    void complete(Instant now) {
+        finish(BulkConversionJobStatus.RUNNING, BulkConversionJobStatus.COMPLETED, null, now);
+    }
+
+    void cancelled(Instant now) {
+        finish(BulkConversionJobStatus.RUNNING, BulkConversionJobStatus.CANCELLED, null, now);
+    }
+
+    void fail(String message, Instant now) {
+        finish(BulkConversionJobStatus.RUNNING, BulkConversionJobStatus.FAILED, message, now);
+    }
+
+    private boolean finish(BulkConversionJobStatus from, BulkConversionJobStatus to, String message, Instant now) {
+        if (!status.compareAndSet(from, to)) {
+            return false;
+        }
+        errorMessage = message;
+        finishedAt = now;
+        return true;
+    }
+
+    BulkConversionJobResponse toResponse() {
+        long converted = rowsConverted.get();
+        long failed = rowsFailed.get();
+        return new BulkConversionJobResponse(
+                id,
+                status.get(),
+                fileName,
+                converted + failed,
+                converted,
+                failed,
+                bytesRead.get(),
+                totalBytes,
+                submittedAt,
+                startedAt,
+                finishedAt,
+                errorMessage
+        );
+    }
+}
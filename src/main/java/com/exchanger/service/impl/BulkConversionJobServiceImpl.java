@@ -0,0 +1,273 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.responses.BulkConversionJobResponse;
+import com.exchanger.dto.responses.BulkConversionResponse;
+import com.exchanger.exception.BulkJobNotFoundException;
+import com.exchanger.exception.BulkJobRejectedException;
+import com.exchanger.service.BulkConversionJobService;
+import com.exchanger.service.CurrencyConversionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Bulk jobs run on a fixed pool of {@code exchange.bulk.jobs.workers} threads with at most
+ * {@code exchange.bulk.jobs.queue-capacity} jobs waiting; further submissions are rejected. The
+ * workers are virtual threads when {@code spring.threads.virtual.enabled} is set, but their number
+ * stays capped, since each job holds a database connection while it persists a chunk. Each
+ * upload is copied to a temporary file before the request returns, and results are spilled to a
+ * second temporary file, so a job holds no rows in memory. Finished jobs are forgotten, and their
+ * files deleted, {@code exchange.bulk.jobs.retention} after they finish.
+ */
+@Service
+public class BulkConversionJobServiceImpl implements BulkConversionJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkConversionJobServiceImpl.class);
+
+    private final CurrencyConversionService currencyConversionService;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Clock clock = Clock.systemUTC();
+    private final ThreadPoolExecutor workers;
+    private final Map<UUID, BulkConversionJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkConversionJobServiceImpl(CurrencyConversionService currencyConversionService,
+                                        ObjectMapper objectMapper,
+                                        @Value("${exchange.bulk.jobs.workers:2}") int workerCount,
+                                        @Value("${exchange.bulk.jobs.queue-capacity:16}") int queueCapacity,
+                                        @Value("${exchange.bulk.jobs.retention:PT1H}") Duration retention,
+                                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Bulk job workers must be at least 1");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Bulk job queue capacity must be at least 1");
+        }
+        this.currencyConversionService = currencyConversionService;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("bulk-job-", 0).factory()
+                : Thread.ofPlatform().name("bulk-job-", 0).factory();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+
+    @Override
+    public BulkConversionJobResponse submit(MultipartFile file) {
+        Path upload;
+        try {
+            upload = Files.createTempFile("bulk-upload-", ".csv");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store upload", e);
+        }
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(upload);
+            throw new UncheckedIOException("Failed to store upload", e);
+        }
+
+        BulkConversionJob job = new BulkConversionJob(
+                UUID.randomUUID(), file.getOriginalFilename(), upload, file.getSize(), clock.instant());
+        jobs.put(job.id(), job);
+        try {
+            job.setFuture(workers.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            deleteQuietly(upload);
+            throw new BulkJobRejectedException("Too many bulk conversion jobs queued, try again later", e);
+        }
+        log.info("Queued bulk conversion job {} for {}", job.id(), file.getOriginalFilename());
+        return job.toResponse();
+    }
+
+    @Override
+    public BulkConversionJobResponse getStatus(UUID jobId) {
+        return find(jobId).toResponse();
+    }
+
+    @Override
+    public BulkConversionJobResponse cancel(UUID jobId) {
+        BulkConversionJob job = find(jobId);
+        if (job.cancel(clock.instant())) {
+            workers.purge();
+            deleteQuietly(job.upload());
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public Page<BulkConversionResponse> getResults(UUID jobId, Pageable pageable) {
+        BulkResultFile results = find(jobId).results();
+        if (results == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        int total = results.count();
+        long from = pageable.getOffset();
+        if (from >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        try {
+            List<BulkConversionResponse> page = results.read((int) from, (int) Math.min(total, from + pageable.getPageSize()));
+            return new PageImpl<>(page, pageable, total);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read results of bulk conversion job " + jobId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${exchange.bulk.jobs.cleanup-interval:PT5M}")
+    public void evictExpiredJobs() {
+        Instant cutoff = clock.instant().minus(retention);
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.finishedAt();
+            if (!job.status().isFinished() || finishedAt == null || finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            deleteResults(job);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        jobs.values().forEach(job -> {
+            deleteQuietly(job.upload());
+            deleteResults(job);
+        });
+    }
+
+    private void run(BulkConversionJob job) {
+        BulkResultFile results;
+        try {
+            results = new BulkResultFile(Files.createTempFile("bulk-results-", ".ndjson"), objectMapper);
+        } catch (IOException e) {
+            log.error("Failed to create results file for bulk conversion job {}", job.id(), e);
+            job.start(null, clock.instant());
+            job.fail("Failed to create results file: " + e.getMessage(), clock.instant());
+            deleteQuietly(job.upload());
+            return;
+        }
+        if (!job.start(results, clock.instant())) {
+            try {
+                results.delete();
+            } catch (IOException e) {
+                log.warn("Failed to delete results of bulk conversion job {}", job.id(), e);
+            }
+            deleteQuietly(job.upload());
+            return;
+        }
+
+        try (InputStream csv = new CountingInputStream(Files.newInputStream(job.upload()), job::addBytesRead)) {
+            currencyConversionService.processCsvStream(csv, result -> {
+                try {
+                    results.append(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                job.record(result);
+            }, job::isCancelRequested);
+            job.complete(clock.instant());
+        } catch (CancellationException e) {
+            job.cancelled(clock.instant());
+        } catch (Exception e) {
+            log.error("Bulk conversion job {} failed", job.id(), e);
+            job.fail(e.getMessage(), clock.instant());
+        } finally {
+            try {
+                results.close();
+            } catch (IOException e) {
+                log.warn("Failed to close results of bulk conversion job {}", job.id(), e);
+            }
+            deleteQuietly(job.upload());
+        }
+        log.info("Bulk conversion job {} finished as {}", job.id(), job.status());
+    }
+
+    private BulkConversionJob find(UUID jobId) {
+        BulkConversionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BulkJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    private void deleteResults(BulkConversionJob job) {
+        BulkResultFile results = job.results();
+        if (results == null) {
+            return;
+        }
+        try {
+            results.delete();
+        } catch (IOException e) {
+            log.warn("Failed to delete results of bulk conversion job {}", job.id(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", path, e);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final LongConsumer counter;
+
+        CountingInputStream(InputStream in, LongConsumer counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.accept(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.accept(n);
+            }
+            return n;
+        }
+    }
+}
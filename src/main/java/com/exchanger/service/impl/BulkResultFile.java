@@ -0,0 +1,129 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.responses.BulkConversionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only NDJSON file holding the results of one bulk job, with the byte offset of every line
+ * kept in memory so any page of results can be read back with a single positioned read.
+ * <p>
+ * One writer appends while any number of readers page through the lines written so far.
+ */
+final class BulkResultFile {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final OutputStream out;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long[] offsets = new long[1024];
+    private int count;
+    private long size;
+    private boolean closed;
+
+    BulkResultFile(Path path, ObjectMapper objectMapper) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.out = new BufferedOutputStream(Files.newOutputStream(path));
+    }
+
+    void append(BulkConversionResponse result) throws IOException {
+        byte[] line = objectMapper.writeValueAsBytes(result);
+        lock.lock();
+        try {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            out.write(line);
+            out.write('\n');
+            offsets[count++] = size;
+            size += line.length + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int count() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the results with index {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    List<BulkConversionResponse> read(int from, int to) throws IOException {
+        long start;
+        long end;
+        lock.lock();
+        try {
+            to = Math.min(to, count);
+            if (from >= to) {
+                return List.of();
+            }
+            if (!closed) {
+                out.flush();
+            }
+            start = offsets[from];
+            end = to == count ? size : offsets[to];
+        } finally {
+            lock.unlock();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of results file " + path);
+                }
+            }
+        }
+
+        byte[] bytes = buffer.array();
+        List<BulkConversionResponse> results = new ArrayList<>(to - from);
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                results.add(objectMapper.readValue(bytes, lineStart, i - lineStart, BulkConversionResponse.class));
+                lineStart = i + 1;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Flushes and closes the writer; the file stays readable until {@link #delete()}.
+     */
+    void close() throws IOException {
+        lock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                out.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+}
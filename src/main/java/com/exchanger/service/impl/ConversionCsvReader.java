@@ -0,0 +1,100 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.CurrencyConversionRequest;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Reads bulk conversion rows from a CSV stream one record at a time, so callers can process files
+ * of any size in constant memory. Rows that cannot be parsed are logged and skipped; a file that is
+ * not valid CSV fails with a {@link RuntimeException}.
+ */
+class ConversionCsvReader implements Iterator<CurrencyConversionRequest>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversionCsvReader.class);
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+
+    private final CSVParser parser;
+    private final Iterator<CSVRecord> records;
+    private CurrencyConversionRequest next;
+
+    ConversionCsvReader(InputStream input) {
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            this.parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader);
+            this.records = parser.iterator();
+        } catch (IOException | RuntimeException e) {
+            throw parseFailure(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            CSVRecord record;
+            try {
+                if (!records.hasNext()) {
+                    return false;
+                }
+                record = records.next();
+            } catch (RuntimeException e) {
+                throw parseFailure(e);
+            }
+            next = toRequest(record);
+        }
+        return true;
+    }
+
+    @Override
+    public CurrencyConversionRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CurrencyConversionRequest request = next;
+        next = null;
+        return request;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            log.warn("Failed to close CSV parser", e);
+        }
+    }
+
+    private CurrencyConversionRequest toRequest(CSVRecord record) {
+        try {
+            BigDecimal amount = new BigDecimal(record.get("amount"));
+            String source = record.get("sourceCurrency").toUpperCase();
+            String target = record.get("targetCurrency").toUpperCase();
+            if (!CURRENCY_CODE.matcher(source).matches() || !CURRENCY_CODE.matcher(target).matches()) {
+                log.warn("Skipping CSV record without three-letter currency codes: {}", record);
+                return null;
+            }
+
+            return new CurrencyConversionRequest(amount, source, target);
+        } catch (Exception e) {
+            log.warn("Failed to parse CSV record: {}", record, e);
+            return null;
+        }
+    }
+
+    private static RuntimeException parseFailure(Exception e) {
+        return new RuntimeException("Failed to parse CSV: " + e.getMessage(), e);
+    }
+}
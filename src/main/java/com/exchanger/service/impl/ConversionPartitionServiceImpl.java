@@ -0,0 +1,98 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.service.ConversionPartitionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of {@code currency_conversion} ahead of the clock and retires old ones,
+ * on startup and then daily, through the functions created by the {@code V1__create_schema}
+ * migration. Rows of a month without a partition land in the default partition and are moved out
+ * when that month's partition is created.
+ */
+@Service
+@ConditionalOnProperty(name = "exchange.partitioning.enabled", havingValue = "true")
+public class ConversionPartitionServiceImpl implements ConversionPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversionPartitionServiceImpl.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final boolean dropDetached;
+    private final Clock clock;
+
+    @Autowired
+    public ConversionPartitionServiceImpl(JdbcTemplate jdbcTemplate,
+                                          @Value("${exchange.partitioning.premake-months:3}") int premakeMonths,
+                                          @Value("${exchange.partitioning.retention.months:0}") int retentionMonths,
+                                          @Value("${exchange.partitioning.retention.drop:false}") boolean dropDetached) {
+        this(jdbcTemplate, premakeMonths, retentionMonths, dropDetached, Clock.systemDefaultZone());
+    }
+
+    ConversionPartitionServiceImpl(JdbcTemplate jdbcTemplate, int premakeMonths, int retentionMonths,
+                                   boolean dropDetached, Clock clock) {
+        if (premakeMonths < 0) {
+            throw new IllegalArgumentException("Premade partition months must not be negative");
+        }
+        if (retentionMonths < 0) {
+            throw new IllegalArgumentException("Retention months must not be negative");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.dropDetached = dropDetached;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${exchange.partitioning.cron:0 0 3 * * *}")
+    public void maintain() {
+        try {
+            createUpcomingPartitions();
+            applyRetention();
+        } catch (RuntimeException e) {
+            log.warn("Currency conversion partition maintenance failed", e);
+        }
+    }
+
+    @Override
+    public List<String> createUpcomingPartitions() {
+        LocalDate month = LocalDate.now(clock).withDayOfMonth(1);
+        List<String> partitions = new ArrayList<>(premakeMonths + 1);
+        for (int i = 0; i <= premakeMonths; i++) {
+            partitions.add(jdbcTemplate.queryForObject(
+                    "select create_currency_conversion_partition(?)", String.class, month.plusMonths(i)));
+        }
+        log.debug("Currency conversion partitions up to {} are in place", partitions.getLast());
+        return partitions;
+    }
+
+    @Override
+    public List<String> applyRetention() {
+        if (retentionMonths == 0) {
+            return List.of();
+        }
+        LocalDate retainFrom = LocalDate.now(clock).withDayOfMonth(1).minusMonths(retentionMonths);
+        List<String> detached = jdbcTemplate.queryForList(
+                "select detach_currency_conversion_partitions(?, ?)", String.class, retainFrom, dropDetached);
+        if (!detached.isEmpty()) {
+            log.info("{} currency conversion partitions before {}: {}",
+                    dropDetached ? "Dropped" : "Detached", retainFrom, detached);
+        }
+        return detached;
+    }
+}
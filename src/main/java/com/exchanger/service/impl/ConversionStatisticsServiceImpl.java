@@ -0,0 +1,296 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.ConversionStatisticsRequest;
+import com.exchanger.dto.responses.ConversionStatisticsResponse;
+import com.exchanger.entity.ConversionRollup;
+import com.exchanger.entity.CurrencyConversion;
+import com.exchanger.money.MoneyMath;
+import com.exchanger.repository.ConversionRollupRepository;
+import com.exchanger.service.ConversionStatisticsService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts conversions into striped in-memory buckets, one per pair and hour, and periodically merges
+ * them into {@link ConversionRollup} rows.
+ * <p>
+ * Recording a conversion only adds to {@link LongAdder}s and {@link DoubleAccumulator}s, so request
+ * threads never contend on a lock or wait for the database. Amounts too large to be summed safely in
+ * a {@code long} are added to a {@link BigInteger} under the bucket's lock instead, and recording
+ * never throws into the request that saved the conversion. A flush drains each bucket with
+ * {@code sumThenReset}, which atomically swaps every cell, so increments racing with the flush land
+ * in this flush or the next one and are never lost. Each conversion updates its count last and a
+ * flush reads the count first, so a counted conversion is always flushed together with its amounts.
+ * If merging fails, the drained deltas are added back and retried on the next flush. Each bucket
+ * counts the conversions being added to it, so a flush only retires an idle bucket while none is in
+ * progress; a conversion that finds its bucket retired records into a new one, so none is lost.
+ */
+@Service
+public class ConversionStatisticsServiceImpl implements ConversionStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversionStatisticsServiceImpl.class);
+    private static final int VOLUME_SCALE = 4;
+    // A sum of many rates needs more digits than one rate, so it keeps the full scale of its column
+    private static final int RATE_SUM_SCALE = 18;
+
+    private final ConversionRollupRepository rollupRepository;
+    private final Clock clock;
+    private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public ConversionStatisticsServiceImpl(ConversionRollupRepository rollupRepository) {
+        this(rollupRepository, Clock.systemDefaultZone());
+    }
+
+    ConversionStatisticsServiceImpl(ConversionRollupRepository rollupRepository, Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.clock = clock;
+    }
+
+    @Override
+    public void record(Collection<CurrencyConversion> conversions) {
+        for (CurrencyConversion conversion : conversions) {
+            if (conversion.getTransactionDate() == null || conversion.getExchangeRate() == null) {
+                continue;
+            }
+            try {
+                BucketKey key = new BucketKey(conversion.getSourceCurrency(), conversion.getTargetCurrency(),
+                        conversion.getTransactionDate().truncatedTo(ChronoUnit.HOURS));
+                BigInteger source = unscaled(conversion.getSourceAmount());
+                BigInteger converted = unscaled(conversion.getConvertedAmount());
+                double rate = conversion.getExchangeRate().doubleValue();
+                while (!buckets.computeIfAbsent(key, k -> new Bucket()).tryAdd(source, converted, rate)) {
+                    Thread.onSpinWait(); // retired by a concurrent flush; a new bucket replaces it
+                }
+            } catch (RuntimeException e) {
+                // The conversion is already stored; statistics must not fail the request
+                log.warn("Could not record conversion {} in the statistics", conversion.getId(), e);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${exchange.statistics.flush-interval:PT10S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            LocalDateTime retireBefore = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS).minusHours(1);
+            Map<BucketKey, Delta> drained = new LinkedHashMap<>();
+            for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+                Bucket bucket = entry.getValue();
+                Delta delta = bucket.drain();
+                if (!delta.isEmpty()) {
+                    drained.put(entry.getKey(), delta);
+                } else if (entry.getKey().hour().isBefore(retireBefore) && bucket.tryRetire()) {
+                    // Idle for a full flush after its hour ended; late conversions start a new bucket
+                    buckets.remove(entry.getKey(), bucket);
+                    Delta late = bucket.drain();
+                    if (!late.isEmpty()) {
+                        drained.put(entry.getKey(), late);
+                    }
+                }
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<ConversionRollup> rollups = new ArrayList<>(drained.size());
+                drained.forEach((key, delta) -> rollups.add(delta.toRollup(key)));
+                rollupRepository.mergeAll(rollups);
+            } catch (RuntimeException e) {
+                log.warn("Could not flush {} conversion rollups, retrying with the next flush", drained.size(), e);
+                drained.forEach((key, delta) -> buckets.computeIfAbsent(key, k -> new Bucket()).restore(delta));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ConversionStatisticsResponse> getStatistics(ConversionStatisticsRequest request) {
+        String source = request.sourceCurrency().toUpperCase();
+        String target = request.targetCurrency().toUpperCase();
+        ChronoUnit unit = request.granularityUnit();
+
+        Map<LocalDateTime, ConversionRollup> periods = new LinkedHashMap<>();
+        for (ConversionRollup rollup : rollupRepository.findRollups(source, target,
+                request.from().atStartOfDay(), request.to().plusDays(1).atStartOfDay())) {
+            LocalDateTime periodStart = rollup.getBucketStart().truncatedTo(unit);
+            ConversionRollup period = periods.get(periodStart);
+            if (period == null) {
+                periods.put(periodStart, new ConversionRollup(source, target, periodStart, rollup.getConversionCount(),
+                        rollup.getSourceVolume(), rollup.getConvertedVolume(), rollup.getRateSum(),
+                        rollup.getMinRate(), rollup.getMaxRate()));
+            } else {
+                period.merge(rollup);
+            }
+        }
+
+        return periods.values().stream()
+                .map(period -> new ConversionStatisticsResponse(source, target, period.getBucketStart(),
+                        period.getConversionCount(), period.getSourceVolume(), period.getConvertedVolume(),
+                        period.getMinRate(), period.getMaxRate(),
+                        period.getConversionCount() == 0 ? null : period.getRateSum()
+                                .divide(BigDecimal.valueOf(period.getConversionCount()), MoneyMath.RATE_CONTEXT)))
+                .toList();
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private static BigInteger unscaled(BigDecimal amount) {
+        return amount == null ? BigInteger.ZERO : amount.setScale(VOLUME_SCALE, RoundingMode.HALF_EVEN).unscaledValue();
+    }
+
+    private static BigDecimal rate(double value) {
+        return Double.isInfinite(value) ? null : BigDecimal.valueOf(value).round(MoneyMath.RATE_CONTEXT);
+    }
+
+    private record BucketKey(String sourceCurrency, String targetCurrency, LocalDateTime hour) {
+    }
+
+    private record Delta(long count, BigInteger sourceVolume, BigInteger convertedVolume, double rateSum,
+                         double minRate, double maxRate) {
+
+        private boolean isEmpty() {
+            return count == 0 && sourceVolume.signum() == 0 && convertedVolume.signum() == 0 && rateSum == 0
+                    && Double.isInfinite(minRate) && Double.isInfinite(maxRate);
+        }
+
+        private ConversionRollup toRollup(BucketKey key) {
+            return new ConversionRollup(key.sourceCurrency(), key.targetCurrency(), key.hour(), count,
+                    new BigDecimal(sourceVolume, VOLUME_SCALE), new BigDecimal(convertedVolume, VOLUME_SCALE),
+                    BigDecimal.valueOf(rateSum).setScale(RATE_SUM_SCALE, RoundingMode.HALF_EVEN),
+                    rate(minRate), rate(maxRate));
+        }
+    }
+
+    private static final class Bucket {
+        private static final int RETIRED = Integer.MIN_VALUE;
+
+        private final LongAdder count = new LongAdder();
+        private final VolumeAdder sourceVolume = new VolumeAdder();
+        private final VolumeAdder convertedVolume = new VolumeAdder();
+        private final DoubleAdder rateSum = new DoubleAdder();
+        private final DoubleAccumulator minRate = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+        private final DoubleAccumulator maxRate = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+        /**
+         * Number of conversions being added, or {@link #RETIRED} once the bucket left the map.
+         */
+        private final AtomicInteger writers = new AtomicInteger();
+
+        /**
+         * Adds one conversion unless the bucket has been retired.
+         */
+        private boolean tryAdd(BigInteger source, BigInteger converted, double rate) {
+            if (writers.getAndIncrement() < 0) {
+                return false;
+            }
+            try {
+                add(source, converted, rate, 1);
+                return true;
+            } finally {
+                writers.decrementAndGet();
+            }
+        }
+
+        /**
+         * Retires the bucket if no conversion is being added to it. Every conversion added before
+         * is visible to the next {@link #drain}, and none can be added after.
+         */
+        private boolean tryRetire() {
+            return writers.compareAndSet(0, RETIRED);
+        }
+
+        private void add(BigInteger source, BigInteger converted, double rate, long conversions) {
+            sourceVolume.add(source);
+            convertedVolume.add(converted);
+            rateSum.add(rate * conversions);
+            minRate.accumulate(rate);
+            maxRate.accumulate(rate);
+            count.add(conversions);
+        }
+
+        private void restore(Delta delta) {
+            sourceVolume.add(delta.sourceVolume());
+            convertedVolume.add(delta.convertedVolume());
+            rateSum.add(delta.rateSum());
+            minRate.accumulate(delta.minRate());
+            maxRate.accumulate(delta.maxRate());
+            count.add(delta.count());
+        }
+
+        private Delta drain() {
+            long drainedCount = count.sumThenReset();
+            return new Delta(drainedCount, sourceVolume.sumThenReset(), convertedVolume.sumThenReset(),
+                    rateSum.sumThenReset(), minRate.getThenReset(), maxRate.getThenReset());
+        }
+    }
+
+    /**
+     * Sums unscaled volumes. Values below {@code 2^32} go to a {@link LongAdder}, which would need
+     * more than {@code 2^31} of them between two flushes to overflow; larger values are summed exactly
+     * under a lock, which only the rare large conversion takes.
+     */
+    private static final class VolumeAdder {
+        private static final int SMALL_BITS = 32;
+
+        private final LongAdder small = new LongAdder();
+        private final ReentrantLock lock = new ReentrantLock();
+        private BigInteger large = BigInteger.ZERO;
+
+        private void add(BigInteger value) {
+            if (value.bitLength() < SMALL_BITS) {
+                small.add(value.longValue());
+                return;
+            }
+            lock.lock();
+            try {
+                large = large.add(value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private BigInteger sumThenReset() {
+            BigInteger drained;
+            lock.lock();
+            try {
+                drained = large;
+                large = BigInteger.ZERO;
+            } finally {
+                lock.unlock();
+            }
+            return drained.add(BigInteger.valueOf(small.sumThenReset()));
+        }
+    }
+}
@@ -1,44 +1,104 @@
 package com.exchanger.service.impl;
 
 import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.config.ContextPropagation;
 import com.exchanger.dto.requests.CurrencyConversionHistoryRequest;
 import com.exchanger.dto.requests.CurrencyConversionRequest;
 import com.exchanger.dto.requests.ExchangeRateRequest;
 import com.exchanger.dto.responses.*;
 import com.exchanger.entity.CurrencyConversion;
 import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.InvalidAmountException;
 import com.exchanger.mapper.CurrencyConversionMapper;
+import com.exchanger.money.MoneyMath;
 import com.exchanger.repository.CurrencyConversionRepository;
+import com.exchanger.repository.HistoryCursor;
+import com.exchanger.service.ConversionStatisticsService;
 import com.exchanger.service.CurrencyConversionService;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 @Service
 public class CurrencyConversionServiceImpl implements CurrencyConversionService {
 
+    private static final int MAX_HISTORY_WINDOW = 1000;
+
     private final ExchangeRateClient exchangeRateClient;
+    private final ReactiveExchangeRateClient reactiveExchangeRateClient;
     private final CurrencyConversionRepository currencyConversionRepository;
+    private final ConversionStatisticsService conversionStatisticsService;
+    private final int bulkRateFetchConcurrency;
+    private final int bulkChunkSize;
+    private final Timer parseTimer;
+    private final Timer rateFetchTimer;
+    private final Timer persistTimer;
+    private final Counter convertedRows;
+    private final Counter failedRows;
+    private final DistributionSummary persistBatchRows;
+    private final ObservationRegistry observationRegistry;
     private static final Logger log = LoggerFactory.getLogger(CurrencyConversionServiceImpl.class);
 
 
-    public CurrencyConversionServiceImpl(ExchangeRateClient exchangeRateClient, CurrencyConversionRepository currencyConversionRepository) {
+    public CurrencyConversionServiceImpl(ExchangeRateClient exchangeRateClient,
+                                         ReactiveExchangeRateClient reactiveExchangeRateClient,
+                                         CurrencyConversionRepository currencyConversionRepository,
+                                         ConversionStatisticsService conversionStatisticsService,
+                                         MeterRegistry meterRegistry,
+                                         ObservationRegistry observationRegistry,
+                                         @Value("${exchange.bulk.rate-fetch-concurrency:8}") int bulkRateFetchConcurrency,
+                                         @Value("${exchange.bulk.chunk-size:1000}") int bulkChunkSize) {
+        if (bulkRateFetchConcurrency < 1) {
+            throw new IllegalArgumentException("Bulk rate fetch concurrency must be at least 1");
+        }
+        if (bulkChunkSize < 1) {
+            throw new IllegalArgumentException("Bulk chunk size must be at least 1");
+        }
         this.exchangeRateClient = exchangeRateClient;
+        this.reactiveExchangeRateClient = reactiveExchangeRateClient;
         this.currencyConversionRepository = currencyConversionRepository;
+        this.conversionStatisticsService = conversionStatisticsService;
+        this.bulkRateFetchConcurrency = bulkRateFetchConcurrency;
+        this.bulkChunkSize = bulkChunkSize;
+        this.parseTimer = bulkStageTimer(meterRegistry, "parse");
+        this.rateFetchTimer = bulkStageTimer(meterRegistry, "rate_fetch");
+        this.persistTimer = bulkStageTimer(meterRegistry, "persist");
+        this.convertedRows = meterRegistry.counter("exchange.bulk.rows", "outcome", "converted");
+        this.failedRows = meterRegistry.counter("exchange.bulk.rows", "outcome", "failed");
+        this.persistBatchRows = DistributionSummary.builder("exchange.bulk.persist.batch")
+                .description("Conversions written by one insertAll call")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
@@ -57,13 +117,15 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
         return new SingleExchangeRateResponse(
                 request.sourceCurrency(),
                 target,
-                rate
+                rate,
+                response.timestamp()
         );
     }
 
 
     @Override
     public CurrencyConversionResponse convert(CurrencyConversionRequest request) {
+        MoneyMath.requireMinorUnits(request.amount(), request.sourceCurrency());
 
         ExchangeRateResponse rateResponse = fetchRates(
                 new ExchangeRateRequest(
@@ -73,6 +135,27 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
         );
 
 
+        CurrencyConversion conversion = toConversion(request, rateResponse);
+        CurrencyConversion saved = persistObservation("save", 1)
+                .observe(() -> currencyConversionRepository.save(conversion));
+        conversionStatisticsService.record(List.of(saved));
+
+        return new CurrencyConversionResponse(saved.getId(), saved.getConvertedAmount());
+    }
+
+    @Override
+    public Mono<CurrencyConversionResponse> convertReactive(CurrencyConversionRequest request) {
+        return Mono.fromRunnable(() -> MoneyMath.requireMinorUnits(request.amount(), request.sourceCurrency()))
+                .then(Mono.defer(() -> reactiveExchangeRateClient.fetchExchangeRates(
+                        new ExchangeRateRequest(request.sourceCurrency(), List.of(request.targetCurrency())))))
+                .map(rateResponse -> toConversion(request, rateResponse))
+                .publishOn(Schedulers.boundedElastic())
+                .map(currencyConversionRepository::save)
+                .doOnNext(saved -> conversionStatisticsService.record(List.of(saved)))
+                .map(saved -> new CurrencyConversionResponse(saved.getId(), saved.getConvertedAmount()));
+    }
+
+    private CurrencyConversion toConversion(CurrencyConversionRequest request, ExchangeRateResponse rateResponse) {
         String key = request.sourceCurrency() + "_" + request.targetCurrency();
         BigDecimal rate = rateResponse.rates().get(key);
 
@@ -80,107 +163,173 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
             throw new ExternalApiException("No exchange rate found for " + key);
         }
 
-        BigDecimal convertedAmount = request.amount().multiply(rate);
-
-        CurrencyConversion conversion = new CurrencyConversion(
-                request.sourceCurrency(),
-                request.targetCurrency(),
-                request.amount(),
-                convertedAmount,
-                rate
-        );
-
-        CurrencyConversion saved = currencyConversionRepository.save(conversion);
-
-
-        return new CurrencyConversionResponse(saved.getId(), saved.getConvertedAmount());
+        return CurrencyConversionMapper.INSTANCE.toEntity(request, rate);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CurrencyConversionHistoryResponse> getHistory(CurrencyConversionHistoryRequest request, Pageable pageable) {
-        List<CurrencyConversion> results;
-
         if (request.transactionId() != null) {
-            results = currencyConversionRepository.findById(request.transactionId())
+            List<CurrencyConversionHistoryResponse> results = currencyConversionRepository.findHistoryById(request.transactionId())
                     .map(List::of)
                     .orElse(List.of());
-        } else {
-            var start = request.date().atStartOfDay();
-            var end = start.plusDays(1);
-            results = currencyConversionRepository
-                    .findAllByTransactionDateBetween(start, end, pageable)
-                    .getContent();
+            return new PageImpl<>(results, pageable, results.size());
+        }
+
+        var start = request.date().atStartOfDay();
+        var end = start.plusDays(1);
+        return request.sourceCurrency() == null
+                ? currencyConversionRepository.findHistoryByTransactionDateBetween(start, end, pageable)
+                : currencyConversionRepository.findHistoryByPairAndTransactionDateBetween(
+                        request.sourceCurrency().toUpperCase(), request.targetCurrency().toUpperCase(), start, end, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CurrencyConversionHistoryWindow scrollHistory(CurrencyConversionHistoryRequest request, String cursor,
+                                                         int size, boolean includeTotal) {
+        int limit = Math.clamp(size, 1, MAX_HISTORY_WINDOW);
+        if (request.transactionId() != null) {
+            List<CurrencyConversionHistoryResponse> results = cursor != null
+                    ? List.of()
+                    : currencyConversionRepository.findHistoryById(request.transactionId())
+                            .map(List::of)
+                            .orElse(List.of());
+            return new CurrencyConversionHistoryWindow(results, null, includeTotal ? (long) results.size() : null);
         }
 
-        var responseList = results.stream()
-                .map(c -> new CurrencyConversionHistoryResponse(
-                        c.getId(),
-                        c.getSourceCurrency(),
-                        c.getTargetCurrency(),
-                        c.getSourceAmount(),
-                        c.getConvertedAmount(),
-                        c.getExchangeRate(),
-                        c.getTransactionDate()
-                ))
-                .toList();
-
-        return new PageImpl<>(responseList, pageable, responseList.size());
+        var start = request.date().atStartOfDay();
+        var end = start.plusDays(1);
+        String source = request.sourceCurrency() == null ? null : request.sourceCurrency().toUpperCase();
+        String target = request.targetCurrency() == null ? null : request.targetCurrency().toUpperCase();
+        HistoryCursor after = cursor == null ? null : HistoryCursor.decode(cursor);
+
+        List<CurrencyConversionHistoryResponse> rows =
+                currencyConversionRepository.findSlice(start, end, source, target, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<CurrencyConversionHistoryResponse> window = hasMore ? List.copyOf(rows.subList(0, limit)) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            CurrencyConversionHistoryResponse last = window.getLast();
+            nextCursor = new HistoryCursor(last.transactionDate(), last.transactionId()).encode();
+        }
+        Long total = includeTotal ? currencyConversionRepository.countInRange(start, end, source, target) : null;
+        return new CurrencyConversionHistoryWindow(window, nextCursor, total);
     }
 
     @Override
     public List<BulkConversionResponse> processCsvFile(MultipartFile file) {
         List<BulkConversionResponse> results = new ArrayList<>();
-        List<CurrencyConversion> conversionsToPersist = new ArrayList<>();
+        processCsvStream(openCsv(file), results::add);
+        return results;
+    }
 
-        List<CurrencyConversionRequest> requests = parseCsvToRequests(file);
+    @Override
+    public void processCsvStream(InputStream csv, Consumer<BulkConversionResponse> sink) {
+        processCsvStream(csv, sink, () -> false);
+    }
 
-        Map<String, List<CurrencyConversionRequest>> grouped = requests.stream()
-                .collect(Collectors.groupingBy(CurrencyConversionRequest::sourceCurrency));
+    @Override
+    public void processCsvStream(InputStream csv, Consumer<BulkConversionResponse> sink, BooleanSupplier cancelled) {
+        try (ConversionCsvReader reader = new ConversionCsvReader(csv)) {
+            List<CurrencyConversionRequest> chunk = new ArrayList<>();
+            long parseStart = System.nanoTime();
+            while (reader.hasNext()) {
+                chunk.add(reader.next());
+                if (chunk.size() == bulkChunkSize) {
+                    parseTimer.record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+                    processChunk(chunk, cancelled).forEach(sink);
+                    chunk.clear();
+                    parseStart = System.nanoTime();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                parseTimer.record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+                processChunk(chunk, cancelled).forEach(sink);
+            }
+        }
+    }
+
+    private List<BulkConversionResponse> processChunk(List<CurrencyConversionRequest> requests, BooleanSupplier cancelled) {
+        // Checked before anything of the chunk is persisted, so a persisted chunk is always emitted whole
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+        return processChunk(requests);
+    }
 
-        for (var entry : grouped.entrySet()) {
-            String source = entry.getKey();
-            List<CurrencyConversionRequest> groupRequests = entry.getValue();
+    /**
+     * Converts one chunk of rows. Successful rows are persisted with a single {@code insertAll} and
+     * get their transaction id by position: {@code persistedRows[i]} is the row of the i-th saved
+     * entity, so identical rows keep their own ids and the back-fill stays linear.
+     */
+    private List<BulkConversionResponse> processChunk(List<CurrencyConversionRequest> requests) {
+        List<BulkConversionResponse> results = new ArrayList<>(requests.size());
+        List<CurrencyConversion> conversionsToPersist = new ArrayList<>(requests.size());
+        int[] persistedRows = new int[requests.size()];
 
-            Set<String> targets = groupRequests.stream()
-                    .map(CurrencyConversionRequest::targetCurrency)
-                    .collect(Collectors.toSet());
+        Map<String, ExchangeRateResponse> ratesBySource = rateFetchTimer.record(() -> fetchRatesBySource(requests));
 
-            ExchangeRateResponse rateResponse = null;
-            boolean rateFetchFailed = false;
+        for (int row = 0; row < requests.size(); row++) {
+            CurrencyConversionRequest req = requests.get(row);
             try {
-                Thread.sleep(1000);
-                rateResponse = fetchRates(new ExchangeRateRequest(source, new ArrayList<>(targets)));
-            } catch (ExternalApiException e) {
-                rateFetchFailed = true;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Thread interrupted", e);
+                MoneyMath.requireMinorUnits(req.amount(), req.sourceCurrency());
+            } catch (InvalidAmountException e) {
+                results.add(new BulkConversionResponse(
+                        null,
+                        req.sourceCurrency(),
+                        req.targetCurrency(),
+                        null,
+                        req.amount(),
+                        null,
+                        e.getMessage()));
+                continue;
             }
-            if (rateFetchFailed || rateResponse == null) {
-                handleFailedRateFetch(groupRequests, results);
+            ExchangeRateResponse rateResponse = ratesBySource.get(req.sourceCurrency());
+            if (rateResponse == null) {
+                results.add(new BulkConversionResponse(
+                        null,
+                        req.sourceCurrency(),
+                        req.targetCurrency(),
+                        null,
+                        req.amount(),
+                        null,
+                        "Rate fetch failed for " + req.sourceCurrency()));
                 continue;
             }
 
-            for (CurrencyConversionRequest req : groupRequests) {
-                String key = source + "_" + req.targetCurrency();
-                BigDecimal rate = rateResponse.rates().get(key);
-
-                if (rate == null) {
-                    results.add(new BulkConversionResponse(
-                            null,
-                            req.sourceCurrency(),
-                            req.targetCurrency(),
-                            req.amount(),
-                            null,
-                            null,
-                            "Rate not found for " + key));
-                    continue;
-                }
+            String key = req.sourceCurrency() + "_" + req.targetCurrency();
+            BigDecimal rate = rateResponse.rates().get(key);
 
-                CurrencyConversion entity = CurrencyConversionMapper.INSTANCE.toEntity(req, rate);
-                conversionsToPersist.add(entity);
+            if (rate == null) {
                 results.add(new BulkConversionResponse(
                         null,
+                        req.sourceCurrency(),
+                        req.targetCurrency(),
+                        null,
+                        req.amount(),
+                        null,
+                        "Rate not found for " + key));
+                continue;
+            }
+
+            persistedRows[conversionsToPersist.size()] = row;
+            conversionsToPersist.add(CurrencyConversionMapper.INSTANCE.toEntity(req, rate));
+            results.add(null);
+        }
+
+        if (!conversionsToPersist.isEmpty()) {
+            persistBatchRows.record(conversionsToPersist.size());
+            List<CurrencyConversion> saved = persistObservation("insert_all", conversionsToPersist.size())
+                    .observe(() -> persistTimer.record(() -> currencyConversionRepository.insertAll(conversionsToPersist)));
+            conversionStatisticsService.record(saved);
+            convertedRows.increment(saved.size());
+
+            for (int i = 0; i < saved.size(); i++) {
+                CurrencyConversion entity = saved.get(i);
+                results.set(persistedRows[i], new BulkConversionResponse(
+                        entity.getId(),
                         entity.getSourceCurrency(),
                         entity.getTargetCurrency(),
                         entity.getExchangeRate(),
@@ -189,72 +338,93 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
                         null));
             }
         }
-
-        List<CurrencyConversion> saved;
-
-        if (!conversionsToPersist.isEmpty()) {
-            saved = currencyConversionRepository.saveAll(conversionsToPersist);
-
-            int i = 0;
-            for (BulkConversionResponse result : results) {
-                if (result.transactionId() == null && result.errorMessage() == null) {
-                    UUID id = saved.get(i).getId();
-                    results.set(results.indexOf(result), new BulkConversionResponse(
-                            id,
-                            result.sourceCurrency(),
-                            result.targetCurrency(),
-                            result.rate(),
-                            result.originalAmount(),
-                            result.convertedAmount(),
-                            null));
-                    i++;
-                }
-            }
-        }
+        failedRows.increment(requests.size() - conversionsToPersist.size());
         return results;
     }
 
+    /**
+     * Span and timer around one write of conversions, named {@code exchange.conversion.persist}.
+     */
+    private Observation persistObservation(String operation, int rows) {
+        return Observation.createNotStarted("exchange.conversion.persist", observationRegistry)
+                .contextualName("persist-conversions")
+                .lowCardinalityKeyValue("operation", operation)
+                .highCardinalityKeyValue("rows", String.valueOf(rows));
+    }
 
-    private List<CurrencyConversionRequest> parseCsvToRequests(MultipartFile file) {
-        List<CurrencyConversionRequest> requests = new ArrayList<>();
+    private static Timer bulkStageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("exchange.bulk.stage")
+                .description("Time spent per chunk in each stage of a bulk conversion")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
-             CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader)) {
 
-            for (CSVRecord record : parser) {
-                try {
-                    BigDecimal amount = new BigDecimal(record.get("amount"));
-                    String source = record.get("sourceCurrency").toUpperCase();
-                    String target = record.get("targetCurrency").toUpperCase();
-
-                    requests.add(new CurrencyConversionRequest(amount, source, target));
-                } catch (Exception e) {
-                    log.warn("Failed to parse CSV record: {}", record, e);
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse CSV: " + e.getMessage());
+    private InputStream openCsv(MultipartFile file) {
+        try {
+            return file.getInputStream();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse CSV: " + e.getMessage(), e);
         }
-
-        return requests;
     }
 
-
-
+    /**
+     * Fetches rates through the client chain inside an {@code exchange.rates.fetch} span, so a trace
+     * shows how much of a request went to the cache, the rate limiter and the provider.
+     */
     private ExchangeRateResponse fetchRates(ExchangeRateRequest request) {
-        return exchangeRateClient.getExchangeRates(request);
+        return Observation.createNotStarted("exchange.rates.fetch", observationRegistry)
+                .contextualName("fetch-rates")
+                .highCardinalityKeyValue("source", request.sourceCurrency())
+                .highCardinalityKeyValue("targets", String.valueOf(request.targetCurrencies().size()))
+                .observe(() -> exchangeRateClient.getExchangeRates(request));
     }
 
-    private void handleFailedRateFetch(List<CurrencyConversionRequest> groupRequests, List<BulkConversionResponse> results) {
-        for (CurrencyConversionRequest req : groupRequests) {
-            results.add(new BulkConversionResponse(
-                    null,
-                    req.sourceCurrency(),
-                    req.targetCurrency(),
-                    null,
-                    req.amount(),
-                    null,
-                    "Rate fetch failed for " + req.sourceCurrency()));
+    /**
+     * Fetches the rates of every source currency group concurrently, one virtual thread per group
+     * and at most {@code bulkRateFetchConcurrency} calls at a time. Groups whose fetch failed are
+     * missing from the returned map. Each group gets an {@code exchange.bulk.rate-group} span in the
+     * caller's trace, which includes the time it queued for a permit.
+     */
+    private Map<String, ExchangeRateResponse> fetchRatesBySource(List<CurrencyConversionRequest> requests) {
+        Map<String, Set<String>> targetsBySource = new LinkedHashMap<>();
+        for (CurrencyConversionRequest req : requests) {
+            targetsBySource.computeIfAbsent(req.sourceCurrency(), source -> new LinkedHashSet<>())
+                    .add(req.targetCurrency());
+        }
+
+        Map<String, Future<ExchangeRateResponse>> pending = new LinkedHashMap<>();
+        Semaphore permits = new Semaphore(bulkRateFetchConcurrency);
+        try (ExecutorService executor = ContextPropagation.wrap(Executors.newVirtualThreadPerTaskExecutor())) {
+            targetsBySource.forEach((source, targets) -> pending.put(source, executor.submit(() ->
+                    Observation.createNotStarted("exchange.bulk.rate-group", observationRegistry)
+                            .contextualName("bulk-rate-group")
+                            .highCardinalityKeyValue("source", source)
+                            .highCardinalityKeyValue("targets", String.valueOf(targets.size()))
+                            .observeChecked(() -> {
+                                permits.acquire();
+                                try {
+                                    return fetchRates(new ExchangeRateRequest(source, new ArrayList<>(targets)));
+                                } finally {
+                                    permits.release();
+                                }
+                            }))));
+
+            Map<String, ExchangeRateResponse> ratesBySource = new HashMap<>();
+            for (var entry : pending.entrySet()) {
+                try {
+                    ratesBySource.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof ExternalApiException)) {
+                        throw new RuntimeException("Rate fetch failed for " + entry.getKey(), e.getCause());
+                    }
+                    log.warn("Rate fetch failed for {}: {}", entry.getKey(), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Thread interrupted", e);
+                }
+            }
+            return ratesBySource;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.HistoryExportFormat;
+import com.exchanger.dto.requests.HistoryExportRequest;
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+import com.exchanger.repository.CurrencyConversionRepository;
+import com.exchanger.service.HistoryExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class HistoryExportServiceImpl implements HistoryExportService {
+
+    private static final String[] CSV_HEADER = {"transactionId", "sourceCurrency", "targetCurrency",
+            "sourceAmount", "convertedAmount", "exchangeRate", "transactionDate"};
+
+    private final CurrencyConversionRepository currencyConversionRepository;
+    private final ObjectWriter rowWriter;
+
+    public HistoryExportServiceImpl(CurrencyConversionRepository currencyConversionRepository, ObjectMapper objectMapper) {
+        this.currencyConversionRepository = currencyConversionRepository;
+        this.rowWriter = objectMapper.writerFor(CurrencyConversionHistoryResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Runs in a read-only transaction because PostgreSQL only uses a server-side cursor, and hence
+     * the fetch size, while auto-commit is off.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(HistoryExportRequest request, OutputStream output) throws IOException {
+        LocalDateTime start = request.from().atStartOfDay();
+        LocalDateTime end = request.to().plusDays(1).atStartOfDay();
+        String source = request.sourceCurrency() == null ? null : request.sourceCurrency().toUpperCase();
+        String target = request.targetCurrency() == null ? null : request.targetCurrency().toUpperCase();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try (Stream<CurrencyConversionHistoryResponse> rows = currencyConversionRepository.streamRange(start, end, source, target)) {
+            if (request.exportFormat() == HistoryExportFormat.NDJSON) {
+                writeNdjson(rows.iterator(), writer);
+            } else {
+                writeCsv(rows.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Iterator<CurrencyConversionHistoryResponse> rows, Writer writer) throws IOException {
+        CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).get());
+        while (rows.hasNext()) {
+            CurrencyConversionHistoryResponse row = rows.next();
+            printer.printRecord(row.transactionId(), row.sourceCurrency(), row.targetCurrency(),
+                    toPlainString(row.sourceAmount()), toPlainString(row.convertedAmount()),
+                    toPlainString(row.exchangeRate()), row.transactionDate());
+        }
+        printer.flush();
+    }
+
+    private void writeNdjson(Iterator<CurrencyConversionHistoryResponse> rows, Writer writer) throws IOException {
+        while (rows.hasNext()) {
+            rowWriter.writeValue(writer, rows.next());
+            writer.write('\n');
+        }
+    }
+
+    private static String toPlainString(BigDecimal value) {
+        return value == null ? null : value.toPlainString();
+    }
+}
@@ -0,0 +1,164 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.HistoricalConversionRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.dto.responses.HistoricalConversionResponse;
+import com.exchanger.dto.responses.SingleExchangeRateResponse;
+import com.exchanger.entity.RateSnapshot;
+import com.exchanger.exception.RateHistoryNotFoundException;
+import com.exchanger.money.MoneyMath;
+import com.exchanger.repository.RateSnapshotRepository;
+import com.exchanger.service.RateHistoryService;
+import com.exchanger.service.impl.RateSnapshotIndex.Quote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Stores provider responses as {@link RateSnapshot} rows and answers historical lookups from them.
+ * <p>
+ * A response is skipped if the last snapshot recorded for its base currency has the same quote
+ * time and already holds all of its pairs, so repeated fetches of unchanged rates do not grow the
+ * table. Lookups go through a {@link RateSnapshotIndex}, which keeps each base currency's recent
+ * snapshots in memory and answers older instants with a range query, bounded by the lookback window.
+ */
+@Service
+public class RateHistoryServiceImpl implements RateHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RateHistoryServiceImpl.class);
+
+    private final RateSnapshotRepository repository;
+    private final RateSnapshotIndex index;
+    private final Executor executor;
+    private final Duration lookback;
+    private final String referenceCurrency;
+    private final Clock clock;
+    private final ConcurrentMap<String, Recorded> lastRecorded = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateHistoryServiceImpl(RateSnapshotRepository repository,
+                                  @Qualifier("applicationTaskExecutor") Executor executor,
+                                  @Value("${exchange.history.lookback:PT24H}") Duration lookback,
+                                  @Value("${exchange.snapshot.base-currency:USD}") String referenceCurrency,
+                                  @Value("${exchange.history.index.window:P7D}") Duration indexWindow,
+                                  @Value("${exchange.history.index.max-snapshots:4096}") int indexMaxSnapshots,
+                                  @Value("${exchange.history.index.max-currencies:64}") int indexMaxCurrencies) {
+        this(repository, executor, lookback, referenceCurrency,
+                indexWindow, indexMaxSnapshots, indexMaxCurrencies, Clock.systemUTC());
+    }
+
+    RateHistoryServiceImpl(RateSnapshotRepository repository, Executor executor, Duration lookback,
+                           String referenceCurrency, Duration indexWindow, int indexMaxSnapshots,
+                           int indexMaxCurrencies, Clock clock) {
+        if (lookback.isNegative() || lookback.isZero()) {
+            throw new IllegalArgumentException("Rate history lookback must be positive");
+        }
+        this.repository = repository;
+        this.index = new RateSnapshotIndex(repository, indexWindow, indexMaxSnapshots, indexMaxCurrencies, clock);
+        this.executor = executor;
+        this.lookback = lookback;
+        this.referenceCurrency = referenceCurrency;
+        this.clock = clock;
+    }
+
+    @Override
+    public void record(ExchangeRateResponse response) {
+        Instant fetchedAt = clock.instant();
+        Instant quotedAt = response.timestamp() != null ? response.timestamp() : fetchedAt;
+        String base = response.sourceCurrency();
+        Set<String> pairs = Set.copyOf(response.rates().keySet());
+
+        Recorded previous = lastRecorded.get(base);
+        if (pairs.isEmpty() || (previous != null && previous.covers(quotedAt, pairs))) {
+            return;
+        }
+        lastRecorded.put(base, new Recorded(quotedAt, pairs));
+
+        try {
+            executor.execute(() -> {
+                try {
+                    byte[] rates = RateSnapshotCodec.encode(base, response.rates());
+                    index.append(repository.save(
+                            new RateSnapshot(base, quotedAt, fetchedAt, RateSnapshotCodec.count(rates), rates)));
+                } catch (RuntimeException e) {
+                    log.warn("Could not store exchange rate snapshot for {}", base, e);
+                    lastRecorded.remove(base);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not schedule exchange rate snapshot for {}", base, e);
+            lastRecorded.remove(base);
+        }
+    }
+
+    @Override
+    public List<RecordedRates> latestSnapshots(Instant since) {
+        Map<String, RecordedRates> latest = new LinkedHashMap<>();
+        for (RateSnapshot snapshot : repository.findByFetchedAtGreaterThanEqualOrderByQuotedAtDesc(since)) {
+            latest.computeIfAbsent(snapshot.getBaseCurrency(), base -> new RecordedRates(
+                    new ExchangeRateResponse(base, RateSnapshotCodec.decode(base, snapshot.getRates()), snapshot.getQuotedAt()),
+                    snapshot.getFetchedAt()));
+        }
+        return List.copyOf(latest.values());
+    }
+
+    @Override
+    public SingleExchangeRateResponse findRate(String source, String target, Instant at) {
+        return resolve(source, target, at)
+                .orElseThrow(() -> new RateHistoryNotFoundException(source, target, at));
+    }
+
+    @Override
+    public HistoricalConversionResponse convertAt(HistoricalConversionRequest request) {
+        String source = request.sourceCurrency().toUpperCase();
+        String target = request.targetCurrency().toUpperCase();
+        MoneyMath.requireMinorUnits(request.amount(), source);
+        SingleExchangeRateResponse rate = findRate(source, target, request.at());
+        return new HistoricalConversionResponse(source, target, MoneyMath.roundAmount(request.amount(), source),
+                MoneyMath.convert(request.amount(), source, rate.exchangeRate(), target), rate.exchangeRate(), rate.timestamp());
+    }
+
+    private Optional<SingleExchangeRateResponse> resolve(String source, String target, Instant at) {
+        if (source.equals(target)) {
+            return Optional.of(new SingleExchangeRateResponse(source, target, BigDecimal.ONE, at));
+        }
+        Instant from = at.minus(lookback);
+
+        Quote direct = index.rate(source, target, from, at);
+        if (direct != null) {
+            return Optional.of(new SingleExchangeRateResponse(source, target, direct.rate(), direct.quotedAt()));
+        }
+        Quote inverse = index.rate(target, source, from, at);
+        if (inverse != null && inverse.rate().signum() > 0) {
+            return Optional.of(new SingleExchangeRateResponse(source, target,
+                    BigDecimal.ONE.divide(inverse.rate(), MoneyMath.RATE_CONTEXT), inverse.quotedAt()));
+        }
+        if (referenceCurrency.equals(source) || referenceCurrency.equals(target)) {
+            return Optional.empty();
+        }
+        Quote[] cross = index.rates(referenceCurrency, source, target, from, at);
+        if (cross == null || cross[0].rate().signum() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new SingleExchangeRateResponse(source, target,
+                cross[1].rate().divide(cross[0].rate(), MoneyMath.RATE_CONTEXT), cross[0].quotedAt()));
+    }
+
+    private record Recorded(Instant quotedAt, Set<String> pairs) {
+        private boolean covers(Instant otherQuotedAt, Set<String> otherPairs) {
+            return quotedAt.equals(otherQuotedAt) && pairs.containsAll(otherPairs);
+        }
+    }
+}
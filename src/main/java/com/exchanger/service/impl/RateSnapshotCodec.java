@@ -0,0 +1,112 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.money.CurrencyCodes;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Binary encoding of one base currency's quotes: a version byte, a quote count, then one entry per
+ * target currency sorted by code. An entry is the code packed into a {@code short} (three letters in
+ * base 26) followed by the rate as a {@code double}, 10 bytes in total.
+ * <p>
+ * Rates decode with {@link BigDecimal#valueOf(double)}, which restores any rate of up to 15
+ * significant digits exactly; providers quote far fewer.
+ */
+final class RateSnapshotCodec {
+
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 3;
+    private static final int ENTRY_BYTES = Short.BYTES + Double.BYTES;
+
+    private RateSnapshotCodec() {
+    }
+
+    /**
+     * Encodes {@code base_TARGET} quotes; keys for other bases or with malformed codes are skipped.
+     */
+    static byte[] encode(String base, Map<String, BigDecimal> rates) {
+        TreeMap<Short, Double> sorted = new TreeMap<>();
+        rates.forEach((key, rate) -> {
+            if (rate == null || key.length() != 7 || !key.startsWith(base + "_")) {
+                return;
+            }
+            int code = CurrencyCodes.slot(key.substring(4));
+            if (code >= 0) {
+                sorted.put((short) code, rate.doubleValue());
+            }
+        });
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + sorted.size() * ENTRY_BYTES);
+        buffer.put(VERSION).putShort((short) sorted.size());
+        sorted.forEach((code, rate) -> buffer.putShort(code).putDouble(rate));
+        return buffer.array();
+    }
+
+    static int count(byte[] encoded) {
+        ByteBuffer buffer = header(encoded);
+        return buffer.getShort(1);
+    }
+
+    /**
+     * Decodes all quotes back into {@code base_TARGET} keys.
+     */
+    static Map<String, BigDecimal> decode(String base, byte[] encoded) {
+        ByteBuffer buffer = header(encoded);
+        int count = buffer.getShort(1);
+        Map<String, BigDecimal> rates = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            int offset = HEADER_BYTES + i * ENTRY_BYTES;
+            rates.put(base + "_" + CurrencyCodes.code(buffer.getShort(offset)), BigDecimal.valueOf(buffer.getDouble(offset + Short.BYTES)));
+        }
+        return rates;
+    }
+
+    /**
+     * Returns the packed codes of all targets, in ascending order.
+     */
+    static int[] codes(byte[] encoded) {
+        ByteBuffer buffer = header(encoded);
+        int[] codes = new int[buffer.getShort(1)];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = buffer.getShort(HEADER_BYTES + i * ENTRY_BYTES);
+        }
+        return codes;
+    }
+
+    /**
+     * Looks up a single target with a binary search over the encoded entries, without decoding the rest.
+     */
+    static BigDecimal rate(byte[] encoded, String target) {
+        int code = CurrencyCodes.slot(target);
+        if (code < 0) {
+            return null;
+        }
+        ByteBuffer buffer = header(encoded);
+        int low = 0;
+        int high = buffer.getShort(1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = HEADER_BYTES + mid * ENTRY_BYTES;
+            int midCode = buffer.getShort(offset);
+            if (midCode < code) {
+                low = mid + 1;
+            } else if (midCode > code) {
+                high = mid - 1;
+            } else {
+                return BigDecimal.valueOf(buffer.getDouble(offset + Short.BYTES));
+            }
+        }
+        return null;
+    }
+
+    private static ByteBuffer header(byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        if (encoded.length < HEADER_BYTES || buffer.get(0) != VERSION) {
+            throw new IllegalArgumentException("Unsupported rate snapshot encoding");
+        }
+        return buffer;
+    }
+}
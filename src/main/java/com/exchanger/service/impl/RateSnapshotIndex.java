@@ -0,0 +1,389 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.entity.RateSnapshot;
+import com.exchanger.money.CurrencyCodes;
+import com.exchanger.repository.RateSnapshotRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory, time-ordered index over the recent rate snapshots, one timeline per base currency.
+ * <p>
+ * A timeline is a sorted {@code long[]} of quote times with the encoded rates of each snapshot
+ * alongside, and the same again per target currency over just the snapshots that quote it. A fetch
+ * stores only the targets it asked for, so the snapshot in effect for a pair is found with one
+ * binary search in that pair's series, however many fetches for other targets came after it, and
+ * the rate itself with a second one inside that snapshot. A timeline is loaded from the database the first time
+ * its base currency is looked up, with the snapshots of the last {@code window} but at most
+ * {@code maxSnapshots} of them, and is then kept current by {@link #append}, dropping its oldest
+ * snapshot beyond that size. At most {@code maxCurrencies} timelines are kept; the least recently
+ * used one is evicted first. Lookups reaching further back than a timeline covers page through a
+ * range query instead. Timelines are immutable and replaced as a whole on append, so lookups never
+ * lock.
+ */
+class RateSnapshotIndex {
+
+    /**
+     * Snapshots read per range query when a lookup reaches further back than the timeline.
+     */
+    private static final int RANGE_PAGE_SIZE = 16;
+
+    private final RateSnapshotRepository repository;
+    private final Duration window;
+    private final int maxSnapshots;
+    private final int maxCurrencies;
+    private final Clock clock;
+    private final ConcurrentMap<String, Timeline> timelines = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    RateSnapshotIndex(RateSnapshotRepository repository, Duration window, int maxSnapshots, int maxCurrencies,
+                      Clock clock) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Rate snapshot index window must be positive");
+        }
+        if (maxSnapshots < 1 || maxCurrencies < 1) {
+            throw new IllegalArgumentException("Rate snapshot index must hold at least one snapshot of one currency");
+        }
+        this.repository = repository;
+        this.window = window;
+        this.maxSnapshots = maxSnapshots;
+        this.maxCurrencies = maxCurrencies;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the {@code base -> target} rate of the latest snapshot quoted in {@code [from, at]}
+     * that contains {@code target}, or {@code null}.
+     */
+    Quote rate(String base, String target, Instant from, Instant at) {
+        if (CurrencyCodes.slot(target) < 0) {
+            return null;
+        }
+        return latest(base, List.of(target), from, at, (rates, quotedAt) -> {
+            BigDecimal rate = RateSnapshotCodec.rate(rates, target);
+            return rate == null ? null : new Quote(rate, quotedAt);
+        });
+    }
+
+    /**
+     * Returns the {@code base -> first} and {@code base -> second} rates from the latest snapshot
+     * quoted in {@code [from, at]} that contains both, or {@code null}.
+     */
+    Quote[] rates(String base, String first, String second, Instant from, Instant at) {
+        if (CurrencyCodes.slot(first) < 0 || CurrencyCodes.slot(second) < 0) {
+            return null;
+        }
+        return latest(base, List.of(first, second), from, at, (rates, quotedAt) -> {
+            BigDecimal firstRate = RateSnapshotCodec.rate(rates, first);
+            BigDecimal secondRate = RateSnapshotCodec.rate(rates, second);
+            return firstRate == null || secondRate == null
+                    ? null
+                    : new Quote[]{new Quote(firstRate, quotedAt), new Quote(secondRate, quotedAt)};
+        });
+    }
+
+    /**
+     * Adds a newly stored snapshot to its timeline, if that timeline has been loaded already.
+     */
+    void append(RateSnapshot snapshot) {
+        lock.lock();
+        try {
+            timelines.computeIfPresent(snapshot.getBaseCurrency(), (base, timeline) -> timeline.with(snapshot, maxSnapshots));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size(String base) {
+        Timeline timeline = timelines.get(base);
+        return timeline == null ? 0 : timeline.quotedAt.length;
+    }
+
+    int currencies() {
+        return timelines.size();
+    }
+
+    /**
+     * Returns the first non-null {@code match} among the snapshots of {@code base} quoted in
+     * {@code [from, at]} that quote all {@code targets}, newest first.
+     */
+    private <T> T latest(String base, List<String> targets, Instant from, Instant at,
+                         BiFunction<byte[], Instant, T> match) {
+        if (CurrencyCodes.slot(base) < 0 || at.isBefore(from)) {
+            return null;
+        }
+        long fromMillis = from.toEpochMilli();
+        long atMillis = at.toEpochMilli();
+        if (!from.isBefore(clock.instant().minus(window))) {
+            Timeline timeline = timeline(base);
+            if (fromMillis >= timeline.coveredFrom) {
+                Series series = timeline.sparsest(targets, fromMillis, atMillis);
+                if (series == null) {
+                    return null;
+                }
+                for (int i = series.floor(atMillis); i >= 0 && series.quotedAt[i] >= fromMillis; i--) {
+                    T result = match.apply(series.rates[i], Instant.ofEpochMilli(series.quotedAt[i]));
+                    if (result != null) {
+                        return result;
+                    }
+                }
+                return null;
+            }
+        }
+        Pageable page = PageRequest.of(0, RANGE_PAGE_SIZE);
+        Slice<RateSnapshot> slice;
+        do {
+            slice = repository.findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc(base, from, at, page);
+            for (RateSnapshot snapshot : slice) {
+                T result = match.apply(snapshot.getRates(), snapshot.getQuotedAt());
+                if (result != null) {
+                    return result;
+                }
+            }
+            page = slice.nextPageable();
+        } while (slice.hasNext());
+        return null;
+    }
+
+    private Timeline timeline(String base) {
+        Timeline timeline = timelines.get(base);
+        if (timeline == null) {
+            lock.lock();
+            try {
+                timeline = timelines.get(base);
+                if (timeline == null) {
+                    if (timelines.size() >= maxCurrencies) {
+                        evictLeastRecentlyUsed();
+                    }
+                    timeline = load(base);
+                    timelines.put(base, timeline);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        timeline.lastUsedNanos = System.nanoTime();
+        return timeline;
+    }
+
+    private Timeline load(String base) {
+        Instant since = clock.instant().minus(window);
+        List<RateSnapshot> newestFirst = repository.findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(
+                base, since, Limit.of(maxSnapshots));
+        // A full page may have left out older snapshots quoted at the same millisecond as its last one
+        long coveredFrom = newestFirst.size() < maxSnapshots
+                ? since.toEpochMilli()
+                : newestFirst.getLast().getQuotedAt().toEpochMilli() + 1;
+        return Timeline.of(newestFirst.reversed(), coveredFrom);
+    }
+
+    private void evictLeastRecentlyUsed() {
+        String eldest = null;
+        long eldestUse = Long.MAX_VALUE;
+        for (Map.Entry<String, Timeline> entry : timelines.entrySet()) {
+            if (eldest == null || entry.getValue().lastUsedNanos - eldestUse < 0) {
+                eldest = entry.getKey();
+                eldestUse = entry.getValue().lastUsedNanos;
+            }
+        }
+        if (eldest != null) {
+            timelines.remove(eldest);
+        }
+    }
+
+    record Quote(BigDecimal rate, Instant quotedAt) {
+    }
+
+    /**
+     * Returns the index of the last element of {@code sorted} at or before {@code millis}, or {@code -1}.
+     */
+    private static int floor(long[] sorted, long millis) {
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private static final class Timeline {
+        private final long[] quotedAt;
+        private final byte[][] rates;
+        /**
+         * Snapshots that quote a target, by the packed code of that target.
+         */
+        private final Map<Integer, Series> byTarget;
+        /**
+         * Every stored snapshot quoted at or after this epoch millisecond is in the timeline.
+         */
+        private final long coveredFrom;
+        private volatile long lastUsedNanos;
+
+        private Timeline(long[] quotedAt, byte[][] rates, Map<Integer, Series> byTarget, long coveredFrom,
+                         long lastUsedNanos) {
+            this.quotedAt = quotedAt;
+            this.rates = rates;
+            this.byTarget = byTarget;
+            this.coveredFrom = coveredFrom;
+            this.lastUsedNanos = lastUsedNanos;
+        }
+
+        private static Timeline of(List<RateSnapshot> snapshots, long coveredFrom) {
+            long[] quotedAt = new long[snapshots.size()];
+            byte[][] rates = new byte[snapshots.size()][];
+            Map<Integer, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < snapshots.size(); i++) {
+                quotedAt[i] = snapshots.get(i).getQuotedAt().toEpochMilli();
+                rates[i] = snapshots.get(i).getRates();
+                for (int code : RateSnapshotCodec.codes(rates[i])) {
+                    positions.computeIfAbsent(code, c -> new ArrayList<>()).add(i);
+                }
+            }
+            Map<Integer, Series> byTarget = new HashMap<>();
+            positions.forEach((code, indexes) -> {
+                long[] seriesQuotedAt = new long[indexes.size()];
+                byte[][] seriesRates = new byte[indexes.size()][];
+                for (int i = 0; i < indexes.size(); i++) {
+                    seriesQuotedAt[i] = quotedAt[indexes.get(i)];
+                    seriesRates[i] = rates[indexes.get(i)];
+                }
+                byTarget.put(code, new Series(seriesQuotedAt, seriesRates));
+            });
+            return new Timeline(quotedAt, rates, byTarget, coveredFrom, System.nanoTime());
+        }
+
+        /**
+         * Returns the series of whichever of {@code targets} is quoted by the fewest snapshots in
+         * {@code [fromMillis, atMillis]}, or {@code null} if one of them is never quoted.
+         */
+        private Series sparsest(List<String> targets, long fromMillis, long atMillis) {
+            Series sparsest = null;
+            int fewest = Integer.MAX_VALUE;
+            for (String target : targets) {
+                Series series = byTarget.get(CurrencyCodes.slot(target));
+                if (series == null) {
+                    return null;
+                }
+                int count = series.floor(atMillis) - series.floor(fromMillis - 1);
+                if (count < fewest) {
+                    sparsest = series;
+                    fewest = count;
+                }
+            }
+            return sparsest;
+        }
+
+        /**
+         * Returns this timeline with {@code snapshot} inserted, without its oldest snapshot if it
+         * would then hold more than {@code maxSnapshots}. Snapshots older than the covered range are
+         * left to the range query.
+         */
+        private Timeline with(RateSnapshot snapshot, int maxSnapshots) {
+            long millis = snapshot.getQuotedAt().toEpochMilli();
+            if (millis < coveredFrom) {
+                return this;
+            }
+            int position = floor(quotedAt, millis) + 1;
+            int dropped = quotedAt.length + 1 > maxSnapshots ? 1 : 0;
+            if (position < dropped) {
+                return new Timeline(quotedAt, rates, byTarget, millis + 1, lastUsedNanos);
+            }
+            long[] newQuotedAt = new long[quotedAt.length + 1 - dropped];
+            byte[][] newRates = new byte[rates.length + 1 - dropped][];
+            System.arraycopy(quotedAt, dropped, newQuotedAt, 0, position - dropped);
+            System.arraycopy(rates, dropped, newRates, 0, position - dropped);
+            newQuotedAt[position - dropped] = millis;
+            newRates[position - dropped] = snapshot.getRates();
+            System.arraycopy(quotedAt, position, newQuotedAt, position + 1 - dropped, quotedAt.length - position);
+            System.arraycopy(rates, position, newRates, position + 1 - dropped, rates.length - position);
+
+            // Only the series of the targets of the dropped and the inserted snapshot are copied
+            Map<Integer, Series> newByTarget = new HashMap<>(byTarget);
+            if (dropped == 1) {
+                for (int code : RateSnapshotCodec.codes(rates[0])) {
+                    newByTarget.computeIfPresent(code, (c, series) -> series.without(rates[0]));
+                }
+            }
+            for (int code : RateSnapshotCodec.codes(snapshot.getRates())) {
+                newByTarget.compute(code, (c, series) -> series == null
+                        ? new Series(new long[]{millis}, new byte[][]{snapshot.getRates()})
+                        : series.with(millis, snapshot.getRates()));
+            }
+            long newCoveredFrom = dropped == 0 ? coveredFrom : Math.max(coveredFrom, quotedAt[0] + 1);
+            return new Timeline(newQuotedAt, newRates, newByTarget, newCoveredFrom, lastUsedNanos);
+        }
+    }
+
+    /**
+     * The snapshots of one timeline that quote a given target, in timeline order.
+     */
+    private static final class Series {
+        private final long[] quotedAt;
+        private final byte[][] rates;
+
+        private Series(long[] quotedAt, byte[][] rates) {
+            this.quotedAt = quotedAt;
+            this.rates = rates;
+        }
+
+        private int floor(long millis) {
+            return RateSnapshotIndex.floor(quotedAt, millis);
+        }
+
+        private Series with(long millis, byte[] snapshot) {
+            int position = floor(millis) + 1;
+            long[] newQuotedAt = new long[quotedAt.length + 1];
+            byte[][] newRates = new byte[rates.length + 1][];
+            System.arraycopy(quotedAt, 0, newQuotedAt, 0, position);
+            System.arraycopy(rates, 0, newRates, 0, position);
+            newQuotedAt[position] = millis;
+            newRates[position] = snapshot;
+            System.arraycopy(quotedAt, position, newQuotedAt, position + 1, quotedAt.length - position);
+            System.arraycopy(rates, position, newRates, position + 1, rates.length - position);
+            return new Series(newQuotedAt, newRates);
+        }
+
+        /**
+         * Returns this series without {@code snapshot}, or {@code null} if nothing would be left.
+         */
+        private Series without(byte[] snapshot) {
+            int position = 0;
+            while (position < rates.length && rates[position] != snapshot) {
+                position++;
+            }
+            if (position == rates.length) {
+                return this;
+            }
+            if (rates.length == 1) {
+                return null;
+            }
+            long[] newQuotedAt = new long[quotedAt.length - 1];
+            byte[][] newRates = new byte[rates.length - 1][];
+            System.arraycopy(quotedAt, 0, newQuotedAt, 0, position);
+            System.arraycopy(rates, 0, newRates, 0, position);
+            System.arraycopy(quotedAt, position + 1, newQuotedAt, position, quotedAt.length - position - 1);
+            System.arraycopy(rates, position + 1, newRates, position, rates.length - position - 1);
+            return new Series(newQuotedAt, newRates);
+        }
+    }
+}
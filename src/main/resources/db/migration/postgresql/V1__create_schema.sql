@@ -0,0 +1,139 @@
+-- Schema of the application, with currency_conversion range-partitioned by month on transaction_date.
+--
+-- Databases created earlier by Hibernate's ddl-auto are baselined at version 0 and migrated in place:
+-- their unpartitioned currency_conversion table is renamed, its rows are copied into monthly
+-- partitions and it is dropped.
+
+do $$
+begin
+    if to_regclass('currency_conversion') is not null
+            and not exists (select 1 from pg_partitioned_table where partrelid = to_regclass('currency_conversion')) then
+        alter table currency_conversion rename to currency_conversion_legacy;
+        alter table currency_conversion_legacy rename constraint currency_conversion_pkey to currency_conversion_legacy_pkey;
+        drop index if exists idx_currency_conversion_date_id;
+        drop index if exists idx_currency_conversion_pair_date_id;
+    end if;
+end $$;
+
+create table currency_conversion (
+    id uuid not null,
+    source_currency varchar(255),
+    target_currency varchar(255),
+    source_amount numeric(38,4),
+    converted_amount numeric(38,4),
+    exchange_rate numeric(38,18),
+    transaction_date timestamp(6) not null,
+    primary key (id, transaction_date)
+) partition by range (transaction_date);
+
+-- Catches rows of months without a partition; create_currency_conversion_partition moves them out
+create table currency_conversion_default partition of currency_conversion default;
+
+create index idx_currency_conversion_date_id
+    on currency_conversion (transaction_date, id);
+
+create index idx_currency_conversion_pair_date_id
+    on currency_conversion (source_currency, target_currency, transaction_date, id);
+
+-- Creates the partition of the month containing month_start, named currency_conversion_pYYYY_MM,
+-- and moves that month's rows out of the default partition. Does nothing if it already exists.
+create or replace function create_currency_conversion_partition(month_start date) returns text
+language plpgsql as $$
+declare
+    partition_start date := date_trunc('month', month_start)::date;
+    partition_end date := (partition_start + interval '1 month')::date;
+    partition_name text := 'currency_conversion_p' || to_char(partition_start, 'YYYY_MM');
+begin
+    if to_regclass(partition_name) is not null then
+        return partition_name;
+    end if;
+
+    execute format('create table %I (like currency_conversion including defaults including constraints)', partition_name);
+    execute format('with moved as (delete from currency_conversion_default'
+                       || ' where transaction_date >= %L and transaction_date < %L returning *)'
+                       || ' insert into %I select * from moved',
+                   partition_start, partition_end, partition_name);
+    execute format('alter table currency_conversion attach partition %I for values from (%L) to (%L)',
+                   partition_name, partition_start, partition_end);
+    return partition_name;
+end;
+$$;
+
+-- Detaches every monthly partition that ends on or before retain_from, and drops it if
+-- drop_detached is set. Detached partitions stay in the database as ordinary tables for archiving.
+create or replace function detach_currency_conversion_partitions(retain_from date, drop_detached boolean)
+returns setof text
+language plpgsql as $$
+declare
+    partition_name text;
+begin
+    for partition_name in
+        select c.relname
+        from pg_inherits i
+                 join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = 'currency_conversion'::regclass
+          and c.relname ~ '^currency_conversion_p[0-9]{4}_[0-9]{2}$'
+          and to_date(substring(c.relname from 22), 'YYYY_MM') + interval '1 month' <= retain_from
+        order by c.relname
+    loop
+        execute format('alter table currency_conversion detach partition %I', partition_name);
+        if drop_detached then
+            execute format('drop table %I', partition_name);
+        end if;
+        return next partition_name;
+    end loop;
+end;
+$$;
+
+do $$
+declare
+    month_start date;
+begin
+    if to_regclass('currency_conversion_legacy') is not null then
+        for month_start in
+            select distinct date_trunc('month', transaction_date)::date
+            from currency_conversion_legacy
+            where transaction_date is not null
+        loop
+            perform create_currency_conversion_partition(month_start);
+        end loop;
+
+        -- ddl-auto left transaction_date nullable; such rows are kept in the default partition
+        insert into currency_conversion (id, source_currency, target_currency, source_amount, converted_amount,
+                                         exchange_rate, transaction_date)
+        select id, source_currency, target_currency, source_amount, converted_amount, exchange_rate,
+               coalesce(transaction_date, timestamp '1970-01-01')
+        from currency_conversion_legacy;
+
+        drop table currency_conversion_legacy;
+    end if;
+end $$;
+
+create table if not exists rate_snapshot (
+    id uuid not null,
+    base_currency varchar(3) not null,
+    quoted_at timestamp(6) with time zone not null,
+    fetched_at timestamp(6) with time zone not null,
+    quote_count integer not null,
+    rates bytea not null,
+    primary key (id)
+);
+
+create index if not exists idx_rate_snapshot_base_quoted_at
+    on rate_snapshot (base_currency, quoted_at);
+
+create table if not exists conversion_rollup (
+    id uuid not null,
+    version bigint not null,
+    source_currency varchar(255) not null,
+    target_currency varchar(255) not null,
+    bucket_start timestamp(6) not null,
+    conversion_count bigint not null,
+    source_volume numeric(38,4),
+    converted_volume numeric(38,4),
+    rate_sum numeric(38,18),
+    min_rate numeric(38,18),
+    max_rate numeric(38,18),
+    primary key (id),
+    constraint uk_conversion_rollup_pair_hour unique (source_currency, target_currency, bucket_start)
+);
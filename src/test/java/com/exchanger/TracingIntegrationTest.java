@@ -0,0 +1,123 @@
+package com.exchanger;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class TracingIntegrationTest {
+
+    private static MockWebServer provider;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeAll
+    static void startProvider() throws IOException {
+        provider = new MockWebServer();
+        provider.start();
+    }
+
+    @AfterAll
+    static void stopProvider() throws IOException {
+        provider.shutdown();
+    }
+
+    @DynamicPropertySource
+    static void providerUrl(DynamicPropertyRegistry registry) {
+        registry.add("exchange.api.url", () -> provider.url("/").toString());
+    }
+
+    @Test
+    void givenConvertRequest_whenConvert_thenControllerRateFetchProviderCallAndSaveAreSpansOfOneTrace() throws Exception {
+        // Given
+        provider.enqueue(new MockResponse()
+                .setBody("{\"success\":true,\"source\":\"USD\",\"timestamp\":1697059200,\"quotes\":{\"USDEUR\":0.92}}")
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        mockMvc.perform(post("/api/v1/conversion")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":100,\"sourceCurrency\":\"USD\",\"targetCurrency\":\"EUR\"}"))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // Then
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        Map<String, SpanData> spansByName = spans.stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+
+        SpanData server = spansByName.get("http post /api/v1/conversion");
+        SpanData controller = spansByName.get("currency-conversion-controller#convert-currency");
+        SpanData fetchRates = spansByName.get("fetch-rates");
+        SpanData providerCall = spansByName.get("http get");
+        SpanData persist = spansByName.get("persist-conversions");
+        assertNotNull(server, () -> "No server span in " + spansByName.keySet());
+        assertNotNull(controller, () -> "No controller span in " + spansByName.keySet());
+        assertNotNull(fetchRates, () -> "No rate fetch span in " + spansByName.keySet());
+        assertNotNull(providerCall, () -> "No provider call span in " + spansByName.keySet());
+        assertNotNull(persist, () -> "No persist span in " + spansByName.keySet());
+
+        for (SpanData span : List.of(controller, fetchRates, providerCall, persist)) {
+            assertEquals(server.getTraceId(), span.getTraceId(), span.getName());
+        }
+        assertEquals(controller.getSpanId(), fetchRates.getParentSpanId());
+        assertEquals(controller.getSpanId(), persist.getParentSpanId());
+        assertTrue(isDescendant(providerCall, fetchRates, spans), "Provider call is not inside the rate fetch");
+    }
+
+    private static boolean isDescendant(SpanData span, SpanData ancestor, List<SpanData> spans) {
+        Map<String, SpanData> byId = spans.stream().collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+        for (SpanData current = span; current != null; current = byId.get(current.getParentSpanId())) {
+            if (current.getParentSpanId().equals(ancestor.getSpanId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
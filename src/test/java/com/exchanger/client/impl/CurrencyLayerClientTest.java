@@ -5,21 +5,27 @@ import com.exchanger.dto.responses.CurrencyLayerApiResponse;
 import com.exchanger.dto.responses.ExchangeRateResponse;
 import com.exchanger.exception.CurrencyLayerError;
 import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.UnsupportedCurrencyException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,7 +47,7 @@ class CurrencyLayerClientTest {
 
         WebClient.Builder webClientBuilder = WebClient.builder()
                 .baseUrl(mockWebServer.url("/").toString());
-        currencyLayerClient =  new CurrencyLayerClient(webClientBuilder, mockWebServer.url("/").toString(), "test-access-key");
+        currencyLayerClient =  new CurrencyLayerClient(webClientBuilder, mockWebServer.url("/").toString(), "test-access-key", Duration.ofSeconds(1));
     }
 
     @AfterEach
@@ -75,6 +81,31 @@ class CurrencyLayerClientTest {
         assertEquals("USD", response.sourceCurrency(), "Source currency should be USD");
         assertEquals(new BigDecimal("0.85"), response.rates().get("USD_EUR"), "USD to EUR rate should be 0.85");
         assertEquals(new BigDecimal("0.73"), response.rates().get("USD_GBP"), "USD to GBP rate should be 0.73");
+        assertEquals(Instant.ofEpochSecond(1697059200L), response.timestamp(), "Timestamp should come from the provider");
+        assertEquals("EUR,GBP", mockWebServer.takeRequest().getRequestUrl().queryParameter("currencies"));
+    }
+
+    @Test
+    void givenNoTargetCurrencies_whenGetExchangeRates_thenRequestsAllCurrencies() throws Exception {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of());
+        CurrencyLayerApiResponse apiResponse = new CurrencyLayerApiResponse(
+                true,
+                "USD",
+                1697059200L,
+                Map.of("USDEUR", new BigDecimal("0.85"), "USDTRY", new BigDecimal("28.1")),
+                null);
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(objectMapper.writeValueAsString(apiResponse))
+                .addHeader("Content-Type", "application/json")
+                .setResponseCode(200));
+
+        ExchangeRateResponse response = currencyLayerClient.getExchangeRates(request);
+
+        assertEquals(2, response.rates().size());
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("USD", recordedRequest.getRequestUrl().queryParameter("source"));
+        assertNull(recordedRequest.getRequestUrl().queryParameter("currencies"));
     }
 
     @Test
@@ -98,6 +129,26 @@ class CurrencyLayerClientTest {
         assertTrue(exception.getMessage().contains("invalid_access_key"));
     }
 
+    @Test
+    void givenInvalidSourceCurrency_whenGetExchangeRates_thenThrowsUnsupportedCurrencyException() throws Exception {
+        ExchangeRateRequest request = new ExchangeRateRequest("XYZ", List.of("EUR"));
+        CurrencyLayerApiResponse apiResponse = new CurrencyLayerApiResponse(
+                false,
+                null,
+                0L,
+                null,
+                new CurrencyLayerError(201, "invalid_source_currency", "You have supplied an invalid Source Currency.")
+        );
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(objectMapper.writeValueAsString(apiResponse))
+                .addHeader("Content-Type", "application/json")
+                .setResponseCode(200));
+
+        UnsupportedCurrencyException exception = assertThrows(UnsupportedCurrencyException.class,
+                () -> currencyLayerClient.getExchangeRates(request));
+        assertEquals("You have supplied an invalid Source Currency.", exception.getMessage());
+    }
+
     @Test
     void givenNullApiResponse_whenGetExchangeRates_thenThrowsExternalApiException() {
         ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
@@ -110,4 +161,64 @@ class CurrencyLayerClientTest {
                 () -> currencyLayerClient.getExchangeRates(request));
         assertEquals("Failed to fetch exchange rates", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenValidRequest_whenFetchExchangeRates_thenMonoEmitsResponseWithoutBlockingOnSubscribe() throws Exception {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        CurrencyLayerApiResponse apiResponse = new CurrencyLayerApiResponse(
+                true,
+                "USD",
+                1697059200L,
+                Map.of("USDEUR", new BigDecimal("0.85")),
+                null);
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(objectMapper.writeValueAsString(apiResponse))
+                .addHeader("Content-Type", "application/json")
+                .setResponseCode(200));
+
+        Mono<ExchangeRateResponse> mono = currencyLayerClient.fetchExchangeRates(request);
+        assertEquals(0, mockWebServer.getRequestCount(), "Nothing should be sent before subscription");
+
+        ExchangeRateResponse response = mono.block();
+
+        assertNotNull(response);
+        assertEquals(new BigDecimal("0.85"), response.rates().get("USD_EUR"));
+        assertEquals("EUR", mockWebServer.takeRequest().getRequestUrl().queryParameter("currencies"));
+    }
+
+    @Test
+    void givenSlowProvider_whenGetExchangeRates_thenThrowsExternalApiExceptionAfterTimeout() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{}")
+                .addHeader("Content-Type", "application/json")
+                .setHeadersDelay(3, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        ExternalApiException exception = assertThrows(ExternalApiException.class,
+                () -> currencyLayerClient.getExchangeRates(request));
+
+        assertEquals("Exchange rate provider did not respond within PT1S", exception.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+    }
+
+    @Test
+    void givenServerError_whenGetExchangeRates_thenThrowsExternalApiException() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class,
+                () -> currencyLayerClient.getExchangeRates(request));
+
+        assertTrue(exception.getMessage().startsWith("Failed to fetch exchange rates: 503"), exception.getMessage());
+    }
+
+    @Test
+    void givenUnreachableProvider_whenGetExchangeRates_thenThrowsExternalApiException() throws IOException {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        mockWebServer.shutdown();
+
+        assertThrows(ExternalApiException.class, () -> currencyLayerClient.getExchangeRates(request));
+    }
+}
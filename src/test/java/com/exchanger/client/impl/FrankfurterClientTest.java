@@ -0,0 +1,100 @@
+package com.exchanger.client.impl;
+
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.UnsupportedCurrencyException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrankfurterClientTest {
+
+    private MockWebServer mockWebServer;
+    private FrankfurterClient frankfurterClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        frankfurterClient = new FrankfurterClient(WebClient.builder(), mockWebServer.url("/").toString(), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void givenValidRequest_whenGetExchangeRates_thenMapsRatesAndPublicationDate() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"amount\":1.0,\"base\":\"USD\",\"date\":\"2025-05-16\",\"rates\":{\"EUR\":0.8921,\"GBP\":0.75}}")
+                .addHeader("Content-Type", "application/json"));
+
+        ExchangeRateResponse response = frankfurterClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR", "GBP")));
+
+        assertEquals("USD", response.sourceCurrency());
+        assertEquals(new BigDecimal("0.8921"), response.rates().get("USD_EUR"));
+        assertEquals(new BigDecimal("0.75"), response.rates().get("USD_GBP"));
+        assertEquals(Instant.parse("2025-05-16T00:00:00Z"), response.timestamp());
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("/latest", recordedRequest.getRequestUrl().encodedPath());
+        assertEquals("USD", recordedRequest.getRequestUrl().queryParameter("from"));
+        assertEquals("EUR,GBP", recordedRequest.getRequestUrl().queryParameter("to"));
+    }
+
+    @Test
+    void givenNoTargetCurrencies_whenGetExchangeRates_thenRequestsAllCurrencies() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"amount\":1.0,\"base\":\"USD\",\"date\":\"2025-05-16\",\"rates\":{\"EUR\":0.8921}}")
+                .addHeader("Content-Type", "application/json"));
+
+        frankfurterClient.getExchangeRates(new ExchangeRateRequest("USD", List.of()));
+
+        assertNull(mockWebServer.takeRequest().getRequestUrl().queryParameter("to"));
+    }
+
+    @Test
+    void givenResponseWithoutRates_whenGetExchangeRates_thenThrowsExternalApiException() {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"message\":\"not found\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class,
+                () -> frankfurterClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR"))));
+        assertEquals("Failed to fetch exchange rates", exception.getMessage());
+    }
+
+    @Test
+    void givenUnknownCurrency_whenGetExchangeRates_thenThrowsUnsupportedCurrencyException() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("{\"message\":\"not found\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        assertThrows(UnsupportedCurrencyException.class,
+                () -> frankfurterClient.getExchangeRates(new ExchangeRateRequest("XYZ", List.of("EUR"))));
+    }
+
+    @Test
+    void givenServerError_whenGetExchangeRates_thenThrowsProviderFailure() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class,
+                () -> frankfurterClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR"))));
+        assertFalse(exception instanceof UnsupportedCurrencyException);
+    }
+}
@@ -0,0 +1,66 @@
+package com.exchanger.client.snapshot;
+
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateMatrixTest {
+
+    private static final Instant QUOTED_AT = Instant.parse("2025-05-18T10:00:00Z");
+    private static final Instant FETCHED_AT = Instant.parse("2025-05-18T10:05:00Z");
+
+    private final RateMatrix matrix = RateMatrix.from(new ExchangeRateResponse("USD", Map.of(
+            "USD_EUR", new BigDecimal("0.8"),
+            "USD_TRY", new BigDecimal("40"),
+            "USD_JPY", new BigDecimal("150"),
+            "USD_BAD", BigDecimal.ZERO,
+            "EUR_GBP", new BigDecimal("0.85")
+    ), QUOTED_AT), FETCHED_AT);
+
+    @Test
+    void givenBasePair_whenRate_thenReturnsQuotedRate() {
+        assertEquals(0, new BigDecimal("0.8").compareTo(matrix.rate("USD", "EUR")));
+        assertEquals(0, new BigDecimal("150").compareTo(matrix.rate("USD", "JPY")));
+    }
+
+    @Test
+    void givenCrossPair_whenRate_thenTriangulatesThroughBase() {
+        assertEquals(new BigDecimal("50"), matrix.rate("EUR", "TRY"));
+        assertEquals(new BigDecimal("1.25"), matrix.rate("EUR", "USD"));
+        assertEquals(new BigDecimal("3.75"), matrix.rate("TRY", "JPY"));
+        assertEquals(new BigDecimal("0.2666666667"), matrix.rate("JPY", "TRY"));
+    }
+
+    @Test
+    void givenSameCurrency_whenRate_thenReturnsOne() {
+        assertEquals(BigDecimal.ONE, matrix.rate("TRY", "TRY"));
+    }
+
+    @Test
+    void givenUnknownOrInvalidQuote_whenRate_thenReturnsNull() {
+        assertNull(matrix.rate("USD", "GBP"));
+        assertNull(matrix.rate("USD", "BAD"));
+        assertNull(matrix.rate("usd", "EUR"));
+        assertNull(matrix.rate("USD", null));
+        assertFalse(matrix.contains("GBP"));
+        assertEquals(4, matrix.size());
+    }
+
+    @Test
+    void givenProviderTimestamp_whenFrom_thenKeepsQuoteAndFetchTimes() {
+        assertEquals(QUOTED_AT, matrix.timestamp());
+        assertEquals(FETCHED_AT, matrix.fetchedAt());
+        assertEquals("USD", matrix.baseCurrency());
+    }
+
+    @Test
+    void givenInvalidBaseCurrency_whenFrom_thenThrowsIllegalArgumentException() {
+        ExchangeRateResponse response = new ExchangeRateResponse("US", Map.of());
+        assertThrows(IllegalArgumentException.class, () -> RateMatrix.from(response, FETCHED_AT));
+    }
+}
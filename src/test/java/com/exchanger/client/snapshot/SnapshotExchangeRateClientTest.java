@@ -0,0 +1,99 @@
+package com.exchanger.client.snapshot;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotExchangeRateClientTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-18T10:00:00Z");
+
+    @Mock
+    private ExchangeRateClient upstream;
+
+    @Mock
+    private ExchangeRateClient delegate;
+
+    private RateMatrixEngine engine;
+    private SnapshotExchangeRateClient client;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RateMatrixEngine(upstream, "USD", Duration.ofMinutes(30), Clock.fixed(NOW, ZoneOffset.UTC));
+        client = new SnapshotExchangeRateClient(engine, delegate);
+    }
+
+    @Test
+    void givenFreshMatrix_whenGetExchangeRates_thenResolvesWithoutDelegate() {
+        when(upstream.getExchangeRates(new ExchangeRateRequest("USD", List.of())))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of(
+                        "USD_EUR", new BigDecimal("0.8"),
+                        "USD_TRY", new BigDecimal("40")), NOW.minusSeconds(60)));
+        engine.refresh();
+
+        ExchangeRateResponse response = client.getExchangeRates(new ExchangeRateRequest("EUR", List.of("TRY", "USD")));
+
+        assertEquals("EUR", response.sourceCurrency());
+        assertEquals(new BigDecimal("50"), response.rates().get("EUR_TRY"));
+        assertEquals(new BigDecimal("1.25"), response.rates().get("EUR_USD"));
+        assertEquals(NOW.minusSeconds(60), response.timestamp());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void givenCurrencyMissingFromMatrix_whenGetExchangeRates_thenFallsBackToDelegate() {
+        when(upstream.getExchangeRates(any()))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.8"))));
+        engine.refresh();
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR", "XYZ"));
+        ExchangeRateResponse fallback = new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.81")));
+        when(delegate.getExchangeRates(request)).thenReturn(fallback);
+
+        assertSame(fallback, client.getExchangeRates(request));
+    }
+
+    @Test
+    void givenNoMatrix_whenGetExchangeRates_thenFallsBackToDelegate() {
+        when(upstream.getExchangeRates(any())).thenThrow(new ExternalApiException("Service Unavailable"));
+        engine.refresh();
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        ExchangeRateResponse fallback = new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.81")));
+        when(delegate.getExchangeRates(request)).thenReturn(fallback);
+
+        assertTrue(engine.currentMatrix().isEmpty());
+        assertSame(fallback, client.getExchangeRates(request));
+    }
+
+    @Test
+    void givenMatrixOlderThanMaxAge_whenCurrentMatrix_thenReturnsEmpty() {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW, NOW.plus(Duration.ofMinutes(10)), NOW.plus(Duration.ofMinutes(31)));
+        RateMatrixEngine agingEngine = new RateMatrixEngine(upstream, "USD", Duration.ofMinutes(30), clock);
+        when(upstream.getExchangeRates(any()))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.8"))));
+
+        agingEngine.refresh();
+
+        assertTrue(agingEngine.currentMatrix().isPresent());
+        assertTrue(agingEngine.currentMatrix().isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.ProviderCallCancelledException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+    private static final ExchangeRateResponse RESPONSE =
+            new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+
+    @Test
+    void givenNoMeasuredCalls_whenCurrentTimeout_thenUsesMaximum() {
+        AdaptiveTimeoutExchangeRateClient client = new AdaptiveTimeoutExchangeRateClient(
+                request -> RESPONSE, 0.99, 2.0, Duration.ofMillis(100), Duration.ofSeconds(10));
+
+        assertEquals(Duration.ofSeconds(10), client.currentTimeout());
+    }
+
+    @Test
+    void givenFastProvider_whenEnoughCallsMeasured_thenTimeoutShrinksTowardsMinimum() {
+        AdaptiveTimeoutExchangeRateClient client = new AdaptiveTimeoutExchangeRateClient(
+                request -> RESPONSE, 0.99, 2.0, Duration.ofMillis(100), Duration.ofSeconds(10));
+
+        for (int i = 0; i < AdaptiveTimeoutExchangeRateClient.MIN_SAMPLES; i++) {
+            assertEquals(RESPONSE, client.getExchangeRates(REQUEST));
+        }
+
+        assertTrue(client.currentTimeout().compareTo(Duration.ofSeconds(1)) < 0,
+                "Timeout should adapt to the observed latency but was " + client.currentTimeout());
+        assertTrue(client.currentTimeout().compareTo(Duration.ofMillis(100)) >= 0);
+    }
+
+    @Test
+    void givenHungProvider_whenTimeoutPasses_thenThrowsAndInterruptsCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ExchangeRateClient hung = request -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return RESPONSE;
+        };
+        AdaptiveTimeoutExchangeRateClient client = new AdaptiveTimeoutExchangeRateClient(
+                hung, 0.99, 2.0, Duration.ofMillis(10), Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        ExternalApiException exception = assertThrows(ExternalApiException.class, () -> client.getExchangeRates(REQUEST));
+
+        assertEquals("Exchange rate provider did not respond within PT0.2S", exception.getMessage());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenProviderThatSlowsDown_whenCallsTimeOut_thenTimeoutGrowsAgain() {
+        AtomicBoolean slow = new AtomicBoolean();
+        AdaptiveTimeoutExchangeRateClient client = new AdaptiveTimeoutExchangeRateClient(request -> {
+            if (slow.get()) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return RESPONSE;
+        }, 0.5, 2.0, Duration.ofMillis(10), Duration.ofSeconds(1));
+        for (int i = 0; i < AdaptiveTimeoutExchangeRateClient.MIN_SAMPLES; i++) {
+            client.getExchangeRates(REQUEST);
+        }
+        Duration adapted = client.currentTimeout();
+        slow.set(true);
+
+        // Enough timeouts to outnumber the fast calls, so the median is one of them
+        for (int i = 0; i <= 2 * AdaptiveTimeoutExchangeRateClient.MIN_SAMPLES; i++) {
+            assertThrows(ExternalApiException.class, () -> client.getExchangeRates(REQUEST));
+        }
+
+        assertTrue(client.currentTimeout().compareTo(adapted) > 0,
+                "Timeout should grow from " + adapted + " but was " + client.currentTimeout());
+    }
+
+    @Test
+    void givenFailingProvider_whenGetExchangeRates_thenPropagatesOriginalException() {
+        AdaptiveTimeoutExchangeRateClient client = new AdaptiveTimeoutExchangeRateClient(request -> {
+            throw new ExternalApiException("invalid_access_key");
+        }, 0.99, 2.0, Duration.ofMillis(10), Duration.ofSeconds(1));
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class, () -> client.getExchangeRates(REQUEST));
+        assertEquals("invalid_access_key", exception.getMessage());
+    }
+
+    @Test
+    void givenInterruptedCaller_whenGetExchangeRates_thenThrowsCancellationInsteadOfFailure() {
+        AdaptiveTimeoutExchangeRateClient client = new AdaptiveTimeoutExchangeRateClient(request -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return RESPONSE;
+        }, 0.99, 2.0, Duration.ofMillis(10), Duration.ofSeconds(5));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ProviderCallCancelledException.class, () -> client.getExchangeRates(REQUEST));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.impl.CurrencyLayerClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingExchangeRateClientTest {
+
+    private static final Instant START = Instant.parse("2025-05-18T10:00:00Z");
+
+    @Mock
+    private ExchangeRateClient delegate;
+
+    private MutableClock clock;
+    private CachingExchangeRateClient cachingClient;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        Executor directExecutor = Runnable::run;
+        cachingClient = new CachingExchangeRateClient(
+                delegate, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofMinutes(30), 2, directExecutor, clock);
+    }
+
+    @Test
+    void givenCachedRates_whenGetExchangeRatesWithinTtl_thenDelegateIsCalledOnce() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+
+        ExchangeRateResponse first = cachingClient.getExchangeRates(request);
+        clock.advance(Duration.ofMinutes(2));
+        ExchangeRateResponse second = cachingClient.getExchangeRates(request);
+
+        assertEquals(new BigDecimal("0.92"), first.rates().get("USD_EUR"));
+        assertEquals(first, second);
+        verify(delegate, times(1)).getExchangeRates(any());
+        assertEquals(1, cachingClient.hitCount());
+        assertEquals(1, cachingClient.missCount());
+    }
+
+    @Test
+    void givenExpiredRates_whenGetExchangeRates_thenReloadsFromDelegate() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.93"))));
+
+        cachingClient.getExchangeRates(request);
+        clock.advance(Duration.ofMinutes(5));
+        ExchangeRateResponse reloaded = cachingClient.getExchangeRates(request);
+
+        assertEquals(new BigDecimal("0.93"), reloaded.rates().get("USD_EUR"));
+        verify(delegate, times(2)).getExchangeRates(request);
+    }
+
+    @Test
+    void givenUncoveredTarget_whenGetExchangeRates_thenReloadsWithUnionOfTargets() {
+        when(delegate.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR"))))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+        when(delegate.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR", "GBP"))))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of(
+                        "USD_EUR", new BigDecimal("0.92"),
+                        "USD_GBP", new BigDecimal("0.79"))));
+
+        cachingClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR")));
+        ExchangeRateResponse gbp = cachingClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("GBP")));
+        ExchangeRateResponse eur = cachingClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR")));
+
+        assertEquals(Map.of("USD_GBP", new BigDecimal("0.79")), gbp.rates());
+        assertEquals(Map.of("USD_EUR", new BigDecimal("0.92")), eur.rates());
+        verify(delegate, times(2)).getExchangeRates(any());
+    }
+
+    @Test
+    void givenEntryInRefreshAheadWindow_whenGetExchangeRates_thenServesCachedAndRefreshesInBackground() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.93"))));
+
+        cachingClient.getExchangeRates(request);
+        clock.advance(Duration.ofMinutes(4).plusSeconds(30));
+        ExchangeRateResponse served = cachingClient.getExchangeRates(request);
+        ExchangeRateResponse refreshed = cachingClient.getExchangeRates(request);
+
+        assertEquals(new BigDecimal("0.92"), served.rates().get("USD_EUR"));
+        assertEquals(new BigDecimal("0.93"), refreshed.rates().get("USD_EUR"));
+        verify(delegate, times(2)).getExchangeRates(request);
+    }
+
+    @Test
+    void givenFailingBackgroundRefresh_whenGetExchangeRates_thenKeepsServingCachedRates() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))))
+                .thenThrow(new ExternalApiException("Service Unavailable"));
+
+        cachingClient.getExchangeRates(request);
+        clock.advance(Duration.ofMinutes(4).plusSeconds(30));
+        ExchangeRateResponse served = cachingClient.getExchangeRates(request);
+
+        assertEquals(new BigDecimal("0.92"), served.rates().get("USD_EUR"));
+    }
+
+    @Test
+    void givenMoreSourcesThanMaximumSize_whenGetExchangeRates_thenEvictsLeastRecentlyRead() {
+        when(delegate.getExchangeRates(any())).thenAnswer(invocation -> {
+            ExchangeRateRequest request = invocation.getArgument(0);
+            return new ExchangeRateResponse(request.sourceCurrency(),
+                    Map.of(request.sourceCurrency() + "_TRY", BigDecimal.TEN));
+        });
+
+        cachingClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("TRY")));
+        clock.advance(Duration.ofSeconds(1));
+        cachingClient.getExchangeRates(new ExchangeRateRequest("EUR", List.of("TRY")));
+        clock.advance(Duration.ofSeconds(1));
+        cachingClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("TRY")));
+        clock.advance(Duration.ofSeconds(1));
+        cachingClient.getExchangeRates(new ExchangeRateRequest("GBP", List.of("TRY")));
+        cachingClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("TRY")));
+
+        assertEquals(2, cachingClient.size());
+        verify(delegate, times(1)).getExchangeRates(new ExchangeRateRequest("USD", List.of("TRY")));
+        verify(delegate, times(1)).getExchangeRates(new ExchangeRateRequest("EUR", List.of("TRY")));
+    }
+
+    @Test
+    void givenDelegateFailure_whenGetExchangeRates_thenPropagatesAndCachesNothing() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request)).thenThrow(new ExternalApiException("Service Unavailable"));
+
+        assertThrows(ExternalApiException.class, () -> cachingClient.getExchangeRates(request));
+        assertEquals(0, cachingClient.size());
+    }
+
+    @Test
+    void givenExpiredRatesWithinStaleIfError_whenProviderFails_thenServesLastKnownRates() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))))
+                .thenThrow(new ExternalApiException("Service Unavailable"));
+
+        cachingClient.getExchangeRates(request);
+        clock.advance(Duration.ofMinutes(20));
+        ExchangeRateResponse stale = cachingClient.getExchangeRates(request);
+
+        assertEquals(new BigDecimal("0.92"), stale.rates().get("USD_EUR"));
+        verify(delegate, times(2)).getExchangeRates(request);
+    }
+
+    @Test
+    void givenExpiredRatesWithinStaleIfError_whenProviderAnswers503_thenServesLastKnownRates() throws IOException {
+        try (MockWebServer provider = new MockWebServer()) {
+            provider.enqueue(new MockResponse()
+                    .setBody("{\"success\":true,\"source\":\"USD\",\"timestamp\":1697059200,\"quotes\":{\"USDEUR\":0.92}}")
+                    .addHeader("Content-Type", "application/json"));
+            provider.enqueue(new MockResponse().setResponseCode(503));
+            CurrencyLayerClient currencyLayer = new CurrencyLayerClient(
+                    WebClient.builder(), provider.url("/").toString(), "test-access-key", Duration.ofSeconds(1));
+            CachingExchangeRateClient client = new CachingExchangeRateClient(
+                    currencyLayer, Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofMinutes(30), 2, Runnable::run, clock);
+            ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+
+            client.getExchangeRates(request);
+            clock.advance(Duration.ofMinutes(20));
+            ExchangeRateResponse stale = client.getExchangeRates(request);
+
+            assertEquals(0, new BigDecimal("0.92").compareTo(stale.rates().get("USD_EUR")));
+            assertEquals(2, provider.getRequestCount());
+        }
+    }
+
+    @Test
+    void givenRatesOlderThanStaleIfError_whenProviderFails_thenPropagatesError() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))))
+                .thenThrow(new ExternalApiException("Service Unavailable"));
+
+        cachingClient.getExchangeRates(request);
+        clock.advance(Duration.ofMinutes(36));
+
+        assertThrows(ExternalApiException.class, () -> cachingClient.getExchangeRates(request));
+    }
+
+    @Test
+    void givenPreloadedRates_whenGetExchangeRatesWithinTtl_thenDelegateIsNotCalled() {
+        cachingClient.preload(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))),
+                START.minus(Duration.ofMinutes(2)));
+
+        ExchangeRateResponse response = cachingClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR")));
+
+        assertEquals(new BigDecimal("0.92"), response.rates().get("USD_EUR"));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void givenPreloadedRatesOlderThanTtl_whenGetExchangeRates_thenReloadsFromDelegate() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        cachingClient.preload(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))),
+                START.minus(Duration.ofMinutes(6)));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.93"))));
+
+        assertEquals(new BigDecimal("0.93"), cachingClient.getExchangeRates(request).rates().get("USD_EUR"));
+    }
+
+    @Test
+    void givenCachedRates_whenPreload_thenKeepsCachedEntry() {
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+        when(delegate.getExchangeRates(request))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+        cachingClient.getExchangeRates(request);
+
+        cachingClient.preload(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.80"))), START);
+
+        assertEquals(new BigDecimal("0.92"), cachingClient.getExchangeRates(request).rates().get("USD_EUR"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.ProviderCallCancelledException;
+import com.exchanger.exception.RateLimitExceededException;
+import com.exchanger.exception.UnsupportedCurrencyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+    private static final ExchangeRateResponse RESPONSE =
+            new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+
+    @Mock
+    private ExchangeRateClient delegate;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private CircuitBreakerExchangeRateClient breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreakerExchangeRateClient("currencyLayerClient", delegate, 3, Duration.ofSeconds(30), nanoTime::get);
+    }
+
+    @Test
+    void givenConsecutiveFailuresReachThreshold_whenGetExchangeRates_thenOpensAndFailsFast() {
+        when(delegate.getExchangeRates(REQUEST)).thenThrow(new ExternalApiException("Service Unavailable"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ExternalApiException.class, () -> breaker.getExchangeRates(REQUEST));
+        }
+        ExternalApiException rejected = assertThrows(ExternalApiException.class, () -> breaker.getExchangeRates(REQUEST));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals("Exchange rate provider currencyLayerClient is unavailable, try again later", rejected.getMessage());
+        verify(delegate, times(3)).getExchangeRates(REQUEST);
+    }
+
+    @Test
+    void givenSuccessBetweenFailures_whenGetExchangeRates_thenStaysClosed() {
+        when(delegate.getExchangeRates(REQUEST))
+                .thenThrow(new ExternalApiException("Service Unavailable"))
+                .thenThrow(new ExternalApiException("Service Unavailable"))
+                .thenReturn(RESPONSE)
+                .thenThrow(new ExternalApiException("Service Unavailable"));
+
+        assertThrows(ExternalApiException.class, () -> breaker.getExchangeRates(REQUEST));
+        assertThrows(ExternalApiException.class, () -> breaker.getExchangeRates(REQUEST));
+        breaker.getExchangeRates(REQUEST);
+        assertThrows(ExternalApiException.class, () -> breaker.getExchangeRates(REQUEST));
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void givenOpenDurationPassed_whenTrialCallSucceeds_thenCloses() {
+        openBreaker();
+        reset(delegate);
+        when(delegate.getExchangeRates(REQUEST)).thenReturn(RESPONSE);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertEquals(RESPONSE, breaker.getExchangeRates(REQUEST));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void givenOpenDurationPassed_whenTrialCallFails_thenReopens() {
+        openBreaker();
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertThrows(ExternalApiException.class, () -> breaker.getExchangeRates(REQUEST));
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        verify(delegate, times(4)).getExchangeRates(REQUEST);
+    }
+
+    @Test
+    void givenRateLimitRejections_whenGetExchangeRates_thenBreakerIgnoresThem() {
+        when(delegate.getExchangeRates(REQUEST)).thenThrow(new RateLimitExceededException("Exchange rate provider rate limit exceeded"));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(RateLimitExceededException.class, () -> breaker.getExchangeRates(REQUEST));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void givenRepeatedUnsupportedCurrency_whenGetExchangeRates_thenBreakerStaysClosed() {
+        ExchangeRateRequest invalid = new ExchangeRateRequest("XYZ", List.of("EUR"));
+        when(delegate.getExchangeRates(invalid)).thenThrow(new UnsupportedCurrencyException("You have provided an invalid Source Currency."));
+        when(delegate.getExchangeRates(REQUEST)).thenReturn(RESPONSE);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(UnsupportedCurrencyException.class, () -> breaker.getExchangeRates(invalid));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(RESPONSE, breaker.getExchangeRates(REQUEST));
+    }
+
+    @Test
+    void givenCancelledTrialCall_whenGetExchangeRates_thenReleasesPermitWithoutReopening() {
+        openBreaker();
+        reset(delegate);
+        when(delegate.getExchangeRates(REQUEST))
+                .thenThrow(new ProviderCallCancelledException("Interrupted while waiting for exchange rates", new InterruptedException()))
+                .thenReturn(RESPONSE);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertThrows(ProviderCallCancelledException.class, () -> breaker.getExchangeRates(REQUEST));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        assertEquals(RESPONSE, breaker.getExchangeRates(REQUEST));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void givenInterruptedCaller_whenDelegateFails_thenBreakerIgnoresIt() {
+        when(delegate.getExchangeRates(REQUEST)).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("java.lang.InterruptedException");
+        });
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertThrows(IllegalStateException.class, () -> breaker.getExchangeRates(REQUEST));
+            }
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private void openBreaker() {
+        when(delegate.getExchangeRates(REQUEST)).thenThrow(new ExternalApiException("Service Unavailable"));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ExternalApiException.class, () -> breaker.getExchangeRates(REQUEST));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+}
@@ -0,0 +1,138 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.UnsupportedCurrencyException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerReactiveExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+    private static final ExchangeRateResponse RESPONSE =
+            new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CircuitBreaker breaker = new CircuitBreaker("currencyLayerClient", 3, Duration.ofSeconds(30), nanoTime::get);
+
+    private ReactiveExchangeRateClient provider(Mono<ExchangeRateResponse> result) {
+        return request -> Mono.defer(() -> {
+            calls.incrementAndGet();
+            return result;
+        });
+    }
+
+    @Test
+    void givenOpenBreaker_whenFetch_thenErrorsWithoutCallingProvider() {
+        // Given
+        CircuitBreakerReactiveExchangeRateClient client = new CircuitBreakerReactiveExchangeRateClient(
+                provider(Mono.error(new ExternalApiException("Provider is down"))), breaker);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ExternalApiException.class, () -> client.fetchExchangeRates(REQUEST).block());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        // When
+        Mono<ExchangeRateResponse> rejected = client.fetchExchangeRates(REQUEST);
+
+        // Then
+        ExternalApiException exception = assertThrows(ExternalApiException.class, rejected::block);
+        assertTrue(exception.getMessage().contains("unavailable"));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void givenBreakerOpenedByBlockingClient_whenFetch_thenReactiveClientIsRejectedToo() {
+        // Given
+        ExchangeRateClient failing = request -> {
+            throw new ExternalApiException("Provider is down");
+        };
+        CircuitBreakerExchangeRateClient blocking = new CircuitBreakerExchangeRateClient(failing, breaker);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ExternalApiException.class, () -> blocking.getExchangeRates(REQUEST));
+        }
+        CircuitBreakerReactiveExchangeRateClient reactive =
+                new CircuitBreakerReactiveExchangeRateClient(provider(Mono.just(RESPONSE)), breaker);
+
+        // When
+        Mono<ExchangeRateResponse> rejected = reactive.fetchExchangeRates(REQUEST);
+
+        // Then
+        assertThrows(ExternalApiException.class, rejected::block);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void givenOpenDurationElapsed_whenTrialFetchSucceeds_thenClosesBreaker() {
+        // Given
+        CircuitBreakerReactiveExchangeRateClient failing = new CircuitBreakerReactiveExchangeRateClient(
+                provider(Mono.error(new ExternalApiException("Provider is down"))), breaker);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ExternalApiException.class, () -> failing.fetchExchangeRates(REQUEST).block());
+        }
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+        CircuitBreakerReactiveExchangeRateClient recovered =
+                new CircuitBreakerReactiveExchangeRateClient(provider(Mono.just(RESPONSE)), breaker);
+
+        // When
+        ExchangeRateResponse response = recovered.fetchExchangeRates(REQUEST).block();
+
+        // Then
+        assertEquals(RESPONSE, response);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void givenUnsupportedCurrency_whenFetch_thenBreakerStaysClosed() {
+        // Given
+        CircuitBreakerReactiveExchangeRateClient client = new CircuitBreakerReactiveExchangeRateClient(
+                provider(Mono.error(new UnsupportedCurrencyException("Unknown currency XXX"))), breaker);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThrows(UnsupportedCurrencyException.class, () -> client.fetchExchangeRates(REQUEST).block());
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void givenCancelledTrialFetch_whenFetchAgain_thenTrialPermitWasReturned() {
+        // Given
+        CircuitBreakerReactiveExchangeRateClient failing = new CircuitBreakerReactiveExchangeRateClient(
+                provider(Mono.error(new ExternalApiException("Provider is down"))), breaker);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ExternalApiException.class, () -> failing.fetchExchangeRates(REQUEST).block());
+        }
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+        Sinks.One<ExchangeRateResponse> pending = Sinks.one();
+        CircuitBreakerReactiveExchangeRateClient hanging =
+                new CircuitBreakerReactiveExchangeRateClient(provider(pending.asMono()), breaker);
+
+        // When
+        hanging.fetchExchangeRates(REQUEST).subscribe().dispose();
+
+        // Then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        CircuitBreakerReactiveExchangeRateClient recovered =
+                new CircuitBreakerReactiveExchangeRateClient(provider(Mono.just(RESPONSE)), breaker);
+        assertEquals(RESPONSE, recovered.fetchExchangeRates(REQUEST).block());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+}
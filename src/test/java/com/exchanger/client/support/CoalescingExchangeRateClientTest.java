@@ -0,0 +1,163 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingExchangeRateClientTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentRequestsForSameSource_whenGetExchangeRates_thenSharesOneUpstreamCall() throws Exception {
+        BlockingDelegate delegate = new BlockingDelegate(request -> new ExchangeRateResponse(
+                "USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+        CoalescingExchangeRateClient client = new CoalescingExchangeRateClient(delegate);
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+
+        Future<ExchangeRateResponse> leader = executor.submit(() -> client.getExchangeRates(request));
+        delegate.awaitCall();
+        List<Future<ExchangeRateResponse>> followers = submitAndAwaitWaiting(client, request, 5);
+        delegate.release();
+
+        ExchangeRateResponse expected = leader.get(5, TimeUnit.SECONDS);
+        for (Future<ExchangeRateResponse> follower : followers) {
+            assertSame(expected, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, delegate.requests.size());
+    }
+
+    @Test
+    void givenRequestsForUncoveredTargets_whenGetExchangeRates_thenBatchesThemIntoOneFollowUpCall() throws Exception {
+        BlockingDelegate delegate = new BlockingDelegate(request -> {
+            Map<String, BigDecimal> rates = new HashMap<>();
+            request.targetCurrencies().forEach(t -> rates.put("USD_" + t, BigDecimal.ONE));
+            return new ExchangeRateResponse("USD", rates);
+        });
+        CoalescingExchangeRateClient client = new CoalescingExchangeRateClient(delegate);
+
+        executor.submit(() -> client.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR"))));
+        delegate.awaitCall();
+        List<Future<ExchangeRateResponse>> gbp = submitAndAwaitWaiting(
+                client, new ExchangeRateRequest("USD", List.of("GBP")), 1);
+        List<Future<ExchangeRateResponse>> jpy = submitAndAwaitWaiting(
+                client, new ExchangeRateRequest("USD", List.of("JPY")), 1);
+        delegate.release();
+
+        ExchangeRateResponse gbpResponse = gbp.getFirst().get(5, TimeUnit.SECONDS);
+        ExchangeRateResponse jpyResponse = jpy.getFirst().get(5, TimeUnit.SECONDS);
+
+        assertSame(gbpResponse, jpyResponse);
+        assertTrue(gbpResponse.rates().containsKey("USD_GBP"));
+        assertTrue(gbpResponse.rates().containsKey("USD_JPY"));
+        assertEquals(2, delegate.requests.size());
+        assertEquals(Set.of("GBP", "JPY"), new HashSet<>(delegate.requests.get(1).targetCurrencies()));
+    }
+
+    @Test
+    void givenUpstreamFailure_whenGetExchangeRates_thenEveryWaiterFails() throws Exception {
+        BlockingDelegate delegate = new BlockingDelegate(request -> {
+            throw new ExternalApiException("Service Unavailable");
+        });
+        CoalescingExchangeRateClient client = new CoalescingExchangeRateClient(delegate);
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+
+        Future<ExchangeRateResponse> leader = executor.submit(() -> client.getExchangeRates(request));
+        delegate.awaitCall();
+        List<Future<ExchangeRateResponse>> followers = submitAndAwaitWaiting(client, request, 3);
+        delegate.release();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ExternalApiException.class, leaderFailure.getCause());
+        for (Future<ExchangeRateResponse> follower : followers) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ExternalApiException.class, failure.getCause());
+        }
+        assertEquals(1, delegate.requests.size());
+    }
+
+    @Test
+    void givenSequentialRequests_whenGetExchangeRates_thenEachCallsUpstream() {
+        BlockingDelegate delegate = new BlockingDelegate(request -> new ExchangeRateResponse("USD", Map.of()));
+        delegate.release();
+        CoalescingExchangeRateClient client = new CoalescingExchangeRateClient(delegate);
+        ExchangeRateRequest request = new ExchangeRateRequest("USD", List.of("EUR"));
+
+        client.getExchangeRates(request);
+        client.getExchangeRates(request);
+
+        assertEquals(List.of(request, request), delegate.requests);
+    }
+
+    private List<Future<ExchangeRateResponse>> submitAndAwaitWaiting(
+            CoalescingExchangeRateClient client, ExchangeRateRequest request, int count) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        List<Future<ExchangeRateResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<ExchangeRateResponse> future = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    future.complete(client.getExchangeRates(request));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+            futures.add(future);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+        return futures;
+    }
+
+    private static final class BlockingDelegate implements ExchangeRateClient {
+        private final Function<ExchangeRateRequest, ExchangeRateResponse> answer;
+        private final List<ExchangeRateRequest> requests = new CopyOnWriteArrayList<>();
+        private final CountDownLatch called = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private BlockingDelegate(Function<ExchangeRateRequest, ExchangeRateResponse> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public ExchangeRateResponse getExchangeRates(ExchangeRateRequest request) {
+            requests.add(request);
+            called.countDown();
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return answer.apply(request);
+        }
+
+        private void awaitCall() throws InterruptedException {
+            assertTrue(called.await(5, TimeUnit.SECONDS));
+        }
+
+        private void release() {
+            released.countDown();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+
+    @Test
+    void givenFastPrimary_whenGetExchangeRates_thenOnlyPrimaryIsCalled() {
+        AtomicInteger secondaryCalls = new AtomicInteger();
+        HedgingExchangeRateClient client = client(Duration.ofSeconds(5),
+                "primary", answering("0.92"),
+                "secondary", request -> {
+                    secondaryCalls.incrementAndGet();
+                    return response("0.93");
+                });
+
+        assertEquals(new BigDecimal("0.92"), client.getExchangeRates(REQUEST).rates().get("USD_EUR"));
+        assertEquals(0, secondaryCalls.get());
+    }
+
+    @Test
+    void givenSlowPrimary_whenHedgeDelayPasses_thenSecondaryAnswersAndPrimaryIsCancelled() throws Exception {
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        HedgingExchangeRateClient client = client(Duration.ofMillis(50),
+                "primary", request -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        primaryInterrupted.countDown();
+                        Thread.currentThread().interrupt();
+                    }
+                    return response("0.92");
+                },
+                "secondary", answering("0.93"));
+
+        long start = System.nanoTime();
+        ExchangeRateResponse response = client.getExchangeRates(REQUEST);
+
+        assertEquals(new BigDecimal("0.93"), response.rates().get("USD_EUR"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS), "The losing call should be cancelled");
+    }
+
+    @Test
+    void givenFailingPrimary_whenGetExchangeRates_thenFailsOverAndRanksPrimaryLast() {
+        HedgingExchangeRateClient client = client(Duration.ofSeconds(5),
+                "primary", request -> {
+                    throw new ExternalApiException("primary down");
+                },
+                "secondary", answering("0.93"));
+
+        assertEquals(new BigDecimal("0.93"), client.getExchangeRates(REQUEST).rates().get("USD_EUR"));
+        assertEquals(List.of("secondary", "primary"), client.ranking());
+    }
+
+    @Test
+    void givenAllProvidersFailing_whenGetExchangeRates_thenThrowsLastError() {
+        HedgingExchangeRateClient client = client(Duration.ofSeconds(5),
+                "primary", request -> {
+                    throw new ExternalApiException("primary down");
+                },
+                "secondary", request -> {
+                    throw new ExternalApiException("secondary down");
+                });
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class, () -> client.getExchangeRates(REQUEST));
+        assertEquals("secondary down", exception.getMessage());
+    }
+
+    @Test
+    void givenMeasuredAlternate_whenPrimaryRecovers_thenMeasuredProviderStaysPreferred() {
+        AtomicInteger primaryCalls = new AtomicInteger();
+        Map<String, ExchangeRateClient> providers = new LinkedHashMap<>();
+        providers.put("primary", request -> {
+            if (primaryCalls.incrementAndGet() <= HedgingExchangeRateClient.MIN_SAMPLES) {
+                throw new ExternalApiException("primary down");
+            }
+            return response("0.92");
+        });
+        providers.put("secondary", answering("0.93"));
+        // A hedge floor well above the secondary's latency, so only failures reach the primary
+        HedgingExchangeRateClient client = new HedgingExchangeRateClient(
+                providers, 0.95, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ZERO);
+
+        for (int i = 0; i < HedgingExchangeRateClient.MIN_SAMPLES; i++) {
+            assertEquals(new BigDecimal("0.93"), client.getExchangeRates(REQUEST).rates().get("USD_EUR"));
+        }
+
+        assertEquals(List.of("secondary", "primary"), client.ranking());
+        assertEquals(new BigDecimal("0.93"), client.getExchangeRates(REQUEST).rates().get("USD_EUR"));
+        assertEquals(HedgingExchangeRateClient.MIN_SAMPLES, primaryCalls.get());
+    }
+
+    @Test
+    void givenPrimaryKeepsLosing_whenCancelled_thenItsCensoredLatencyRanksItBehindSecondary() throws Exception {
+        AtomicInteger primaryCalls = new AtomicInteger();
+        Map<String, ExchangeRateClient> providers = new LinkedHashMap<>();
+        providers.put("primary", request -> {
+            if (primaryCalls.incrementAndGet() > HedgingExchangeRateClient.MIN_SAMPLES) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return response("0.92");
+        });
+        providers.put("secondary", answering("0.93"));
+        HedgingExchangeRateClient client = new HedgingExchangeRateClient(
+                providers, 0.95, Duration.ofSeconds(5), Duration.ofMillis(20), Duration.ZERO);
+        for (int i = 0; i < HedgingExchangeRateClient.MIN_SAMPLES; i++) {
+            client.getExchangeRates(REQUEST);
+        }
+        assertEquals(List.of("primary", "secondary"), client.ranking());
+
+        for (int i = 0; i <= HedgingExchangeRateClient.MIN_SAMPLES; i++) {
+            assertEquals(new BigDecimal("0.93"), client.getExchangeRates(REQUEST).rates().get("USD_EUR"));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!client.ranking().getFirst().equals("secondary") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("secondary", "primary"), client.ranking());
+    }
+
+    @Test
+    void givenProvidersThrowingErrors_whenGetExchangeRates_thenFailsInsteadOfWaitingForever() {
+        HedgingExchangeRateClient client = client(Duration.ofSeconds(30),
+                "primary", request -> {
+                    throw new NoClassDefFoundError("com/example/Missing");
+                },
+                "secondary", request -> {
+                    throw new StackOverflowError();
+                });
+
+        ExternalApiException exception = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(ExternalApiException.class, () -> client.getExchangeRates(REQUEST)));
+
+        assertInstanceOf(StackOverflowError.class, exception.getCause());
+    }
+
+    private static HedgingExchangeRateClient client(Duration hedgeDelay, String firstName, ExchangeRateClient first,
+                                                    String secondName, ExchangeRateClient second) {
+        Map<String, ExchangeRateClient> providers = new LinkedHashMap<>();
+        providers.put(firstName, first);
+        providers.put(secondName, second);
+        return new HedgingExchangeRateClient(providers, 0.95, hedgeDelay, Duration.ZERO, Duration.ofSeconds(30));
+    }
+
+    private static ExchangeRateClient answering(String rate) {
+        return request -> response(rate);
+    }
+
+    private static ExchangeRateResponse response(String rate) {
+        return new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal(rate)));
+    }
+}
@@ -0,0 +1,41 @@
+package com.exchanger.client.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyWindowTest {
+
+    @Test
+    void givenTooFewSamples_whenPercentile_thenReturnsUnknown() {
+        LatencyWindow window = new LatencyWindow(8);
+        window.record(10);
+
+        assertEquals(-1, window.percentile(0.5, 2));
+    }
+
+    @Test
+    void givenSamples_whenPercentile_thenReturnsNearestRank() {
+        LatencyWindow window = new LatencyWindow(100);
+        for (int i = 100; i >= 1; i--) {
+            window.record(i);
+        }
+
+        assertEquals(50, window.percentile(0.5, 1));
+        assertEquals(95, window.percentile(0.95, 1));
+        assertEquals(100, window.percentile(1.0, 1));
+    }
+
+    @Test
+    void givenFullWindow_whenRecord_thenOldestSamplesAreDropped() {
+        LatencyWindow window = new LatencyWindow(4);
+        for (int i = 1; i <= 4; i++) {
+            window.record(1_000);
+        }
+        for (int i = 1; i <= 4; i++) {
+            window.record(i);
+        }
+
+        assertEquals(4, window.percentile(1.0, 4));
+    }
+}
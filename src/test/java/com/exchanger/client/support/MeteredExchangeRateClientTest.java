@@ -0,0 +1,74 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+    private static final ExchangeRateResponse RESPONSE =
+            new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenSuccessfulAndFailingCalls_whenGetExchangeRates_thenTimesEachByOutcomeAndCountsErrors() {
+        ExchangeRateClient succeeding = new MeteredExchangeRateClient("currencyLayerClient", request -> RESPONSE, meterRegistry);
+        ExchangeRateClient failing = new MeteredExchangeRateClient("currencyLayerClient", request -> {
+            throw new ExternalApiException("down");
+        }, meterRegistry);
+
+        assertSame(RESPONSE, succeeding.getExchangeRates(REQUEST));
+        assertThrows(ExternalApiException.class, () -> failing.getExchangeRates(REQUEST));
+
+        assertEquals(1, timerCount("success"));
+        assertEquals(1, timerCount("error"));
+        assertEquals(1, meterRegistry.get(MeteredExchangeRateClient.ERRORS)
+                .tags("provider", "currencyLayerClient", "exception", "ExternalApiException").counter().count());
+    }
+
+    @Test
+    void givenReactiveCalls_whenFetchExchangeRates_thenRecordsIntoTheSameMeters() {
+        ReactiveExchangeRateClient succeeding = new MeteredReactiveExchangeRateClient(
+                "currencyLayerClient", request -> Mono.just(RESPONSE), meterRegistry);
+        ReactiveExchangeRateClient failing = new MeteredReactiveExchangeRateClient(
+                "currencyLayerClient", request -> Mono.error(new ExternalApiException("down")), meterRegistry);
+
+        assertSame(RESPONSE, succeeding.fetchExchangeRates(REQUEST).block());
+        assertThrows(ExternalApiException.class, () -> failing.fetchExchangeRates(REQUEST).block());
+
+        assertEquals(1, timerCount("success"));
+        assertEquals(1, timerCount("error"));
+    }
+
+    @Test
+    void givenUnknownSourceCurrencies_whenGetExchangeRates_thenTagsThemAsOther() {
+        ExchangeRateClient client = new MeteredExchangeRateClient("currencyLayerClient", request -> RESPONSE, meterRegistry);
+
+        client.getExchangeRates(new ExchangeRateRequest("ZZZ", List.of("EUR")));
+        client.getExchangeRates(new ExchangeRateRequest("usd", List.of("EUR")));
+        client.getExchangeRates(new ExchangeRateRequest("DROP TABLE", List.of("EUR")));
+
+        assertEquals(3, meterRegistry.get(MeteredExchangeRateClient.REQUESTS)
+                .tags("source", MeteredExchangeRateClient.OTHER_CURRENCY).timer().count());
+        assertEquals(1, meterRegistry.get(MeteredExchangeRateClient.REQUESTS).timers().size());
+    }
+
+    private long timerCount(String outcome) {
+        return meterRegistry.get(MeteredExchangeRateClient.REQUESTS)
+                .tags("provider", "currencyLayerClient", "source", "USD", "outcome", outcome)
+                .timer().count();
+    }
+}
@@ -0,0 +1,125 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitedReactiveExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<Long> callTimes = new ArrayList<>();
+    private final ReactiveExchangeRateClient provider = request -> Mono.fromSupplier(() -> {
+        calls.incrementAndGet();
+        callTimes.add(nanoTime.get());
+        return new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+    });
+
+    @Test
+    void givenAvailablePermit_whenFetch_thenCallsProviderOnSubscription() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, nanoTime::get);
+        RateLimitedReactiveExchangeRateClient client =
+                new RateLimitedReactiveExchangeRateClient(provider, limiter, Duration.ZERO);
+
+        Mono<ExchangeRateResponse> mono = client.fetchExchangeRates(REQUEST);
+        assertEquals(0, calls.get());
+
+        assertEquals(new BigDecimal("0.92"), mono.block().rates().get("USD_EUR"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void givenNoPermitWithinMaxWait_whenFetch_thenErrorsWithoutCallingProvider() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, nanoTime::get);
+        RateLimitedReactiveExchangeRateClient client =
+                new RateLimitedReactiveExchangeRateClient(provider, limiter, Duration.ofMillis(100));
+
+        client.fetchExchangeRates(REQUEST).block();
+        Mono<ExchangeRateResponse> limited = client.fetchExchangeRates(REQUEST);
+
+        ExternalApiException exception = assertThrows(ExternalApiException.class, limited::block);
+        assertEquals("Exchange rate provider rate limit exceeded", exception.getMessage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void givenPermitWithinMaxWait_whenFetch_thenDelaysInsteadOfFailing() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 1, nanoTime::get);
+        FakeTimer timer = new FakeTimer();
+        RateLimitedReactiveExchangeRateClient client =
+                new RateLimitedReactiveExchangeRateClient(provider, limiter, Duration.ofSeconds(1), timer);
+        client.fetchExchangeRates(REQUEST).block();
+
+        // When
+        ExchangeRateResponse response = client.fetchExchangeRates(REQUEST).block();
+
+        // Then
+        assertEquals(new BigDecimal("0.92"), response.rates().get("USD_EUR"));
+        assertEquals(List.of(Duration.ofMillis(50)), timer.delays);
+        assertEquals(List.of(0L, Duration.ofMillis(50).toNanos()), callTimes);
+    }
+
+    @Test
+    void givenCancelWhileWaitingForPermit_whenFetch_thenGivesThePermitBack() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, nanoTime::get);
+        RateLimitedReactiveExchangeRateClient client =
+                new RateLimitedReactiveExchangeRateClient(provider, limiter, Duration.ofSeconds(10));
+        client.fetchExchangeRates(REQUEST).block();
+
+        // When
+        client.fetchExchangeRates(REQUEST).subscribe().dispose();
+
+        // Then
+        assertEquals(1, calls.get());
+        assertEquals(1, limiter.grantedPermits());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.reserve(TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Runs delayed tasks at once, after moving the fake clock forward by their delay.
+     */
+    private final class FakeTimer implements Scheduler {
+
+        private final List<Duration> delays = new ArrayList<>();
+
+        @Override
+        public Disposable schedule(Runnable task) {
+            task.run();
+            return Disposables.disposed();
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            delays.add(Duration.ofNanos(unit.toNanos(delay)));
+            nanoTime.addAndGet(unit.toNanos(delay));
+            return schedule(task);
+        }
+
+        @Override
+        public Worker createWorker() {
+            return Schedulers.immediate().createWorker();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecordingExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+
+    private final ExchangeRateClient delegate = mock(ExchangeRateClient.class);
+
+    @Test
+    void givenSuccessfulFetch_whenGetExchangeRates_thenResponseIsRecorded() {
+        ExchangeRateResponse response = new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+        when(delegate.getExchangeRates(REQUEST)).thenReturn(response);
+        List<ExchangeRateResponse> recorded = new ArrayList<>();
+
+        ExchangeRateResponse result = new RecordingExchangeRateClient(delegate, recorded::add).getExchangeRates(REQUEST);
+
+        assertSame(response, result);
+        assertEquals(List.of(response), recorded);
+    }
+
+    @Test
+    void givenFailingRecorder_whenGetExchangeRates_thenResponseIsStillReturned() {
+        ExchangeRateResponse response = new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+        when(delegate.getExchangeRates(REQUEST)).thenReturn(response);
+
+        ExchangeRateResponse result = new RecordingExchangeRateClient(delegate, r -> {
+            throw new IllegalStateException("database down");
+        }).getExchangeRates(REQUEST);
+
+        assertSame(response, result);
+    }
+
+    @Test
+    void givenFailedFetch_whenGetExchangeRates_thenNothingIsRecorded() {
+        when(delegate.getExchangeRates(REQUEST)).thenThrow(new ExternalApiException("down"));
+        List<ExchangeRateResponse> recorded = new ArrayList<>();
+
+        RecordingExchangeRateClient client = new RecordingExchangeRateClient(delegate, recorded::add);
+
+        assertThrows(ExternalApiException.class, () -> client.getExchangeRates(REQUEST));
+        assertTrue(recorded.isEmpty());
+    }
+}
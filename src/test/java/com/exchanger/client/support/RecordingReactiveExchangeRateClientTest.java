@@ -0,0 +1,61 @@
+package com.exchanger.client.support;
+
+import com.exchanger.client.ReactiveExchangeRateClient;
+import com.exchanger.dto.requests.ExchangeRateRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecordingReactiveExchangeRateClientTest {
+
+    private static final ExchangeRateRequest REQUEST = new ExchangeRateRequest("USD", List.of("EUR"));
+    private static final ExchangeRateResponse RESPONSE =
+            new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")));
+
+    private final ReactiveExchangeRateClient delegate = mock(ReactiveExchangeRateClient.class);
+
+    @Test
+    void givenSuccessfulFetch_whenFetchExchangeRates_thenResponseIsRecorded() {
+        when(delegate.fetchExchangeRates(REQUEST)).thenReturn(Mono.just(RESPONSE));
+        List<ExchangeRateResponse> recorded = new ArrayList<>();
+
+        ExchangeRateResponse result = new RecordingReactiveExchangeRateClient(delegate, recorded::add)
+                .fetchExchangeRates(REQUEST).block();
+
+        assertSame(RESPONSE, result);
+        assertEquals(List.of(RESPONSE), recorded);
+    }
+
+    @Test
+    void givenFailingRecorder_whenFetchExchangeRates_thenResponseIsStillEmitted() {
+        when(delegate.fetchExchangeRates(REQUEST)).thenReturn(Mono.just(RESPONSE));
+
+        ExchangeRateResponse result = new RecordingReactiveExchangeRateClient(delegate, r -> {
+            throw new IllegalStateException("database down");
+        }).fetchExchangeRates(REQUEST).block();
+
+        assertSame(RESPONSE, result);
+    }
+
+    @Test
+    void givenFailedFetch_whenFetchExchangeRates_thenNothingIsRecorded() {
+        when(delegate.fetchExchangeRates(REQUEST)).thenReturn(Mono.error(new ExternalApiException("down")));
+        List<ExchangeRateResponse> recorded = new ArrayList<>();
+
+        Mono<ExchangeRateResponse> result = new RecordingReactiveExchangeRateClient(delegate, recorded::add)
+                .fetchExchangeRates(REQUEST);
+
+        assertThrows(ExternalApiException.class, result::block);
+        assertTrue(recorded.isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.exchanger.client.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void givenFullBucket_whenReserve_thenBurstIsGrantedImmediately() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 3, now::get);
+
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(0, limiter.reserve(0));
+    }
+
+    @Test
+    void givenEmptyBucket_whenReserve_thenCallersQueueAtTheRefillRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, now::get);
+
+        assertEquals(0, limiter.reserve(SECOND));
+        assertEquals(SECOND / 2, limiter.reserve(SECOND));
+        assertEquals(SECOND, limiter.reserve(SECOND));
+    }
+
+    @Test
+    void givenWaitBeyondTimeout_whenReserve_thenRejectsWithoutConsumingAPermit() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, now::get);
+
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(-1, limiter.reserve(SECOND / 2));
+        assertEquals(SECOND, limiter.reserve(SECOND));
+    }
+
+    @Test
+    void givenGrantedAndRejectedReservations_whenReadCounters_thenEachIsCounted() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, now::get);
+        limiter.reserve(0);
+        limiter.reserve(0);
+        limiter.reserve(0);
+
+        assertEquals(2, limiter.grantedPermits());
+        assertEquals(1, limiter.rejectedPermits());
+        assertEquals(0, limiter.availablePermits());
+
+        now.addAndGet(SECOND / 2);
+
+        assertEquals(0.5, limiter.availablePermits());
+    }
+
+    @Test
+    void givenIdlePeriod_whenReserve_thenRefillsUpToBurst() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, now::get);
+        limiter.reserve(0);
+        limiter.reserve(0);
+
+        now.addAndGet(10 * SECOND);
+
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(SECOND, limiter.reserve(SECOND));
+    }
+
+    @Test
+    void givenRealClock_whenTryAcquire_thenWaitsForShortReservationsAndRejectsLongOnes() {
+        TokenBucketRateLimiter fast = new TokenBucketRateLimiter(1000, 1);
+        TokenBucketRateLimiter slow = new TokenBucketRateLimiter(0.1, 1);
+
+        assertTrue(fast.tryAcquire(Duration.ZERO));
+        assertTrue(fast.tryAcquire(Duration.ofSeconds(1)));
+        assertTrue(slow.tryAcquire(Duration.ZERO));
+        assertFalse(slow.tryAcquire(Duration.ofMillis(100)));
+    }
+
+    @Test
+    void givenInterruptWhileWaiting_whenTryAcquire_thenGivesTheReservationBack() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, now::get);
+        assertEquals(0, limiter.reserve(0));
+
+        Thread.currentThread().interrupt();
+        boolean acquired = limiter.tryAcquire(Duration.ofSeconds(2));
+
+        assertTrue(Thread.interrupted());
+        assertFalse(acquired);
+        assertEquals(1, limiter.grantedPermits());
+        assertEquals(SECOND, limiter.reserve(SECOND));
+    }
+
+    @Test
+    void givenQueuedReservations_whenCancel_thenLaterCallersMoveUpOneInterval() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, now::get);
+        limiter.reserve(0);
+        limiter.reserve(2 * SECOND);
+        limiter.reserve(2 * SECOND);
+
+        limiter.cancel();
+        now.addAndGet(SECOND / 2);
+        limiter.cancel();
+        limiter.cancel();
+
+        assertEquals(1, limiter.availablePermits());
+        assertEquals(0, limiter.reserve(0));
+    }
+
+    @Test
+    void givenInvalidSettings_whenCreated_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0));
+    }
+}
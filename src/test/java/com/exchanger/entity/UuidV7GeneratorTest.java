@@ -0,0 +1,41 @@
+package com.exchanger.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void givenTimestamp_whenGenerate_thenEncodesVersionVariantAndMillis() {
+        long millis = 1_747_562_400_123L;
+
+        UUID uuid = UuidV7Generator.at(millis);
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(millis, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void givenLaterTimestamp_whenGenerate_thenSortsAfterEarlierIds() {
+        UUID earlier = UuidV7Generator.at(1_747_562_400_000L);
+        UUID later = UuidV7Generator.at(1_747_562_400_001L);
+
+        assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+    }
+
+    @Test
+    void givenSameMillisecond_whenGenerateMany_thenIdsAreUnique() {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.at(1_747_562_400_000L));
+        }
+
+        assertEquals(10_000, ids.size());
+    }
+}
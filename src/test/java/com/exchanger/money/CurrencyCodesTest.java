@@ -0,0 +1,31 @@
+package com.exchanger.money;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyCodesTest {
+
+    @Test
+    void givenThreeUppercaseLetters_whenSlot_thenPacksThemInBase26() {
+        assertEquals(0, CurrencyCodes.slot("AAA"));
+        assertEquals(26 * 26 * ('U' - 'A') + 26 * ('S' - 'A') + ('D' - 'A'), CurrencyCodes.slot("USD"));
+        assertEquals(CurrencyCodes.SLOTS - 1, CurrencyCodes.slot("ZZZ"));
+    }
+
+    @Test
+    void givenMalformedCode_whenSlot_thenReturnsMinusOne() {
+        assertEquals(-1, CurrencyCodes.slot(null));
+        assertEquals(-1, CurrencyCodes.slot("US"));
+        assertEquals(-1, CurrencyCodes.slot("USDX"));
+        assertEquals(-1, CurrencyCodes.slot("usd"));
+        assertEquals(-1, CurrencyCodes.slot("U$D"));
+    }
+
+    @Test
+    void givenSlot_whenCode_thenRestoresTheCurrencyCode() {
+        assertEquals("USD", CurrencyCodes.code(CurrencyCodes.slot("USD")));
+        assertEquals("AAA", CurrencyCodes.code(0));
+        assertEquals("ZZZ", CurrencyCodes.code(CurrencyCodes.SLOTS - 1));
+    }
+}
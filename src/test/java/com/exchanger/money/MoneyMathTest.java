@@ -0,0 +1,56 @@
+package com.exchanger.money;
+
+import com.exchanger.exception.InvalidAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyMathTest {
+
+    @Test
+    void givenCurrencyCodes_whenScale_thenReturnsDecimalsOfTheMinorUnit() {
+        assertEquals(2, MoneyMath.scale("USD"));
+        assertEquals(0, MoneyMath.scale("JPY"));
+        assertEquals(3, MoneyMath.scale("KWD"));
+        assertEquals(MoneyMath.DEFAULT_SCALE, MoneyMath.scale("XAU"));
+        assertEquals(MoneyMath.DEFAULT_SCALE, MoneyMath.scale("ABC"));
+        assertEquals(MoneyMath.DEFAULT_SCALE, MoneyMath.scale("usd"));
+    }
+
+    @Test
+    void givenProductOnAHalf_whenConvert_thenRoundsHalfEvenToTheTargetMinorUnit() {
+        assertEquals(new BigDecimal("1.12"), MoneyMath.convert(new BigDecimal("1"), "USD", new BigDecimal("1.125"), "EUR"));
+        assertEquals(new BigDecimal("1.14"), MoneyMath.convert(new BigDecimal("1"), "USD", new BigDecimal("1.135"), "EUR"));
+        assertEquals(new BigDecimal("14250"), MoneyMath.convert(new BigDecimal("100"), "USD", new BigDecimal("142.505"), "JPY"));
+        assertEquals(new BigDecimal("30.745"), MoneyMath.convert(new BigDecimal("100"), "USD", new BigDecimal("0.30745"), "KWD"));
+    }
+
+    @Test
+    void givenOverlyPreciseOperands_whenConvert_thenRoundsAmountAndRateBeforeMultiplying() {
+        BigDecimal rate = new BigDecimal("0.923456789012345");
+
+        assertEquals(new BigDecimal("0.9234567890"), MoneyMath.roundRate(rate));
+        assertEquals(new BigDecimal("100.00"), MoneyMath.roundAmount(new BigDecimal("100.004999"), "USD"));
+        assertEquals(new BigDecimal("92.35"), MoneyMath.convert(new BigDecimal("100.004999"), "USD", rate, "EUR"));
+    }
+
+    @Test
+    void givenSmallRate_whenRoundRate_thenKeepsTenSignificantDigits() {
+        assertEquals(new BigDecimal("0.00004312345679"), MoneyMath.roundRate(new BigDecimal("0.0000431234567891")));
+        assertEquals(new BigDecimal("431234.5679"), MoneyMath.roundRate(new BigDecimal("431234.567891")));
+    }
+
+    @Test
+    void givenAmountsFinerThanMinorUnit_whenRequireMinorUnits_thenRejectsThemButAcceptsTrailingZeros() {
+        assertEquals(new BigDecimal("1.500"), MoneyMath.requireMinorUnits(new BigDecimal("1.500"), "USD"));
+        assertEquals(new BigDecimal("1.001"), MoneyMath.requireMinorUnits(new BigDecimal("1.001"), "KWD"));
+        assertEquals(new BigDecimal("1E+3"), MoneyMath.requireMinorUnits(new BigDecimal("1E+3"), "JPY"));
+
+        InvalidAmountException exception = assertThrows(InvalidAmountException.class,
+                () -> MoneyMath.requireMinorUnits(new BigDecimal("0.001"), "USD"));
+        assertEquals("Amount 0.001 has more than 2 decimals, the minor unit of USD", exception.getMessage());
+        assertThrows(InvalidAmountException.class, () -> MoneyMath.requireMinorUnits(new BigDecimal("0.4"), "JPY"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.exchanger.repository;
+
+import com.exchanger.entity.CurrencyConversion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=3")
+class CurrencyConversionBulkRepositoryImplTest {
+
+    @Autowired
+    private CurrencyConversionRepository repository;
+
+    @Test
+    void givenMoreRowsThanBatchSize_whenInsertAll_thenPersistsAllWithTimeOrderedIds() {
+        List<CurrencyConversion> conversions = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            conversions.add(new CurrencyConversion("USD", "EUR", BigDecimal.valueOf(i + 1),
+                    BigDecimal.valueOf(i + 1).multiply(new BigDecimal("0.92")), new BigDecimal("0.92")));
+        }
+
+        List<CurrencyConversion> saved = repository.insertAll(conversions);
+
+        assertEquals(7, saved.size());
+        assertEquals(7, repository.count());
+        for (int i = 0; i < saved.size(); i++) {
+            assertNotNull(saved.get(i).getId());
+            assertEquals(7, saved.get(i).getId().version());
+            assertEquals(0, BigDecimal.valueOf(i + 1).compareTo(saved.get(i).getSourceAmount()));
+            assertTrue(repository.findById(saved.get(i).getId()).isPresent());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.exchanger.repository;
+
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+import com.exchanger.entity.CurrencyConversion;
+import com.exchanger.exception.InvalidCursorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+class CurrencyConversionHistoryRepositoryImplTest {
+
+    private static final LocalDateTime START = LocalDate.of(2025, 5, 18).atStartOfDay();
+    private static final LocalDateTime END = START.plusDays(1);
+
+    @Autowired
+    private CurrencyConversionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        List<CurrencyConversion> conversions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Pairs of rows share a timestamp, so the id breaks the tie
+            conversions.add(conversion(i % 3 == 0 ? "GBP" : "USD", START.plusHours(i / 2)));
+        }
+        conversions.add(conversion("USD", START.minusSeconds(1)));
+        conversions.add(conversion("USD", END));
+        repository.insertAll(conversions);
+    }
+
+    @Test
+    void givenCursor_whenFindSlice_thenWalksRangeInKeyOrderWithoutGapsOrDuplicates() {
+        List<CurrencyConversionHistoryResponse> walked = new ArrayList<>();
+        HistoryCursor cursor = null;
+        do {
+            List<CurrencyConversionHistoryResponse> slice = repository.findSlice(START, END, null, null, cursor, 3);
+            walked.addAll(slice);
+            CurrencyConversionHistoryResponse last = slice.isEmpty() ? null : slice.getLast();
+            cursor = slice.size() < 3 ? null : new HistoryCursor(last.transactionDate(), last.transactionId());
+        } while (cursor != null);
+
+        assertEquals(10, walked.size());
+        assertEquals(10, walked.stream().map(CurrencyConversionHistoryResponse::transactionId).distinct().count());
+        for (int i = 1; i < walked.size(); i++) {
+            assertFalse(walked.get(i).transactionDate().isBefore(walked.get(i - 1).transactionDate()));
+        }
+        assertEquals(10, repository.countInRange(START, END, null, null));
+    }
+
+    @Test
+    void givenPair_whenFindSliceAndCount_thenOnlyThatPairIsReturned() {
+        List<CurrencyConversionHistoryResponse> slice = repository.findSlice(START, END, "GBP", "EUR", null, 100);
+
+        assertEquals(4, slice.size());
+        assertTrue(slice.stream().allMatch(c -> c.sourceCurrency().equals("GBP")));
+        assertEquals(4, repository.countInRange(START, END, "GBP", "EUR"));
+    }
+
+    @Test
+    void givenDateRange_whenFindHistoryPage_thenMapsRowsAndCountsTotal() {
+        Page<CurrencyConversionHistoryResponse> page = repository.findHistoryByPairAndTransactionDateBetween(
+                "USD", "EUR", START, END.minusNanos(1000), PageRequest.of(1, 2, Sort.by("transactionDate", "id")));
+
+        assertEquals(6, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        CurrencyConversionHistoryResponse row = page.getContent().getFirst();
+        assertEquals(0, new BigDecimal("9.20").compareTo(row.convertedAmount()));
+        assertEquals(row, repository.findHistoryById(row.transactionId()).orElseThrow());
+    }
+
+    @Test
+    void givenRange_whenStreamRange_thenStreamsRowsOfRangeInKeyOrder() {
+        List<CurrencyConversionHistoryResponse> streamed;
+        try (Stream<CurrencyConversionHistoryResponse> rows = repository.streamRange(START, END, null, null)) {
+            streamed = rows.toList();
+        }
+
+        assertEquals(repository.findSlice(START, END, null, null, null, 100), streamed);
+        assertEquals(4, repository.streamRange(START, END, "GBP", "EUR").count());
+    }
+
+    @Test
+    void givenEncodedCursor_whenDecode_thenRoundTrips() {
+        HistoryCursor cursor = new HistoryCursor(START.plusNanos(123_000), UUID.randomUUID());
+
+        assertEquals(cursor, HistoryCursor.decode(cursor.encode()));
+        assertThrows(InvalidCursorException.class, () -> HistoryCursor.decode("not a cursor"));
+    }
+
+    private static CurrencyConversion conversion(String source, LocalDateTime transactionDate) {
+        CurrencyConversion conversion = new CurrencyConversion(source, "EUR", BigDecimal.TEN,
+                new BigDecimal("9.20"), new BigDecimal("0.92"));
+        conversion.setTransactionDate(transactionDate);
+        return conversion;
+    }
+}
@@ -0,0 +1,182 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.responses.BulkConversionJobResponse;
+import com.exchanger.dto.responses.BulkConversionJobStatus;
+import com.exchanger.dto.responses.BulkConversionResponse;
+import com.exchanger.exception.BulkJobNotFoundException;
+import com.exchanger.exception.BulkJobRejectedException;
+import com.exchanger.service.CurrencyConversionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class BulkConversionJobServiceImplTest {
+
+    private static final String CSV = "amount,sourceCurrency,targetCurrency\n100,USD,EUR\n50,USD,XXX\n20,GBP,TRY\n";
+
+    @Mock
+    private CurrencyConversionService currencyConversionService;
+
+    private BulkConversionJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new BulkConversionJobServiceImpl(currencyConversionService, new ObjectMapper(), 1, 1, Duration.ZERO, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void givenCsv_whenSubmit_thenJobCompletesWithProgressAndPagedResults() throws Exception {
+        doAnswer(invocation -> {
+            InputStream csv = invocation.getArgument(0);
+            csv.readAllBytes();
+            Consumer<BulkConversionResponse> sink = invocation.getArgument(1);
+            sink.accept(converted("USD", "EUR", "100"));
+            sink.accept(failed("USD", "XXX", "50"));
+            sink.accept(converted("GBP", "TRY", "20"));
+            return null;
+        }).when(currencyConversionService).processCsvStream(any(), any(), any());
+
+        BulkConversionJobResponse submitted = jobService.submit(csvFile());
+        BulkConversionJobResponse finished = awaitFinished(submitted.jobId());
+
+        assertEquals(BulkConversionJobStatus.COMPLETED, finished.status());
+        assertEquals(3, finished.rowsParsed());
+        assertEquals(2, finished.rowsConverted());
+        assertEquals(1, finished.rowsFailed());
+        assertEquals(CSV.length(), finished.bytesRead());
+        assertEquals(CSV.length(), finished.totalBytes());
+        assertNotNull(finished.finishedAt());
+
+        Page<BulkConversionResponse> firstPage = jobService.getResults(submitted.jobId(), PageRequest.of(0, 2));
+        Page<BulkConversionResponse> secondPage = jobService.getResults(submitted.jobId(), PageRequest.of(1, 2));
+
+        assertEquals(3, firstPage.getTotalElements());
+        assertEquals("EUR", firstPage.getContent().get(0).targetCurrency());
+        assertEquals("XXX", firstPage.getContent().get(1).targetCurrency());
+        assertEquals(1, secondPage.getContent().size());
+        assertEquals(0, new BigDecimal("20").compareTo(secondPage.getContent().getFirst().originalAmount()));
+    }
+
+    @Test
+    void givenRunningJob_whenCancel_thenKeepsWholeChunkAndStopsBeforeNextOne() throws Exception {
+        CountDownLatch firstChunkWritten = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Consumer<BulkConversionResponse> sink = invocation.getArgument(1);
+            BooleanSupplier cancelRequested = invocation.getArgument(2);
+            sink.accept(converted("USD", "EUR", "100"));
+            firstChunkWritten.countDown();
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+            // The rest of a chunk that was persisted is still handed over
+            sink.accept(converted("USD", "EUR", "200"));
+            assertTrue(cancelRequested.getAsBoolean());
+            throw new CancellationException();
+        }).when(currencyConversionService).processCsvStream(any(), any(), any());
+
+        UUID jobId = jobService.submit(csvFile()).jobId();
+        assertTrue(firstChunkWritten.await(5, TimeUnit.SECONDS));
+        jobService.cancel(jobId);
+        cancelled.countDown();
+
+        BulkConversionJobResponse finished = awaitFinished(jobId);
+        assertEquals(BulkConversionJobStatus.CANCELLED, finished.status());
+        assertEquals(2, finished.rowsConverted());
+        assertEquals(2, jobService.getResults(jobId, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void givenBusyWorkersAndFullQueue_whenSubmit_thenQueuedJobCanBeCancelledAndExtraJobIsRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(currencyConversionService).processCsvStream(any(), any(), any());
+
+        UUID running = jobService.submit(csvFile()).jobId();
+        UUID queued = jobService.submit(csvFile()).jobId();
+
+        assertThrows(BulkJobRejectedException.class, () -> jobService.submit(csvFile()));
+        assertEquals(BulkConversionJobStatus.QUEUED, jobService.getStatus(queued).status());
+
+        assertEquals(BulkConversionJobStatus.CANCELLED, jobService.cancel(queued).status());
+        assertEquals(0, jobService.getResults(queued, PageRequest.of(0, 10)).getTotalElements());
+
+        release.countDown();
+        assertEquals(BulkConversionJobStatus.COMPLETED, awaitFinished(running).status());
+    }
+
+    @Test
+    void givenFailingConversion_whenSubmit_thenJobFailsWithMessage() throws Exception {
+        doAnswer(invocation -> {
+            throw new RuntimeException("Failed to parse CSV: bad header");
+        }).when(currencyConversionService).processCsvStream(any(), any(), any());
+
+        BulkConversionJobResponse finished = awaitFinished(jobService.submit(csvFile()).jobId());
+
+        assertEquals(BulkConversionJobStatus.FAILED, finished.status());
+        assertEquals("Failed to parse CSV: bad header", finished.errorMessage());
+    }
+
+    @Test
+    void givenFinishedJobPastRetention_whenEvict_thenJobIsForgotten() throws Exception {
+        UUID jobId = jobService.submit(csvFile()).jobId();
+        awaitFinished(jobId);
+
+        jobService.evictExpiredJobs();
+
+        assertThrows(BulkJobNotFoundException.class, () -> jobService.getStatus(jobId));
+        assertThrows(BulkJobNotFoundException.class, () -> jobService.cancel(UUID.randomUUID()));
+    }
+
+    private BulkConversionJobResponse awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BulkConversionJobResponse status = jobService.getStatus(jobId);
+        while (!status.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = jobService.getStatus(jobId);
+        }
+        return status;
+    }
+
+    private static MockMultipartFile csvFile() {
+        return new MockMultipartFile("file", "rates.csv", "text/csv", CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BulkConversionResponse converted(String source, String target, String amount) {
+        return new BulkConversionResponse(UUID.randomUUID(), source, target, new BigDecimal("2"),
+                new BigDecimal(amount), new BigDecimal(amount).multiply(new BigDecimal("2")), null);
+    }
+
+    private static BulkConversionResponse failed(String source, String target, String amount) {
+        return new BulkConversionResponse(null, source, target, null, new BigDecimal(amount), null,
+                "Rate not found for " + source + "_" + target);
+    }
+}
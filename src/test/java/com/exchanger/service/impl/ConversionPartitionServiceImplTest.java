@@ -0,0 +1,68 @@
+package com.exchanger.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConversionPartitionServiceImplTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-05-18T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenPremakeMonths_whenCreateUpcomingPartitions_thenCreatesCurrentAndFollowingMonths() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> "currency_conversion_p" + invocation.getArgument(2, LocalDate.class));
+        ConversionPartitionServiceImpl service = new ConversionPartitionServiceImpl(jdbcTemplate, 2, 0, false, CLOCK);
+
+        List<String> partitions = service.createUpcomingPartitions();
+
+        assertEquals(List.of("currency_conversion_p2025-05-01", "currency_conversion_p2025-06-01",
+                "currency_conversion_p2025-07-01"), partitions);
+    }
+
+    @Test
+    void givenRetention_whenApplyRetention_thenDetachesPartitionsBeforeRetainedMonths() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any()))
+                .thenReturn(List.of("currency_conversion_p2024_04"));
+        ConversionPartitionServiceImpl service = new ConversionPartitionServiceImpl(jdbcTemplate, 3, 12, true, CLOCK);
+
+        List<String> detached = service.applyRetention();
+
+        assertEquals(List.of("currency_conversion_p2024_04"), detached);
+        verify(jdbcTemplate).queryForList("select detach_currency_conversion_partitions(?, ?)", String.class,
+                LocalDate.of(2024, 5, 1), true);
+    }
+
+    @Test
+    void givenRetentionDisabled_whenApplyRetention_thenDetachesNothing() {
+        ConversionPartitionServiceImpl service = new ConversionPartitionServiceImpl(jdbcTemplate, 3, 0, false, CLOCK);
+
+        assertTrue(service.applyRetention().isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void givenMaintenanceFailure_whenMaintain_thenLogsAndDoesNotThrow() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("database down"));
+        ConversionPartitionServiceImpl service = new ConversionPartitionServiceImpl(jdbcTemplate, 0, 12, false, CLOCK);
+
+        assertDoesNotThrow(service::maintain);
+    }
+}
@@ -0,0 +1,217 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.ConversionStatisticsRequest;
+import com.exchanger.dto.responses.ConversionStatisticsResponse;
+import com.exchanger.entity.ConversionRollup;
+import com.exchanger.entity.CurrencyConversion;
+import com.exchanger.repository.ConversionRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+class ConversionStatisticsServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 18);
+    private static final Clock CLOCK = Clock.fixed(DAY.atTime(23, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Autowired
+    private ConversionRollupRepository repository;
+
+    private ConversionStatisticsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConversionStatisticsServiceImpl(repository, CLOCK);
+    }
+
+    @Test
+    void givenConcurrentRecording_whenFlush_thenRollupHoldsEveryConversion() throws Exception {
+        int threads = 8;
+        int perThread = 1_000;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        service.record(List.of(conversion("10.00", "0.92", DAY.atTime(9, 15))));
+                    }
+                }));
+            }
+            // Flush on the test thread, inside the test transaction, while the others keep recording
+            while (!futures.stream().allMatch(Future::isDone)) {
+                service.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        service.flush();
+
+        List<ConversionStatisticsResponse> statistics = service.getStatistics(request("hour"));
+
+        assertEquals(1, statistics.size());
+        ConversionStatisticsResponse hour = statistics.getFirst();
+        assertEquals(DAY.atTime(9, 0), hour.periodStart());
+        assertEquals(threads * perThread, hour.conversionCount());
+        assertEquals(0, new BigDecimal("80000.00").compareTo(hour.sourceVolume()));
+        assertEquals(0, new BigDecimal("73600.00").compareTo(hour.convertedVolume()));
+        assertEquals(0, new BigDecimal("0.92").compareTo(hour.averageRate()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void givenRollupsInSeveralHours_whenGetStatisticsByDay_thenSumsHours() {
+        service.record(List.of(
+                conversion("100", "0.90", DAY.atTime(8, 5)),
+                conversion("200", "0.94", DAY.atTime(14, 30)),
+                conversion("50", "0.50", DAY.minusDays(1).atTime(23, 59)),
+                conversion("70", "0.80", DAY.plusDays(1).atStartOfDay())));
+        service.flush();
+        service.record(List.of(conversion("100", "0.92", DAY.atTime(8, 45))));
+        service.flush();
+
+        List<ConversionStatisticsResponse> hours = service.getStatistics(request("hour"));
+        List<ConversionStatisticsResponse> days = service.getStatistics(request("day"));
+
+        assertEquals(List.of(DAY.atTime(8, 0), DAY.atTime(14, 0)),
+                hours.stream().map(ConversionStatisticsResponse::periodStart).toList());
+        assertEquals(2, hours.getFirst().conversionCount());
+        assertEquals(1, days.size());
+        ConversionStatisticsResponse day = days.getFirst();
+        assertEquals(DAY.atStartOfDay(), day.periodStart());
+        assertEquals(3, day.conversionCount());
+        assertEquals(0, new BigDecimal("400").compareTo(day.sourceVolume()));
+        assertEquals(0, new BigDecimal("0.90").compareTo(day.minRate()));
+        assertEquals(0, new BigDecimal("0.94").compareTo(day.maxRate()));
+        assertEquals(0, new BigDecimal("0.92").compareTo(day.averageRate()));
+    }
+
+    @Test
+    void givenMergeFailure_whenFlushAgain_thenRetriesDrainedCounts() {
+        ConversionRollupRepository failing = mock(ConversionRollupRepository.class);
+        doThrow(new IllegalStateException("database down")).doNothing().when(failing).mergeAll(anyCollection());
+        ConversionStatisticsServiceImpl retrying = new ConversionStatisticsServiceImpl(failing, CLOCK);
+
+        retrying.record(List.of(conversion("10", "0.92", DAY.atTime(22, 0))));
+        retrying.flush();
+        retrying.record(List.of(conversion("10", "0.92", DAY.atTime(22, 30))));
+        retrying.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ConversionRollup>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(failing, times(2)).mergeAll(captor.capture());
+        ConversionRollup merged = captor.getAllValues().getLast().iterator().next();
+        assertEquals(2, merged.getConversionCount());
+        assertEquals(0, new BigDecimal("20").compareTo(merged.getSourceVolume()));
+    }
+
+    @Test
+    void givenAmountsBeyondLongRange_whenFlush_thenVolumesAreExact() {
+        service.record(List.of(
+                conversion("1000000000000000", "1.5", DAY.atTime(9, 0)),
+                conversion("1000000000000000", "1.5", DAY.atTime(9, 10)),
+                conversion("0.0001", "1.5", DAY.atTime(9, 20))));
+        service.flush();
+
+        ConversionStatisticsResponse hour = service.getStatistics(request("hour")).getFirst();
+
+        assertEquals(3, hour.conversionCount());
+        assertEquals(0, new BigDecimal("2000000000000000.0001").compareTo(hour.sourceVolume()));
+        assertEquals(0, new BigDecimal("3000000000000000.0002").compareTo(hour.convertedVolume()));
+    }
+
+    @Test
+    void givenIdleBucketOfPastHour_whenFlushed_thenBucketIsRetired() {
+        service.record(List.of(
+                conversion("10", "0.92", DAY.atTime(20, 0)),
+                conversion("10", "0.92", DAY.atTime(22, 0))));
+
+        service.flush();
+        assertEquals(2, service.bucketCount());
+
+        service.flush();
+        assertEquals(1, service.bucketCount());
+    }
+
+    @Test
+    void givenRecordingIntoPastHourWhileFlushing_whenBucketsAreRetired_thenNoConversionIsLost() throws Exception {
+        ConversionRollupRepository merged = mock(ConversionRollupRepository.class);
+        List<ConversionRollup> rollups = new ArrayList<>();
+        doAnswer(invocation -> rollups.addAll(invocation.getArgument(0))).when(merged).mergeAll(anyCollection());
+        ConversionStatisticsServiceImpl retiring = new ConversionStatisticsServiceImpl(merged, CLOCK);
+        int threads = 8;
+        int perThread = 2_000;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        retiring.record(List.of(conversion("1", "0.92", DAY.atTime(9, 15))));
+                        if (i % 100 == 0) {
+                            Thread.yield();
+                        }
+                    }
+                }));
+            }
+            while (!futures.stream().allMatch(Future::isDone)) {
+                retiring.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        retiring.flush();
+        retiring.flush();
+
+        assertEquals((long) threads * perThread, rollups.stream().mapToLong(ConversionRollup::getConversionCount).sum());
+    }
+
+    @Test
+    void givenTinyRates_whenFlush_thenRollupKeepsTheirTenSignificantDigits() {
+        service.record(List.of(
+                conversion("1000000", "0.000007312345678", DAY.atTime(10, 0)),
+                conversion("1000000", "0.000007312345680", DAY.atTime(10, 30))));
+        service.flush();
+
+        ConversionStatisticsResponse hour = service.getStatistics(request("hour")).getFirst();
+
+        assertEquals(0, new BigDecimal("0.000007312345678").compareTo(hour.minRate()));
+        assertEquals(0, new BigDecimal("0.000007312345680").compareTo(hour.maxRate()));
+        assertEquals(0, new BigDecimal("0.000007312345679").compareTo(hour.averageRate()));
+    }
+
+    private static ConversionStatisticsRequest request(String granularity) {
+        return new ConversionStatisticsRequest("usd", "eur", DAY, DAY, granularity);
+    }
+
+    private static CurrencyConversion conversion(String amount, String rate, LocalDateTime at) {
+        BigDecimal sourceAmount = new BigDecimal(amount);
+        BigDecimal exchangeRate = new BigDecimal(rate);
+        CurrencyConversion conversion = new CurrencyConversion(
+                "USD", "EUR", sourceAmount, sourceAmount.multiply(exchangeRate), exchangeRate);
+        conversion.setTransactionDate(at);
+        return conversion;
+    }
+}
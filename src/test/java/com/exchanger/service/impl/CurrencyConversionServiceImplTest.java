@@ -1,13 +1,21 @@
 package com.exchanger.service.impl;
 
 import com.exchanger.client.ExchangeRateClient;
+import com.exchanger.client.ReactiveExchangeRateClient;
 import com.exchanger.dto.requests.CurrencyConversionHistoryRequest;
 import com.exchanger.dto.requests.CurrencyConversionRequest;
 import com.exchanger.dto.requests.ExchangeRateRequest;
 import com.exchanger.dto.responses.*;
 import com.exchanger.entity.CurrencyConversion;
 import com.exchanger.exception.ExternalApiException;
+import com.exchanger.exception.InvalidAmountException;
 import com.exchanger.repository.CurrencyConversionRepository;
+import com.exchanger.service.ConversionStatisticsService;
+import com.exchanger.repository.HistoryCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +23,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -25,8 +32,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.math.BigDecimal;
@@ -34,6 +43,10 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -47,10 +60,18 @@ class CurrencyConversionServiceImplTest {
     @Mock
     private ExchangeRateClient exchangeRateClient;
 
+    @Mock
+    private ReactiveExchangeRateClient reactiveExchangeRateClient;
+
     @Mock
     private CurrencyConversionRepository currencyConversionRepository;
 
-    @InjectMocks
+    @Mock
+    private ConversionStatisticsService conversionStatisticsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+
     private CurrencyConversionServiceImpl currencyConversionService;
 
     @Captor
@@ -65,7 +86,7 @@ class CurrencyConversionServiceImplTest {
 
     @BeforeEach
     void setUp() {
-
+        currencyConversionService = new CurrencyConversionServiceImpl(exchangeRateClient, reactiveExchangeRateClient, currencyConversionRepository, conversionStatisticsService, meterRegistry, observationRegistry, 4, 1000);
     }
 
     @Test
@@ -194,6 +215,31 @@ class CurrencyConversionServiceImplTest {
         assertEquals(0, new BigDecimal("0.92").compareTo(capturedConversion.getExchangeRate()));
         assertEquals(0, new BigDecimal("92.00").compareTo(capturedConversion.getConvertedAmount()));
         assertNotNull(capturedConversion.getTransactionDate());
+        verify(conversionStatisticsService).record(List.of(savedConversion));
+    }
+
+    @Test
+    void givenValidConversionRequest_whenConvert_thenObservesRateFetchAndSave() {
+        // Given
+        when(exchangeRateClient.getExchangeRates(any(ExchangeRateRequest.class)))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+        when(currencyConversionRepository.save(any(CurrencyConversion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        currencyConversionService.convert(new CurrencyConversionRequest(new BigDecimal("100.00"), "USD", "EUR"));
+
+        // Then
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo("exchange.rates.fetch")
+                .that()
+                .hasHighCardinalityKeyValue("source", "USD")
+                .doesNotHaveLowCardinalityKeyValueWithKey("source")
+                .hasBeenStopped();
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo("exchange.conversion.persist")
+                .that()
+                .hasLowCardinalityKeyValue("operation", "save")
+                .hasBeenStopped();
     }
 
     @Test
@@ -233,6 +279,75 @@ class CurrencyConversionServiceImplTest {
         assertEquals("Database save failed", exception.getMessage());
     }
 
+    @Test
+    void givenAmountFinerThanMinorUnit_whenConvert_thenThrowsInvalidAmountExceptionWithoutFetchingRates() {
+        // Given
+        CurrencyConversionRequest request = new CurrencyConversionRequest(new BigDecimal("0.4"), "JPY", "USD");
+
+        // When & Then
+        InvalidAmountException exception = assertThrows(InvalidAmountException.class,
+                () -> currencyConversionService.convert(request));
+        assertEquals("Amount 0.4 has more than 0 decimals, the minor unit of JPY", exception.getMessage());
+        verifyNoInteractions(exchangeRateClient, currencyConversionRepository);
+    }
+
+    // --- convertReactive ---
+    @Test
+    void givenValidConversionRequest_whenConvertReactive_thenSavesOffEventLoopAndReturnsResponse() {
+        // Given
+        CurrencyConversionRequest request = new CurrencyConversionRequest(
+                new BigDecimal("100.00"), "USD", "EUR");
+        UUID transactionId = UUID.randomUUID();
+
+        when(reactiveExchangeRateClient.fetchExchangeRates(exchangeRateRequestCaptor.capture()))
+                .thenReturn(Mono.just(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92")))));
+
+        List<String> saveThreads = new ArrayList<>();
+        when(currencyConversionRepository.save(any(CurrencyConversion.class))).thenAnswer(invocation -> {
+            saveThreads.add(Thread.currentThread().getName());
+            CurrencyConversion conversion = invocation.getArgument(0);
+            conversion.setId(transactionId);
+            return conversion;
+        });
+
+        // When
+        CurrencyConversionResponse actualResponse = currencyConversionService.convertReactive(request).block();
+
+        // Then
+        assertNotNull(actualResponse);
+        assertEquals(transactionId, actualResponse.transactionId());
+        assertEquals(0, new BigDecimal("92.00").compareTo(actualResponse.convertedAmount()));
+        assertEquals(List.of("EUR"), exchangeRateRequestCaptor.getValue().targetCurrencies());
+        assertTrue(saveThreads.getFirst().startsWith("boundedElastic"));
+        verifyNoInteractions(exchangeRateClient);
+    }
+
+    @Test
+    void givenRateNotFoundForPair_whenConvertReactive_thenErrorsWithExternalApiExceptionAndDoesNotSave() {
+        // Given
+        CurrencyConversionRequest request = new CurrencyConversionRequest(
+                new BigDecimal("100.00"), "USD", "XYZ");
+        when(reactiveExchangeRateClient.fetchExchangeRates(any(ExchangeRateRequest.class)))
+                .thenReturn(Mono.just(new ExchangeRateResponse("USD", Collections.emptyMap())));
+
+        // When & Then
+        Mono<CurrencyConversionResponse> result = currencyConversionService.convertReactive(request);
+        ExternalApiException exception = assertThrows(ExternalApiException.class, result::block);
+        assertEquals("No exchange rate found for USD_XYZ", exception.getMessage());
+        verify(currencyConversionRepository, never()).save(any(CurrencyConversion.class));
+    }
+
+    @Test
+    void givenAmountFinerThanMinorUnit_whenConvertReactive_thenErrorsWithoutFetchingRates() {
+        // Given
+        CurrencyConversionRequest request = new CurrencyConversionRequest(new BigDecimal("0.001"), "USD", "EUR");
+
+        // When & Then
+        Mono<CurrencyConversionResponse> result = currencyConversionService.convertReactive(request);
+        assertThrows(InvalidAmountException.class, result::block);
+        verifyNoInteractions(reactiveExchangeRateClient, currencyConversionRepository);
+    }
+
 
     // --- getHistory ---
     @Test
@@ -242,10 +357,8 @@ class CurrencyConversionServiceImplTest {
         CurrencyConversionHistoryRequest request = new CurrencyConversionHistoryRequest(transactionId, null);
         Pageable pageable = PageRequest.of(0, 10);
 
-        CurrencyConversion conversion = new CurrencyConversion("USD", "EUR", BigDecimal.TEN, new BigDecimal("9.20"), new BigDecimal("0.92"));
-        conversion.setId(transactionId);
-        conversion.setTransactionDate(LocalDateTime.now());
-        when(currencyConversionRepository.findById(transactionId)).thenReturn(Optional.of(conversion));
+        CurrencyConversionHistoryResponse conversion = historyRow(transactionId, "USD", LocalDateTime.now());
+        when(currencyConversionRepository.findHistoryById(transactionId)).thenReturn(Optional.of(conversion));
 
         // When
         Page<CurrencyConversionHistoryResponse> resultPage = currencyConversionService.getHistory(request, pageable);
@@ -257,8 +370,9 @@ class CurrencyConversionServiceImplTest {
         CurrencyConversionHistoryResponse responseItem = resultPage.getContent().getFirst();
         assertEquals(transactionId, responseItem.transactionId());
         assertEquals("USD", responseItem.sourceCurrency());
-        verify(currencyConversionRepository).findById(transactionId);
-        verify(currencyConversionRepository, never()).findAllByTransactionDateBetween(any(), any(), any());
+        verify(currencyConversionRepository).findHistoryById(transactionId);
+        verify(currencyConversionRepository, never()).findHistoryByTransactionDateBetween(any(), any(), any());
+        verify(currencyConversionRepository, never()).findById(any());
     }
 
     @Test
@@ -267,7 +381,7 @@ class CurrencyConversionServiceImplTest {
         UUID transactionId = UUID.randomUUID();
         CurrencyConversionHistoryRequest request = new CurrencyConversionHistoryRequest(transactionId, null);
         Pageable pageable = PageRequest.of(0, 10);
-        when(currencyConversionRepository.findById(transactionId)).thenReturn(Optional.empty());
+        when(currencyConversionRepository.findHistoryById(transactionId)).thenReturn(Optional.empty());
 
         // When
         Page<CurrencyConversionHistoryResponse> resultPage = currencyConversionService.getHistory(request, pageable);
@@ -275,7 +389,7 @@ class CurrencyConversionServiceImplTest {
         // Then
         assertNotNull(resultPage);
         assertTrue(resultPage.isEmpty());
-        verify(currencyConversionRepository).findById(transactionId);
+        verify(currencyConversionRepository).findHistoryById(transactionId);
     }
 
     @Test
@@ -285,18 +399,14 @@ class CurrencyConversionServiceImplTest {
         CurrencyConversionHistoryRequest request = new CurrencyConversionHistoryRequest(null, date);
         Pageable pageable = PageRequest.of(0, 10);
 
-        CurrencyConversion c1 = new CurrencyConversion("USD", "EUR", BigDecimal.TEN, new BigDecimal("9.20"), new BigDecimal("0.92"));
-        c1.setId(UUID.randomUUID());
-        c1.setTransactionDate(date.atTime(10,0));
-        CurrencyConversion c2 = new CurrencyConversion("GBP", "JPY", BigDecimal.ONE, new BigDecimal("150"), new BigDecimal("150"));
-        c2.setId(UUID.randomUUID());
-        c2.setTransactionDate(date.atTime(14,0));
-        List<CurrencyConversion> conversions = List.of(c1, c2);
-        Page<CurrencyConversion> mockPage = new PageImpl<>(conversions, pageable, conversions.size());
+        CurrencyConversionHistoryResponse c1 = historyRow(UUID.randomUUID(), "USD", date.atTime(10, 0));
+        CurrencyConversionHistoryResponse c2 = historyRow(UUID.randomUUID(), "GBP", date.atTime(14, 0));
+        List<CurrencyConversionHistoryResponse> conversions = List.of(c1, c2);
+        Page<CurrencyConversionHistoryResponse> mockPage = new PageImpl<>(conversions, pageable, conversions.size());
 
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = start.plusDays(1);
-        when(currencyConversionRepository.findAllByTransactionDateBetween(eq(start), eq(end), eq(pageable)))
+        when(currencyConversionRepository.findHistoryByTransactionDateBetween(eq(start), eq(end), eq(pageable)))
                 .thenReturn(mockPage);
 
         // When
@@ -306,10 +416,75 @@ class CurrencyConversionServiceImplTest {
         assertNotNull(resultPage);
         assertEquals(2, resultPage.getTotalElements());
         assertEquals(2, resultPage.getContent().size());
-        assertEquals(c1.getId(), resultPage.getContent().get(0).transactionId());
-        assertEquals(c2.getId(), resultPage.getContent().get(1).transactionId());
-        verify(currencyConversionRepository).findAllByTransactionDateBetween(eq(start), eq(end), eq(pageable));
-        verify(currencyConversionRepository, never()).findById(any());
+        assertEquals(c1.transactionId(), resultPage.getContent().get(0).transactionId());
+        assertEquals(c2.transactionId(), resultPage.getContent().get(1).transactionId());
+        verify(currencyConversionRepository).findHistoryByTransactionDateBetween(eq(start), eq(end), eq(pageable));
+        verify(currencyConversionRepository, never()).findHistoryById(any());
+    }
+
+    @Test
+    void givenMoreRowsThanPage_whenGetHistory_thenTotalComesFromRepositoryPage() {
+        // Given
+        LocalDate date = LocalDate.of(2023, 10, 26);
+        Pageable pageable = PageRequest.of(3, 1);
+        CurrencyConversionHistoryResponse c1 = historyRow(UUID.randomUUID(), "USD", date.atTime(10, 0));
+        when(currencyConversionRepository.findHistoryByPairAndTransactionDateBetween(
+                eq("USD"), eq("EUR"), any(), any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(c1), pageable, 42));
+
+        // When
+        Page<CurrencyConversionHistoryResponse> resultPage = currencyConversionService.getHistory(
+                new CurrencyConversionHistoryRequest(null, date, "usd", "eur"), pageable);
+
+        // Then
+        assertEquals(42, resultPage.getTotalElements());
+        assertEquals(c1.transactionId(), resultPage.getContent().getFirst().transactionId());
+    }
+
+    // --- scrollHistory ---
+    @Test
+    void givenMoreRowsThanSize_whenScrollHistory_thenReturnsCursorOfLastRowAndNoTotal() {
+        // Given
+        LocalDate date = LocalDate.of(2023, 10, 26);
+        CurrencyConversionHistoryResponse c1 = historyRow(UUID.randomUUID(), "USD", date.atTime(10, 0));
+        CurrencyConversionHistoryResponse c2 = historyRow(UUID.randomUUID(), "USD", date.atTime(11, 0));
+        when(currencyConversionRepository.findSlice(date.atStartOfDay(), date.plusDays(1).atStartOfDay(), null, null, null, 2))
+                .thenReturn(List.of(c1, c2));
+
+        // When
+        CurrencyConversionHistoryWindow window = currencyConversionService.scrollHistory(
+                new CurrencyConversionHistoryRequest(null, date), null, 1, false);
+
+        // Then
+        assertEquals(1, window.content().size());
+        assertEquals(c1.transactionId(), window.content().getFirst().transactionId());
+        assertEquals(new HistoryCursor(c1.transactionDate(), c1.transactionId()), HistoryCursor.decode(window.nextCursor()));
+        assertNull(window.totalElements());
+        verify(currencyConversionRepository, never()).countInRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void givenCursorAndIncludeTotal_whenScrollHistory_thenSeeksAfterCursorAndCounts() {
+        // Given
+        LocalDate date = LocalDate.of(2023, 10, 26);
+        HistoryCursor cursor = new HistoryCursor(date.atTime(10, 0), UUID.randomUUID());
+        when(currencyConversionRepository.findSlice(any(), any(), eq("USD"), eq("EUR"), eq(cursor), eq(51)))
+                .thenReturn(List.of());
+        when(currencyConversionRepository.countInRange(any(), any(), eq("USD"), eq("EUR"))).thenReturn(7L);
+
+        // When
+        CurrencyConversionHistoryWindow window = currencyConversionService.scrollHistory(
+                new CurrencyConversionHistoryRequest(null, date, "USD", "EUR"), cursor.encode(), 50, true);
+
+        // Then
+        assertTrue(window.content().isEmpty());
+        assertNull(window.nextCursor());
+        assertEquals(7L, window.totalElements());
+    }
+
+    private static CurrencyConversionHistoryResponse historyRow(UUID id, String source, LocalDateTime transactionDate) {
+        return new CurrencyConversionHistoryResponse(id, source, "EUR", BigDecimal.TEN,
+                new BigDecimal("9.20"), new BigDecimal("0.92"), transactionDate);
     }
 
     // --- processCsvFile ---
@@ -354,7 +529,7 @@ class CurrencyConversionServiceImplTest {
                 .thenReturn(new ExchangeRateResponse("EUR", eurRates));
 
         // Mock repository saveAll
-        when(currencyConversionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> {
             List<CurrencyConversion> toSave = invocation.getArgument(0);
             // Simulate saving by assigning IDs
             toSave.forEach(c -> c.setId(UUID.randomUUID()));
@@ -367,34 +542,34 @@ class CurrencyConversionServiceImplTest {
         // Then
         assertEquals(3, responses.size());
 
-        // Response 1
+        // Responses follow the CSV row order
         BulkConversionResponse r1 = responses.getFirst();
-        assertEquals("EUR", r1.sourceCurrency());
-        assertEquals("USD", r1.targetCurrency());
-        assertEquals(new BigDecimal("50"), r1.originalAmount());
+        assertEquals("USD", r1.sourceCurrency());
+        assertEquals("EUR", r1.targetCurrency());
+        assertEquals(new BigDecimal("100.00"), r1.originalAmount());
         assertNotNull(r1.transactionId());
-        assertEquals(0, new BigDecimal("54.00").compareTo(r1.convertedAmount()));
+        assertEquals(0, new BigDecimal("92.00").compareTo(r1.convertedAmount()));
         assertNull(r1.errorMessage());
 
         // Response 2
         BulkConversionResponse r2 = responses.get(1);
         assertEquals("USD", r2.sourceCurrency());
-        assertEquals("EUR", r2.targetCurrency());
-        assertEquals(new BigDecimal("100"), r2.originalAmount());
+        assertEquals("GBP", r2.targetCurrency());
+        assertEquals(new BigDecimal("200.00"), r2.originalAmount());
         assertNotNull(r2.transactionId());
-        assertEquals(0, new BigDecimal("92.00").compareTo(r2.convertedAmount()));
+        assertEquals(0, new BigDecimal("158.00").compareTo(r2.convertedAmount()));
         assertNull(r2.errorMessage());
 
         // Response 3
         BulkConversionResponse r3 = responses.get(2);
-        assertEquals("USD", r3.sourceCurrency());
-        assertEquals("GBP", r3.targetCurrency());
-        assertEquals(new BigDecimal("200"), r3.originalAmount());
+        assertEquals("EUR", r3.sourceCurrency());
+        assertEquals("USD", r3.targetCurrency());
+        assertEquals(new BigDecimal("50.00"), r3.originalAmount());
         assertNotNull(r3.transactionId());
-        assertEquals(0, new BigDecimal("158.00").compareTo(r3.convertedAmount()));
+        assertEquals(0, new BigDecimal("54.00").compareTo(r3.convertedAmount()));
         assertNull(r3.errorMessage());
 
-        verify(currencyConversionRepository).saveAll(currencyConversionListCaptor.capture());
+        verify(currencyConversionRepository).insertAll(currencyConversionListCaptor.capture());
         List<CurrencyConversion> savedEntities = currencyConversionListCaptor.getValue();
         assertEquals(3, savedEntities.size());
     }
@@ -424,7 +599,7 @@ class CurrencyConversionServiceImplTest {
         when(exchangeRateClient.getExchangeRates(eq(cadRequest)))
                 .thenReturn(new ExchangeRateResponse("CAD", cadRates));
 
-        when(currencyConversionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> {
             List<CurrencyConversion> toSave = invocation.getArgument(0);
             toSave.forEach(c -> c.setId(UUID.randomUUID()));
             return toSave;
@@ -444,11 +619,99 @@ class CurrencyConversionServiceImplTest {
         assertTrue(responses.stream().anyMatch(r -> r.convertedAmount() != null && r.convertedAmount().compareTo(new BigDecimal("56.25")) == 0 && r.transactionId() != null));
 
 
-        verify(currencyConversionRepository).saveAll(currencyConversionListCaptor.capture());
+        verify(currencyConversionRepository).insertAll(currencyConversionListCaptor.capture());
         List<CurrencyConversion> savedEntities = currencyConversionListCaptor.getValue();
         assertEquals(2, savedEntities.size()); // Only successful ones
     }
 
+    @Test
+    void givenCsvRowFinerThanMinorUnit_whenProcessCsvFile_thenFailsThatRowAndSavesTheRest() throws IOException {
+        // Given
+        MultipartFile csvFile = createMockCsvFile(createCsvContent(
+                new String[]{"amount", "sourceCurrency", "targetCurrency"},
+                List.of(
+                        new String[]{"100", "USD", "EUR"},
+                        new String[]{"0.001", "USD", "EUR"}
+                )
+        ));
+        when(exchangeRateClient.getExchangeRates(any(ExchangeRateRequest.class)))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<BulkConversionResponse> responses = currencyConversionService.processCsvFile(csvFile);
+
+        // Then
+        assertNull(responses.getFirst().errorMessage());
+        assertEquals("Amount 0.001 has more than 2 decimals, the minor unit of USD", responses.get(1).errorMessage());
+        assertNull(responses.get(1).transactionId());
+        verify(currencyConversionRepository).insertAll(currencyConversionListCaptor.capture());
+        assertEquals(1, currencyConversionListCaptor.getValue().size());
+    }
+
+    @Test
+    void givenCsvFileWithMissingRates_whenProcessCsvFile_thenRecordsRowOutcomesAndStageTimings() throws IOException {
+        // Given
+        MultipartFile csvFile = createMockCsvFile(createCsvContent(
+                new String[]{"amount", "sourceCurrency", "targetCurrency"},
+                List.of(
+                        new String[]{"100", "USD", "EUR"},
+                        new String[]{"50", "USD", "XYZ"},
+                        new String[]{"75", "USD", "EUR"}
+                )
+        ));
+        when(exchangeRateClient.getExchangeRates(any(ExchangeRateRequest.class)))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        currencyConversionService.processCsvFile(csvFile);
+
+        // Then
+        assertEquals(2, meterRegistry.get("exchange.bulk.rows").tag("outcome", "converted").counter().count());
+        assertEquals(1, meterRegistry.get("exchange.bulk.rows").tag("outcome", "failed").counter().count());
+        assertEquals(2, meterRegistry.get("exchange.bulk.persist.batch").summary().totalAmount());
+        for (String stage : List.of("parse", "rate_fetch", "persist")) {
+            assertEquals(1, meterRegistry.get("exchange.bulk.stage").tag("stage", stage).timer().count(), stage);
+        }
+    }
+
+    @Test
+    void givenCsvFileWithTwoSourceCurrencies_whenProcessCsvFile_thenObservesEachRateGroupAroundItsFetch() throws IOException {
+        // Given
+        MultipartFile csvFile = createMockCsvFile(createCsvContent(
+                new String[]{"amount", "sourceCurrency", "targetCurrency"},
+                List.of(
+                        new String[]{"100", "USD", "EUR"},
+                        new String[]{"50", "GBP", "EUR"}
+                )
+        ));
+        when(exchangeRateClient.getExchangeRates(any(ExchangeRateRequest.class))).thenAnswer(invocation -> {
+            ExchangeRateRequest request = invocation.getArgument(0);
+            return new ExchangeRateResponse(request.sourceCurrency(),
+                    Map.of(request.sourceCurrency() + "_EUR", new BigDecimal("0.9")));
+        });
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        currencyConversionService.processCsvFile(csvFile);
+
+        // Then
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasNumberOfObservationsWithNameEqualTo("exchange.bulk.rate-group", 2)
+                .forAllObservationsWithNameEqualTo("exchange.bulk.rate-group", observation -> observation
+                        .doesNotHaveLowCardinalityKeyValueWithKey("source")
+                        .hasHighCardinalityKeyValueWithKey("source"))
+                .hasNumberOfObservationsWithNameEqualTo("exchange.rates.fetch", 2)
+                .forAllObservationsWithNameEqualTo("exchange.rates.fetch", observation -> observation
+                        .hasParentObservationContextMatching(parent ->
+                                "exchange.bulk.rate-group".equals(((Observation.ContextView) parent).getName())))
+                .hasObservationWithNameEqualTo("exchange.conversion.persist")
+                .that()
+                .hasLowCardinalityKeyValue("operation", "insert_all")
+                .hasHighCardinalityKeyValue("rows", "2");
+    }
+
     @Test
     void givenCsvFileWithMalformedRows_whenProcessCsvFile_thenSkipsMalformedAndProcessesValid() throws IOException {
         // Given
@@ -457,12 +720,14 @@ class CurrencyConversionServiceImplTest {
                 List.of(
                         new String[]{"100", "USD", "EUR"},      // Valid
                         new String[]{"INVALID", "USD", "GBP"}, // Malformed amount
+                        new String[]{"10", "US$", "GBP"},      // Malformed source currency
+                        new String[]{"10", "USD", "EURO"},     // Malformed target currency
                         new String[]{"50", "EUR", "USD"}       // Valid
                 )
         );
         MultipartFile csvFile = createMockCsvFile(csvContent);
 
-        ExchangeRateRequest usdRequest = new ExchangeRateRequest("USD", List.of("EUR")); // GBP row is skipped
+        ExchangeRateRequest usdRequest = new ExchangeRateRequest("USD", List.of("EUR")); // GBP and EURO rows are skipped
         Map<String, BigDecimal> usdRates = Map.of("USD_EUR", new BigDecimal("0.92"));
         when(exchangeRateClient.getExchangeRates(eq(usdRequest)))
                 .thenReturn(new ExchangeRateResponse("USD", usdRates));
@@ -472,7 +737,7 @@ class CurrencyConversionServiceImplTest {
         when(exchangeRateClient.getExchangeRates(eq(eurRequest)))
                 .thenReturn(new ExchangeRateResponse("EUR", eurRates));
 
-        when(currencyConversionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> {
             List<CurrencyConversion> toSave = invocation.getArgument(0);
             toSave.forEach(c -> c.setId(UUID.randomUUID()));
             return toSave;
@@ -482,11 +747,11 @@ class CurrencyConversionServiceImplTest {
         List<BulkConversionResponse> responses = currencyConversionService.processCsvFile(csvFile);
 
         // Then
-        assertEquals(2, responses.size()); // Malformed row is skipped, so 2 results for 2 valid conversions
+        assertEquals(2, responses.size()); // Malformed rows are skipped, so 2 results for 2 valid conversions
         assertTrue(responses.stream().anyMatch(r -> r.convertedAmount() != null && r.convertedAmount().compareTo(new BigDecimal("92.00")) == 0));
         assertTrue(responses.stream().anyMatch(r -> r.convertedAmount() != null && r.convertedAmount().compareTo(new BigDecimal("54.00")) == 0));
 
-        verify(currencyConversionRepository).saveAll(currencyConversionListCaptor.capture());
+        verify(currencyConversionRepository).insertAll(currencyConversionListCaptor.capture());
         assertEquals(2, currencyConversionListCaptor.getValue().size());
 
     }
@@ -513,7 +778,7 @@ class CurrencyConversionServiceImplTest {
         when(exchangeRateClient.getExchangeRates(eq(jpyRequest)))
                 .thenThrow(new ExternalApiException("JPY Service Error"));
 
-        when(currencyConversionRepository.saveAll(anyList()))
+        when(currencyConversionRepository.insertAll(anyList()))
                 .thenAnswer(invocation -> {
                     List<CurrencyConversion> toSave = invocation.getArgument(0);
                     toSave.forEach(e -> e.setId(UUID.randomUUID()));
@@ -526,20 +791,186 @@ class CurrencyConversionServiceImplTest {
         // Then
         assertEquals(2, responses.size());
 
-        BulkConversionResponse jpyResponse = responses.get(0);
+        BulkConversionResponse jpyResponse = responses.get(1);
         assertNull(jpyResponse.transactionId());
         assertNotNull(jpyResponse.errorMessage());
         assertTrue(jpyResponse.errorMessage().contains("JPY"));
+        assertEquals(new BigDecimal("200"), jpyResponse.originalAmount());
 
-        BulkConversionResponse usdResponse = responses.get(1);
+        BulkConversionResponse usdResponse = responses.get(0);
         assertNotNull(usdResponse.transactionId());
         assertNull(usdResponse.errorMessage());
         assertEquals(new BigDecimal("92.00"), usdResponse.convertedAmount());
 
 
-        verify(currencyConversionRepository).saveAll(anyList());
+        verify(currencyConversionRepository).insertAll(anyList());
+    }
+
+
+    @Test
+    void givenSeveralSourceGroups_whenProcessCsvFile_thenFetchesGroupsConcurrentlyAndKeepsRowOrder() throws IOException {
+        // Given
+        String csvContent = createCsvContent(
+                new String[]{"amount", "sourceCurrency", "targetCurrency"},
+                List.of(
+                        new String[]{"10", "USD", "TRY"},
+                        new String[]{"20", "EUR", "TRY"},
+                        new String[]{"30", "GBP", "TRY"},
+                        new String[]{"40", "USD", "TRY"},
+                        new String[]{"50", "CHF", "TRY"}
+                )
+        );
+        MultipartFile csvFile = createMockCsvFile(csvContent);
+
+        // Every fetch waits until all four groups are in flight, which only happens if they run concurrently
+        CountDownLatch allGroupsInFlight = new CountDownLatch(4);
+        when(exchangeRateClient.getExchangeRates(any(ExchangeRateRequest.class))).thenAnswer(invocation -> {
+            ExchangeRateRequest rateRequest = invocation.getArgument(0);
+            allGroupsInFlight.countDown();
+            if (!allGroupsInFlight.await(5, TimeUnit.SECONDS)) {
+                throw new ExternalApiException("Groups were not fetched concurrently");
+            }
+            return new ExchangeRateResponse(rateRequest.sourceCurrency(),
+                    Map.of(rateRequest.sourceCurrency() + "_TRY", BigDecimal.TEN));
+        });
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<CurrencyConversion> toSave = invocation.getArgument(0);
+            toSave.forEach(c -> c.setId(UUID.randomUUID()));
+            return toSave;
+        });
+
+        // When
+        List<BulkConversionResponse> responses = currencyConversionService.processCsvFile(csvFile);
+
+        // Then
+        assertEquals(List.of("USD", "EUR", "GBP", "USD", "CHF"),
+                responses.stream().map(BulkConversionResponse::sourceCurrency).toList());
+        assertEquals(List.of(new BigDecimal("100.00"), new BigDecimal("200.00"), new BigDecimal("300.00"),
+                        new BigDecimal("400.00"), new BigDecimal("500.00")),
+                responses.stream().map(BulkConversionResponse::convertedAmount).toList());
+        assertTrue(responses.stream().allMatch(r -> r.errorMessage() == null && r.transactionId() != null));
+        verify(exchangeRateClient, times(4)).getExchangeRates(any(ExchangeRateRequest.class));
     }
 
+    @Test
+    void givenCsvLargerThanChunkSize_whenProcessCsvStream_thenPersistsAndEmitsChunkByChunkInRowOrder() throws IOException {
+        // Given
+        CurrencyConversionServiceImpl chunkedService =
+                new CurrencyConversionServiceImpl(exchangeRateClient, reactiveExchangeRateClient, currencyConversionRepository, conversionStatisticsService, meterRegistry, observationRegistry, 4, 2);
+        String csvContent = createCsvContent(
+                new String[]{"amount", "sourceCurrency", "targetCurrency"},
+                List.of(
+                        new String[]{"1", "USD", "EUR"},
+                        new String[]{"2", "USD", "EUR"},
+                        new String[]{"3", "USD", "EUR"},
+                        new String[]{"INVALID", "USD", "EUR"},
+                        new String[]{"4", "USD", "EUR"},
+                        new String[]{"5", "USD", "EUR"}
+                )
+        );
+
+        when(exchangeRateClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR"))))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.5"))));
+        List<Integer> savedChunkSizes = new ArrayList<>();
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<CurrencyConversion> toSave = invocation.getArgument(0);
+            savedChunkSizes.add(toSave.size());
+            toSave.forEach(c -> c.setId(UUID.randomUUID()));
+            return toSave;
+        });
+        List<BulkConversionResponse> emitted = new ArrayList<>();
+        List<Integer> savedBeforeEmit = new ArrayList<>();
+
+        // When
+        chunkedService.processCsvStream(
+                new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8)),
+                response -> {
+                    savedBeforeEmit.add(savedChunkSizes.size());
+                    emitted.add(response);
+                });
+
+        // Then
+        assertEquals(List.of(2, 2, 1), savedChunkSizes);
+        assertEquals(List.of(1, 1, 2, 2, 3), savedBeforeEmit);
+        assertEquals(List.of(new BigDecimal("1.00"), new BigDecimal("2.00"), new BigDecimal("3.00"),
+                        new BigDecimal("4.00"), new BigDecimal("5.00")),
+                emitted.stream().map(BulkConversionResponse::originalAmount).toList());
+        assertTrue(emitted.stream().allMatch(r -> r.transactionId() != null));
+    }
+
+    @Test
+    void givenCancelAfterFirstChunk_whenProcessCsvStream_thenEmitsThatChunkWholeAndPersistsNothingMore() throws IOException {
+        // Given
+        CurrencyConversionServiceImpl chunkedService =
+                new CurrencyConversionServiceImpl(exchangeRateClient, reactiveExchangeRateClient, currencyConversionRepository, conversionStatisticsService, meterRegistry, observationRegistry, 4, 2);
+        String csvContent = createCsvContent(
+                new String[]{"amount", "sourceCurrency", "targetCurrency"},
+                List.of(
+                        new String[]{"1", "USD", "EUR"},
+                        new String[]{"2", "USD", "EUR"},
+                        new String[]{"3", "USD", "EUR"},
+                        new String[]{"4", "USD", "EUR"}
+                )
+        );
+        when(exchangeRateClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR"))))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.5"))));
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<BulkConversionResponse> emitted = new ArrayList<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        // When
+        assertThrows(CancellationException.class, () -> chunkedService.processCsvStream(
+                new ByteArrayInputStream(csvContent.getBytes(StandardCharsets.UTF_8)),
+                response -> {
+                    emitted.add(response);
+                    cancelled.set(true);
+                },
+                cancelled::get));
+
+        // Then
+        assertEquals(2, emitted.size());
+        verify(currencyConversionRepository, times(1)).insertAll(anyList());
+        verify(exchangeRateClient, times(1)).getExchangeRates(any(ExchangeRateRequest.class));
+    }
+
+    @Test
+    void givenIdenticalRows_whenProcessCsvFile_thenEachRowGetsTheIdOfItsOwnSavedEntity() throws IOException {
+        // Given
+        String csvContent = createCsvContent(
+                new String[]{"amount", "sourceCurrency", "targetCurrency"},
+                List.of(
+                        new String[]{"100", "USD", "EUR"},
+                        new String[]{"100", "USD", "XYZ"},
+                        new String[]{"100", "USD", "EUR"},
+                        new String[]{"100", "USD", "EUR"}
+                )
+        );
+        MultipartFile csvFile = createMockCsvFile(csvContent);
+
+        when(exchangeRateClient.getExchangeRates(new ExchangeRateRequest("USD", List.of("EUR", "XYZ"))))
+                .thenReturn(new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal("0.92"))));
+        List<UUID> assignedIds = new ArrayList<>();
+        when(currencyConversionRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<CurrencyConversion> toSave = invocation.getArgument(0);
+            toSave.forEach(c -> {
+                UUID id = UUID.randomUUID();
+                assignedIds.add(id);
+                c.setId(id);
+            });
+            return toSave;
+        });
+
+        // When
+        List<BulkConversionResponse> responses = currencyConversionService.processCsvFile(csvFile);
+
+        // Then
+        assertEquals(4, responses.size());
+        assertEquals(assignedIds.get(0), responses.get(0).transactionId());
+        assertNull(responses.get(1).transactionId());
+        assertEquals("Rate not found for USD_XYZ", responses.get(1).errorMessage());
+        assertEquals(assignedIds.get(1), responses.get(2).transactionId());
+        assertEquals(assignedIds.get(2), responses.get(3).transactionId());
+    }
 
     @Test
     void givenMalformedCsvFileStructure_whenProcessCsvFile_thenThrowsRuntimeException() {
@@ -569,7 +1000,7 @@ class CurrencyConversionServiceImplTest {
 
         // Then
         assertTrue(responses.isEmpty());
-        verify(currencyConversionRepository, never()).saveAll(anyList());
+        verify(currencyConversionRepository, never()).insertAll(anyList());
         verify(exchangeRateClient, never()).getExchangeRates(any());
     }
 }
\ No newline at end of file
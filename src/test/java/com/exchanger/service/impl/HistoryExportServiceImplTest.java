@@ -0,0 +1,72 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.HistoryExportRequest;
+import com.exchanger.dto.responses.CurrencyConversionHistoryResponse;
+import com.exchanger.repository.CurrencyConversionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HistoryExportServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 18);
+    private static final UUID ID = UUID.fromString("0196e0a0-0000-7000-8000-000000000001");
+
+    private final CurrencyConversionRepository repository = mock(CurrencyConversionRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final HistoryExportServiceImpl service = new HistoryExportServiceImpl(repository, objectMapper);
+
+    @Test
+    void givenCsvFormat_whenExport_thenWritesHeaderAndOneLinePerRowAndClosesStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamRange(DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay(), "USD", "EUR"))
+                .thenReturn(Stream.of(row("USD", "EUR")).onClose(() -> closed.set(true)));
+
+        String csv = export(new HistoryExportRequest(DAY, DAY.plusDays(1), "usd", "eur", null));
+
+        assertEquals("""
+                transactionId,sourceCurrency,targetCurrency,sourceAmount,convertedAmount,exchangeRate,transactionDate\r
+                0196e0a0-0000-7000-8000-000000000001,USD,EUR,100,92.00,0.92,2025-05-18T10:15:30\r
+                """, csv);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void givenNdjsonFormat_whenExport_thenWritesOneJsonObjectPerLine() throws IOException {
+        when(repository.streamRange(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), null, null))
+                .thenReturn(Stream.of(row("USD", "EUR"), row("GBP", "TRY")));
+
+        String ndjson = export(new HistoryExportRequest(DAY, DAY, null, null, "NDJSON"));
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("USD", objectMapper.readTree(lines[0]).get("sourceCurrency").asText());
+        assertEquals("GBP", objectMapper.readTree(lines[1]).get("sourceCurrency").asText());
+        assertEquals("2025-05-18T10:15:30", objectMapper.readTree(lines[1]).get("transactionDate").asText());
+    }
+
+    private String export(HistoryExportRequest request) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.export(request, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static CurrencyConversionHistoryResponse row(String source, String target) {
+        return new CurrencyConversionHistoryResponse(ID, source, target, new BigDecimal("100"),
+                new BigDecimal("92.00"), new BigDecimal("0.92"), LocalDateTime.of(2025, 5, 18, 10, 15, 30));
+    }
+}
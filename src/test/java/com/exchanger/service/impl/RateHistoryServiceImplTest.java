@@ -0,0 +1,114 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.dto.requests.HistoricalConversionRequest;
+import com.exchanger.dto.responses.ExchangeRateResponse;
+import com.exchanger.dto.responses.HistoricalConversionResponse;
+import com.exchanger.dto.responses.SingleExchangeRateResponse;
+import com.exchanger.exception.RateHistoryNotFoundException;
+import com.exchanger.repository.RateSnapshotRepository;
+import com.exchanger.service.RateHistoryService.RecordedRates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+class RateHistoryServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-18T10:00:00Z");
+
+    @Autowired
+    private RateSnapshotRepository repository;
+
+    private RateHistoryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RateHistoryServiceImpl(repository, Runnable::run, Duration.ofHours(24), "USD",
+                Duration.ofDays(7), 4096, 64, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void givenSnapshots_whenFindRate_thenReturnsLatestQuoteNotAfterInstant() {
+        service.record(usd("0.90", NOW.minus(Duration.ofHours(3))));
+        service.record(usd("0.91", NOW.minus(Duration.ofHours(2))));
+        service.record(usd("0.92", NOW.minus(Duration.ofHours(1))));
+
+        SingleExchangeRateResponse rate = service.findRate("USD", "EUR", NOW.minus(Duration.ofMinutes(90)));
+
+        assertEquals(0, new BigDecimal("0.91").compareTo(rate.exchangeRate()));
+        assertEquals(NOW.minus(Duration.ofHours(2)), rate.timestamp());
+    }
+
+    @Test
+    void givenReferenceSnapshot_whenFindRateForCrossPair_thenTriangulates() {
+        service.record(new ExchangeRateResponse("USD",
+                Map.of("USD_EUR", new BigDecimal("0.8"), "USD_TRY", new BigDecimal("40")), NOW));
+
+        SingleExchangeRateResponse cross = service.findRate("EUR", "TRY", NOW);
+        SingleExchangeRateResponse inverse = service.findRate("EUR", "USD", NOW);
+
+        assertEquals(0, new BigDecimal("50").compareTo(cross.exchangeRate()));
+        assertEquals(0, new BigDecimal("1.25").compareTo(inverse.exchangeRate()));
+    }
+
+    @Test
+    void givenSnapshotRecordedAfterFirstLookup_whenConvertAt_thenUsesNewSnapshot() {
+        service.record(usd("0.90", NOW.minus(Duration.ofHours(1))));
+        service.findRate("USD", "EUR", NOW);
+        service.record(usd("0.95", NOW));
+
+        HistoricalConversionResponse response = service.convertAt(
+                new HistoricalConversionRequest(new BigDecimal("100"), "usd", "eur", NOW.plusSeconds(1)));
+
+        assertEquals("USD", response.sourceCurrency());
+        assertEquals(0, new BigDecimal("95").compareTo(response.convertedAmount()));
+        assertEquals(0, new BigDecimal("0.95").compareTo(response.exchangeRate()));
+        assertEquals(NOW, response.rateTimestamp());
+    }
+
+    @Test
+    void givenOnlyOlderThanLookback_whenFindRate_thenThrowsNotFound() {
+        service.record(usd("0.92", NOW.minus(Duration.ofHours(25))));
+
+        assertThrows(RateHistoryNotFoundException.class, () -> service.findRate("USD", "EUR", NOW));
+    }
+
+    @Test
+    void givenUnchangedResponse_whenRecordTwice_thenStoresOneSnapshot() {
+        service.record(usd("0.92", NOW));
+        service.record(usd("0.92", NOW));
+
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void givenSeveralBases_whenLatestSnapshots_thenReturnsNewestPerBase() {
+        service.record(usd("0.91", NOW.minus(Duration.ofHours(1))));
+        service.record(usd("0.92", NOW));
+        service.record(new ExchangeRateResponse("GBP", Map.of("GBP_EUR", new BigDecimal("1.17")), NOW));
+
+        List<RecordedRates> latest = service.latestSnapshots(NOW.minus(Duration.ofMinutes(5)));
+
+        assertEquals(2, latest.size());
+        RecordedRates usd = latest.stream().filter(r -> r.rates().sourceCurrency().equals("USD")).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("0.92").compareTo(usd.rates().rates().get("USD_EUR")));
+        assertEquals(NOW, usd.fetchedAt());
+    }
+
+    private static ExchangeRateResponse usd(String eur, Instant quotedAt) {
+        return new ExchangeRateResponse("USD", Map.of("USD_EUR", new BigDecimal(eur)), quotedAt);
+    }
+}
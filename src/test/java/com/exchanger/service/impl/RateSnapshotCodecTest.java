@@ -0,0 +1,73 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.money.CurrencyCodes;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateSnapshotCodecTest {
+
+    @Test
+    void givenQuotes_whenEncodeAndDecode_thenRatesRoundTrip() {
+        Map<String, BigDecimal> rates = Map.of(
+                "USD_EUR", new BigDecimal("0.921345"),
+                "USD_TRY", new BigDecimal("38.7501"),
+                "USD_JPY", new BigDecimal("144.12"));
+
+        byte[] encoded = RateSnapshotCodec.encode("USD", rates);
+
+        assertEquals(3 + 3 * 10, encoded.length);
+        assertEquals(3, RateSnapshotCodec.count(encoded));
+        Map<String, BigDecimal> decoded = RateSnapshotCodec.decode("USD", encoded);
+        assertEquals(3, decoded.size());
+        rates.forEach((key, rate) -> assertEquals(0, rate.compareTo(decoded.get(key)), key));
+    }
+
+    @Test
+    void givenManyQuotes_whenRate_thenBinarySearchFindsEachTarget() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (char first = 'A'; first <= 'Z'; first++) {
+            rates.put("EUR_" + first + "XB", BigDecimal.valueOf(first, 2));
+        }
+
+        byte[] encoded = RateSnapshotCodec.encode("EUR", rates);
+
+        for (char first = 'A'; first <= 'Z'; first++) {
+            assertEquals(0, BigDecimal.valueOf(first, 2).compareTo(RateSnapshotCodec.rate(encoded, first + "XB")));
+        }
+        assertNull(RateSnapshotCodec.rate(encoded, "AAA"));
+        assertNull(RateSnapshotCodec.rate(encoded, "ZZZ"));
+        assertNull(RateSnapshotCodec.rate(encoded, "usd"));
+    }
+
+    @Test
+    void givenQuotes_whenCodes_thenReturnsPackedTargetsInOrder() {
+        byte[] encoded = RateSnapshotCodec.encode("USD", Map.of(
+                "USD_TRY", new BigDecimal("38.7501"),
+                "USD_EUR", new BigDecimal("0.921345")));
+
+        assertArrayEquals(new int[]{CurrencyCodes.slot("EUR"), CurrencyCodes.slot("TRY")}, RateSnapshotCodec.codes(encoded));
+    }
+
+    @Test
+    void givenForeignOrMalformedKeys_whenEncode_thenTheyAreSkipped() {
+        Map<String, BigDecimal> rates = Map.of(
+                "USD_EUR", new BigDecimal("0.92"),
+                "GBP_EUR", new BigDecimal("1.17"),
+                "USD_EURO", new BigDecimal("0.92"),
+                "USD_eur", new BigDecimal("0.92"));
+
+        byte[] encoded = RateSnapshotCodec.encode("USD", rates);
+
+        assertEquals(Map.of("USD_EUR", new BigDecimal("0.92")), RateSnapshotCodec.decode("USD", encoded));
+    }
+
+    @Test
+    void givenUnknownVersion_whenDecode_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> RateSnapshotCodec.decode("USD", new byte[]{9, 0, 0}));
+    }
+}
@@ -0,0 +1,231 @@
+package com.exchanger.service.impl;
+
+import com.exchanger.entity.RateSnapshot;
+import com.exchanger.repository.RateSnapshotRepository;
+import com.exchanger.service.impl.RateSnapshotIndex.Quote;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RateSnapshotIndexTest {
+
+    private static final Instant START = Instant.parse("2025-05-18T00:00:00Z");
+    private static final Instant NOW = START.plus(Duration.ofDays(60));
+
+    private final RateSnapshotRepository repository = mock(RateSnapshotRepository.class);
+    private final RateSnapshotIndex index = new RateSnapshotIndex(repository, Duration.ofDays(365), 4096, 64,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void givenHourlySnapshots_whenRate_thenReturnsSnapshotInEffectAtInstant() {
+        List<RateSnapshot> snapshots = new ArrayList<>();
+        for (int hour = 0; hour < 1000; hour++) {
+            snapshots.add(snapshot(START.plus(Duration.ofHours(hour)), Map.of("USD_EUR", BigDecimal.valueOf(hour))));
+        }
+        givenWindow("USD", snapshots);
+
+        Quote quote = index.rate("USD", "EUR", START, START.plus(Duration.ofMinutes(500 * 60 + 59)));
+        Quote exact = index.rate("USD", "EUR", START, START.plus(Duration.ofHours(42)));
+
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(quote.rate()));
+        assertEquals(START.plus(Duration.ofHours(500)), quote.quotedAt());
+        assertEquals(0, BigDecimal.valueOf(42).compareTo(exact.rate()));
+        assertNull(index.rate("USD", "EUR", START, START.minusSeconds(1)));
+        verify(repository, times(1)).findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(
+                eq("USD"), any(), any());
+        verify(repository, never()).findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc(any(), any(), any(), any());
+    }
+
+    @Test
+    void givenLatestSnapshotLacksTarget_whenRate_thenFallsBackToEarlierSnapshot() {
+        givenWindow("USD", List.of(
+                snapshot(START, Map.of("USD_EUR", new BigDecimal("0.92"), "USD_TRY", new BigDecimal("38"))),
+                snapshot(START.plusSeconds(60), Map.of("USD_EUR", new BigDecimal("0.93")))));
+
+        Quote quote = index.rate("USD", "TRY", START, START.plusSeconds(120));
+        Quote[] both = index.rates("USD", "EUR", "TRY", START, START.plusSeconds(120));
+
+        assertEquals(0, new BigDecimal("38").compareTo(quote.rate()));
+        assertEquals(START, quote.quotedAt());
+        assertEquals(0, new BigDecimal("0.92").compareTo(both[0].rate()));
+        assertNull(index.rate("USD", "TRY", START.plusSeconds(1), START.plusSeconds(120)));
+    }
+
+    @Test
+    void givenManyLaterFetchesForOtherTargets_whenRate_thenStillFindsThePairsSnapshot() {
+        // Given
+        List<RateSnapshot> snapshots = new ArrayList<>();
+        snapshots.add(snapshot(START, Map.of("USD_TRY", new BigDecimal("38"), "USD_JPY", new BigDecimal("142"))));
+        for (int minute = 1; minute <= 100; minute++) {
+            snapshots.add(snapshot(START.plus(Duration.ofMinutes(minute)), Map.of("USD_EUR", BigDecimal.valueOf(minute))));
+        }
+        givenWindow("USD", snapshots);
+        index.rate("USD", "EUR", START, START);
+        index.append(snapshot(START.plus(Duration.ofMinutes(101)), Map.of("USD_GBP", new BigDecimal("0.79"))));
+
+        // When
+        Quote quote = index.rate("USD", "TRY", START, NOW);
+        Quote[] both = index.rates("USD", "TRY", "JPY", START, NOW);
+        Quote[] crossed = index.rates("USD", "EUR", "TRY", START, NOW);
+
+        // Then
+        assertEquals(0, new BigDecimal("38").compareTo(quote.rate()));
+        assertEquals(START, quote.quotedAt());
+        assertEquals(0, new BigDecimal("142").compareTo(both[1].rate()));
+        assertNull(crossed);
+        assertEquals(START.plus(Duration.ofMinutes(101)), index.rate("USD", "GBP", START, NOW).quotedAt());
+    }
+
+    @Test
+    void givenOlderMatchBeyondFirstPage_whenRateBeforeWindow_thenPagesThroughRange() {
+        // Given
+        RateSnapshotIndex windowed = new RateSnapshotIndex(repository, Duration.ofDays(7), 4096, 64,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        Instant from = NOW.minus(Duration.ofDays(30));
+        Instant at = from.plus(Duration.ofHours(24));
+        List<RateSnapshot> firstPage = new ArrayList<>();
+        for (int minute = 16; minute > 0; minute--) {
+            firstPage.add(snapshot(from.plus(Duration.ofMinutes(minute)), Map.of("USD_EUR", BigDecimal.valueOf(minute))));
+        }
+        when(repository.findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc("USD", from, at, PageRequest.of(0, 16)))
+                .thenReturn(new SliceImpl<>(firstPage, PageRequest.of(0, 16), true));
+        when(repository.findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc("USD", from, at, PageRequest.of(1, 16)))
+                .thenReturn(new SliceImpl<>(List.of(snapshot(from, Map.of("USD_TRY", new BigDecimal("38")))),
+                        PageRequest.of(1, 16), false));
+
+        // When
+        Quote quote = windowed.rate("USD", "TRY", from, at);
+
+        // Then
+        assertEquals(0, new BigDecimal("38").compareTo(quote.rate()));
+        assertEquals(from, quote.quotedAt());
+    }
+
+    @Test
+    void givenLoadedTimeline_whenAppend_thenNewSnapshotIsFoundWithoutReload() {
+        givenWindow("USD", List.of(snapshot(START, Map.of("USD_EUR", new BigDecimal("0.92")))));
+        index.rate("USD", "EUR", START, START);
+
+        index.append(snapshot(START.plusSeconds(60), Map.of("USD_EUR", new BigDecimal("0.95"))));
+        index.append(snapshot(START.minusSeconds(60), Map.of("USD_EUR", new BigDecimal("0.90"))));
+
+        assertEquals(3, index.size("USD"));
+        assertEquals(0, new BigDecimal("0.95").compareTo(index.rate("USD", "EUR", START, START.plusSeconds(90)).rate()));
+        assertEquals(0, new BigDecimal("0.90").compareTo(
+                index.rate("USD", "EUR", START.minusSeconds(60), START.minusSeconds(1)).rate()));
+        verify(repository, times(1)).findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(
+                eq("USD"), any(), any());
+    }
+
+    @Test
+    void givenTimelineNotLoaded_whenAppend_thenNothingIsCached() {
+        index.append(snapshot(START, Map.of("USD_EUR", new BigDecimal("0.92"))));
+
+        assertEquals(0, index.size("USD"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void givenInstantBeforeWindow_whenRate_thenQueriesRangeWithoutLoadingTimeline() {
+        // Given
+        RateSnapshotIndex windowed = new RateSnapshotIndex(repository, Duration.ofDays(7), 4096, 64,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        Instant from = NOW.minus(Duration.ofDays(30));
+        Instant at = from.plus(Duration.ofHours(24));
+        when(repository.findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc("USD", from, at, PageRequest.of(0, 16)))
+                .thenReturn(new SliceImpl<>(List.of(snapshot(from.plusSeconds(60), Map.of("USD_EUR", new BigDecimal("0.91"))))));
+
+        // When
+        Quote quote = windowed.rate("USD", "EUR", from, at);
+
+        // Then
+        assertEquals(0, new BigDecimal("0.91").compareTo(quote.rate()));
+        assertEquals(0, windowed.currencies());
+        verify(repository, never()).findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(any(), any(), any());
+    }
+
+    @Test
+    void givenMoreSnapshotsThanCap_whenAppend_thenDropsOldestAndQueriesRangeForIt() {
+        // Given
+        RateSnapshotIndex capped = new RateSnapshotIndex(repository, Duration.ofDays(365), 16, 64,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        List<RateSnapshot> newestFirst = new ArrayList<>();
+        for (int minute = 15; minute >= 0; minute--) {
+            newestFirst.add(snapshot(START.plus(Duration.ofMinutes(minute)), Map.of("USD_EUR", BigDecimal.valueOf(minute))));
+        }
+        when(repository.findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(eq("USD"), any(), eq(Limit.of(16))))
+                .thenReturn(newestFirst);
+        when(repository.findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc(any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+        capped.rate("USD", "EUR", START.plusSeconds(1), START.plusSeconds(1));
+
+        // When
+        capped.append(snapshot(START.plus(Duration.ofMinutes(16)), Map.of("USD_EUR", BigDecimal.valueOf(16))));
+        Quote latest = capped.rate("USD", "EUR", START.plus(Duration.ofMinutes(2)), NOW);
+        Quote oldest = capped.rate("USD", "EUR", START, START);
+
+        // Then
+        assertEquals(16, capped.size("USD"));
+        assertEquals(0, BigDecimal.valueOf(16).compareTo(latest.rate()));
+        assertNull(oldest);
+        verify(repository).findByBaseCurrencyAndQuotedAtBetweenOrderByQuotedAtDesc("USD", START, START, PageRequest.of(0, 16));
+    }
+
+    @Test
+    void givenMoreCurrenciesThanCap_whenRate_thenEvictsLeastRecentlyUsedTimeline() {
+        // Given
+        RateSnapshotIndex capped = new RateSnapshotIndex(repository, Duration.ofDays(365), 16, 2,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        when(repository.findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(anyString(), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        capped.rate("USD", "EUR", START, START);
+        capped.rate("EUR", "USD", START, START);
+        capped.rate("USD", "EUR", START, START);
+        capped.rate("GBP", "USD", START, START);
+
+        // Then
+        assertEquals(2, capped.currencies());
+        capped.append(snapshot(START, Map.of("USD_EUR", BigDecimal.ONE)));
+        assertEquals(1, capped.size("USD"));
+        verify(repository, times(1)).findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(eq("USD"), any(), any());
+    }
+
+    @Test
+    void givenMalformedCurrencyCode_whenRate_thenNothingIsQueriedOrCached() {
+        assertNull(index.rate("usd", "EUR", START, START));
+        assertNull(index.rate("US$", "EUR", START, START));
+        assertNull(index.rate("USDX", "EUR", START, START));
+        assertNull(index.rates("USD", "EUR", "€", START, START));
+
+        assertEquals(0, index.currencies());
+        verifyNoInteractions(repository);
+    }
+
+    private void givenWindow(String base, List<RateSnapshot> oldestFirst) {
+        when(repository.findByBaseCurrencyAndQuotedAtGreaterThanEqualOrderByQuotedAtDesc(eq(base), any(), any()))
+                .thenReturn(oldestFirst.reversed());
+    }
+
+    private static RateSnapshot snapshot(Instant quotedAt, Map<String, BigDecimal> rates) {
+        byte[] encoded = RateSnapshotCodec.encode("USD", rates);
+        return new RateSnapshot("USD", quotedAt, quotedAt, RateSnapshotCodec.count(encoded), encoded);
+    }
+}